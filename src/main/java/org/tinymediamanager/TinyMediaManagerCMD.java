@@ -33,8 +33,8 @@ import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.tasks.MovieRenameTask;
 import org.tinymediamanager.core.movie.tasks.MovieScrapeTask;
 import org.tinymediamanager.core.movie.tasks.MovieUpdateDatasourceTask;
-import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
+import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowList;
 import org.tinymediamanager.core.tvshow.TvShowSearchAndScrapeOptions;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
@@ -142,11 +142,10 @@ public class TinyMediaManagerCMD {
   }
 
   /**
-   * executes all the command line tasks, one after another
+   * executes all the command line tasks; the movie and the TV show tasks are run at the same time
    */
   static void startCommandLineTasks() {
     try {
-      TmmTask task = null;
       boolean updateAvailable = false;
 
       if (scrapeNew || scrapeUnscraped) {
@@ -168,115 +167,21 @@ public class TinyMediaManagerCMD {
         }
       }
 
-      // update movies //////////////////////////////////////////////
-      if (updateMovies) {
-        LOGGER.info("Commandline - updating movies...");
-        if (updateMovieDs.isEmpty()) {
-          task = new MovieUpdateDatasourceTask();
-          task.run(); // blocking
-        }
-        else {
-          List<String> dataSources = new ArrayList<String>(MovieModuleManager.MOVIE_SETTINGS.getMovieDataSource());
-          for (Integer i : updateMovieDs) {
-            if (dataSources != null && dataSources.size() >= i - 1) {
-              task = new MovieUpdateDatasourceTask(dataSources.get(i - 1));
-              task.run(); // blocking
-            }
-          }
-        }
-        List<Movie> newMovies = MovieList.getInstance().getNewMovies();
-
-        if (scrapeNew) {
-          LOGGER.info("Commandline - scraping new movies...");
-          if (newMovies.size() > 0) {
-            MovieSearchAndScrapeOptions options = new MovieSearchAndScrapeOptions();
-            options.loadDefaults();
-            task = new MovieScrapeTask(newMovies, true, options);
-            task.run(); // blocking
-
-            // wait for other tmm threads (artwork download et all)
-            while (TmmTaskManager.getInstance().poolRunning()) {
-              Thread.sleep(2000);
-            }
-          }
-          else {
-            LOGGER.info("No new movies found to scrape - skipping");
-          }
-        }
-
-        if (renameNew) {
-          LOGGER.info("Commandline - rename & cleanup new movies...");
-          if (newMovies.size() > 0) {
-            task = new MovieRenameTask(newMovies);
-            task.run(); // blocking
-          }
-        }
-      }
-      if (scrapeUnscraped) {
-        LOGGER.info("Commandline - scraping all unscraped movies...");
-        List<Movie> unscrapedMovies = MovieList.getInstance().getUnscrapedMovies();
-        if (unscrapedMovies.size() > 0) {
-          MovieSearchAndScrapeOptions options = new MovieSearchAndScrapeOptions();
-          options.loadDefaults();
-          task = new MovieScrapeTask(unscrapedMovies, true, options);
-          task.run(); // blocking
-
-          // wait for other tmm threads (artwork download et all)
-          while (TmmTaskManager.getInstance().poolRunning()) {
-            Thread.sleep(2000);
-          }
-        }
-        if (renameNew) {
-          LOGGER.info("Commandline - rename & cleanup new movies...");
-          if (unscrapedMovies.size() > 0) {
-            task = new MovieRenameTask(unscrapedMovies);
-            task.run(); // blocking
+      // the movie and the TV show tasks are working on different data sources and can run at the same time
+      Thread movieTasks = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            runMovieTasks();
           }
-        }
-      }
-
-      // update TvShows //////////////////////////////////////////////
-      if (updateTv) {
-        LOGGER.info("Commandline - updating TvShows and episodes...");
-        if (updateTvDs.isEmpty()) {
-          task = new TvShowUpdateDatasourceTask();
-          task.run(); // blocking
-        }
-        else {
-          List<String> dataSources = new ArrayList<String>(Globals.settings.getTvShowSettings().getTvShowDataSource());
-          for (Integer i : updateTvDs) {
-            if (dataSources != null && dataSources.size() >= i - 1) {
-              task = new TvShowUpdateDatasourceTask(dataSources.get(i - 1));
-              task.run(); // blocking
-            }
-          }
-        }
-        List<TvShow> newTv = TvShowList.getInstance().getNewTvShows();
-        List<TvShowEpisode> newEp = TvShowList.getInstance().getNewEpisodes();
-        LOGGER.info("Commandline - found " + newTv.size() + " TvShow(s) containing " + newEp.size() + " new episode(s)");
-
-        if (scrapeNew) {
-          LOGGER.info("Commandline - scraping new TvShows...");
-          // TODO: scrape only if unscraped?!
-          if (newTv.size() > 0) {
-            TvShowSearchAndScrapeOptions options = new TvShowSearchAndScrapeOptions();
-            options.loadDefaults();
-            task = new TvShowScrapeTask(newTv, true, options);
-            task.run(); // blocking
-          }
-          else {
-            LOGGER.info("No new TvShows/episodes found to scrape - skipping");
-          }
-        }
-
-        if (renameNew) {
-          LOGGER.info("Commandline - rename & cleanup new episodes...");
-          if (newEp.size() > 0) {
-            task = new TvShowRenameTask(null, newEp, true); // just rename new EPs AND root folder
-            task.run(); // blocking
+          catch (Exception e) {
+            LOGGER.error("Error executing command line task!", e);
           }
         }
-      }
+      }, "cmd-movies");
+      movieTasks.start();
+      runTvShowTasks();
+      movieTasks.join();
 
       if (checkFiles) {
         boolean allOk = true;
@@ -327,4 +232,128 @@ public class TinyMediaManagerCMD {
       LOGGER.error("Error executing command line task!", e);
     }
   }
+
+  /**
+   * update, scrape and rename the movies
+   */
+  private static void runMovieTasks() throws Exception {
+    TmmThreadPool task = null;
+
+    // update movies //////////////////////////////////////////////
+    if (updateMovies) {
+      LOGGER.info("Commandline - updating movies...");
+      if (updateMovieDs.isEmpty()) {
+        task = new MovieUpdateDatasourceTask();
+        TmmTaskManager.getInstance().runMainTask(task); // blocking
+      }
+      else {
+        List<String> dataSources = new ArrayList<String>(MovieModuleManager.MOVIE_SETTINGS.getMovieDataSource());
+        for (Integer i : updateMovieDs) {
+          if (dataSources != null && dataSources.size() >= i - 1) {
+            task = new MovieUpdateDatasourceTask(dataSources.get(i - 1));
+            TmmTaskManager.getInstance().runMainTask(task); // blocking
+          }
+        }
+      }
+      List<Movie> newMovies = MovieList.getInstance().getNewMovies();
+
+      if (scrapeNew) {
+        LOGGER.info("Commandline - scraping new movies...");
+        if (newMovies.size() > 0) {
+          MovieSearchAndScrapeOptions options = new MovieSearchAndScrapeOptions();
+          options.loadDefaults();
+          task = new MovieScrapeTask(newMovies, true, options);
+          TmmTaskManager.getInstance().runMainTask(task); // blocking
+
+          // wait for the artwork downloads (the TV show tasks may still be running)
+          while (TmmTaskManager.getInstance().getImageDownloadOpenTaskCount() > 0) {
+            Thread.sleep(2000);
+          }
+        }
+        else {
+          LOGGER.info("No new movies found to scrape - skipping");
+        }
+      }
+
+      if (renameNew) {
+        LOGGER.info("Commandline - rename & cleanup new movies...");
+        if (newMovies.size() > 0) {
+          task = new MovieRenameTask(newMovies);
+          TmmTaskManager.getInstance().runMainTask(task); // blocking
+        }
+      }
+    }
+    if (scrapeUnscraped) {
+      LOGGER.info("Commandline - scraping all unscraped movies...");
+      List<Movie> unscrapedMovies = MovieList.getInstance().getUnscrapedMovies();
+      if (unscrapedMovies.size() > 0) {
+        MovieSearchAndScrapeOptions options = new MovieSearchAndScrapeOptions();
+        options.loadDefaults();
+        task = new MovieScrapeTask(unscrapedMovies, true, options);
+        TmmTaskManager.getInstance().runMainTask(task); // blocking
+
+        // wait for the artwork downloads (the TV show tasks may still be running)
+        while (TmmTaskManager.getInstance().getImageDownloadOpenTaskCount() > 0) {
+          Thread.sleep(2000);
+        }
+      }
+      if (renameNew) {
+        LOGGER.info("Commandline - rename & cleanup new movies...");
+        if (unscrapedMovies.size() > 0) {
+          task = new MovieRenameTask(unscrapedMovies);
+          TmmTaskManager.getInstance().runMainTask(task); // blocking
+        }
+      }
+    }
+  }
+
+  /**
+   * update, scrape and rename the TV shows
+   */
+  private static void runTvShowTasks() throws Exception {
+    TmmThreadPool task = null;
+
+    // update TvShows //////////////////////////////////////////////
+    if (updateTv) {
+      LOGGER.info("Commandline - updating TvShows and episodes...");
+      if (updateTvDs.isEmpty()) {
+        task = new TvShowUpdateDatasourceTask();
+        TmmTaskManager.getInstance().runMainTask(task); // blocking
+      }
+      else {
+        List<String> dataSources = new ArrayList<String>(Globals.settings.getTvShowSettings().getTvShowDataSource());
+        for (Integer i : updateTvDs) {
+          if (dataSources != null && dataSources.size() >= i - 1) {
+            task = new TvShowUpdateDatasourceTask(dataSources.get(i - 1));
+            TmmTaskManager.getInstance().runMainTask(task); // blocking
+          }
+        }
+      }
+      List<TvShow> newTv = TvShowList.getInstance().getNewTvShows();
+      List<TvShowEpisode> newEp = TvShowList.getInstance().getNewEpisodes();
+      LOGGER.info("Commandline - found " + newTv.size() + " TvShow(s) containing " + newEp.size() + " new episode(s)");
+
+      if (scrapeNew) {
+        LOGGER.info("Commandline - scraping new TvShows...");
+        // TODO: scrape only if unscraped?!
+        if (newTv.size() > 0) {
+          TvShowSearchAndScrapeOptions options = new TvShowSearchAndScrapeOptions();
+          options.loadDefaults();
+          task = new TvShowScrapeTask(newTv, true, options);
+          TmmTaskManager.getInstance().runMainTask(task); // blocking
+        }
+        else {
+          LOGGER.info("No new TvShows/episodes found to scrape - skipping");
+        }
+      }
+
+      if (renameNew) {
+        LOGGER.info("Commandline - rename & cleanup new episodes...");
+        if (newEp.size() > 0) {
+          task = new TvShowRenameTask(null, newEp, true); // just rename new EPs AND root folder
+          TmmTaskManager.getInstance().runMainTask(task); // blocking
+        }
+      }
+    }
+  }
 }
@@ -18,20 +18,32 @@ package org.tinymediamanager.core;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-
-import javax.swing.event.SwingPropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * The Class AbstractModelObject.
+ * The Class AbstractModelObject. The property change events are delivered to the listeners in the EDT by the PropertyChangeDispatcher (batched and
+ * coalesced if fired from a background thread); the synchronous listeners (core bookkeeping, no UI) are notified immediately in the firing thread.
  * 
  * @author Manuel Laggner
  */
 public abstract class AbstractModelObject {
 
-  /** The property change support. */
-  // private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+  /** The property change support; created with the first listener (most model objects never get one) */
+  private volatile PropertyChangeSupport   propertyChangeSupport;
+
+  /** listeners which are notified in the thread of the change (e.g. for indexes); created on demand */
+  private volatile PropertyChangeSupport   synchronousChangeSupport;
 
-  private final PropertyChangeSupport propertyChangeSupport = new SwingPropertyChangeSupport(this, true);
+  /** set on every (real) property change; used to find out if an object has to be persisted */
+  private volatile boolean                 dirty                 = true;
+
+  /** the depth of nested update scopes and the events which have been suppressed within them */
+  private volatile int                     updateDepth           = 0;
+  private volatile boolean                 suppressedDirty       = false;
+  private Map<Object, PropertyChangeEvent> suppressedEvents;
 
   /**
    * Adds the property change listener.
@@ -40,7 +52,7 @@ public abstract class AbstractModelObject {
    *          the listener
    */
   public void addPropertyChangeListener(PropertyChangeListener listener) {
-    propertyChangeSupport.addPropertyChangeListener(listener);
+    getPropertyChangeSupport().addPropertyChangeListener(listener);
   }
 
   /**
@@ -52,7 +64,7 @@ public abstract class AbstractModelObject {
    *          the listener
    */
   public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
-    propertyChangeSupport.addPropertyChangeListener(propertyName, listener);
+    getPropertyChangeSupport().addPropertyChangeListener(propertyName, listener);
   }
 
   /**
@@ -62,7 +74,10 @@ public abstract class AbstractModelObject {
    *          the listener
    */
   public void removePropertyChangeListener(PropertyChangeListener listener) {
-    propertyChangeSupport.removePropertyChangeListener(listener);
+    PropertyChangeSupport support = propertyChangeSupport;
+    if (support != null) {
+      support.removePropertyChangeListener(listener);
+    }
   }
 
   /**
@@ -74,13 +89,51 @@ public abstract class AbstractModelObject {
    *          the listener
    */
   public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+    PropertyChangeSupport support = propertyChangeSupport;
+    if (support == null) {
+      return;
+    }
     try {
-      propertyChangeSupport.removePropertyChangeListener(propertyName, listener);
+      support.removePropertyChangeListener(propertyName, listener);
     }
     catch (AssertionError e) {
     }
   }
 
+  /**
+   * Adds a property change listener which is notified immediately in the thread which changes the property (and not in the EDT like the normal
+   * listeners). To be used by all non UI listeners (e.g. indexes, counters) - the listener must be fast and must not touch the UI.
+   * 
+   * @param listener
+   *          the listener
+   */
+  public synchronized void addSynchronousPropertyChangeListener(PropertyChangeListener listener) {
+    if (synchronousChangeSupport == null) {
+      synchronousChangeSupport = new PropertyChangeSupport(this);
+    }
+    synchronousChangeSupport.addPropertyChangeListener(listener);
+  }
+
+  /**
+   * Removes a synchronous property change listener.
+   * 
+   * @param listener
+   *          the listener
+   */
+  public void removeSynchronousPropertyChangeListener(PropertyChangeListener listener) {
+    PropertyChangeSupport support = synchronousChangeSupport;
+    if (support != null) {
+      support.removePropertyChangeListener(listener);
+    }
+  }
+
+  private synchronized PropertyChangeSupport getPropertyChangeSupport() {
+    if (propertyChangeSupport == null) {
+      propertyChangeSupport = new PropertyChangeSupport(this);
+    }
+    return propertyChangeSupport;
+  }
+
   /**
    * Fire property change.
    * 
@@ -92,10 +145,17 @@ public abstract class AbstractModelObject {
    *          the new value
    */
   protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-    try {
-      propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+      return;
     }
-    catch (AssertionError e) {
+    if (updateDepth > 0 && suppressPropertyChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue), true)) {
+      return;
+    }
+    dirty = true;
+
+    // no need to create/queue an event if there is nobody interested in it
+    if (hasListeners(propertyName)) {
+      deliverPropertyChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue));
     }
   }
 
@@ -106,6 +166,193 @@ public abstract class AbstractModelObject {
    *          the evt
    */
   protected void firePropertyChange(PropertyChangeEvent evt) {
-    propertyChangeSupport.firePropertyChange(evt);
+    if (updateDepth > 0 && suppressPropertyChange(evt, true)) {
+      return;
+    }
+    dirty = true;
+    deliverPropertyChange(evt);
+  }
+
+  /**
+   * Fire property change of a value which is derived from other objects (e.g. a counter): the listeners are notified, but the object is not marked
+   * dirty (there is nothing to persist).
+   * 
+   * @param propertyName
+   *          the property name
+   * @param oldValue
+   *          the old value
+   * @param newValue
+   *          the new value
+   */
+  protected void fireDerivedPropertyChange(String propertyName, Object oldValue, Object newValue) {
+    if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+      return;
+    }
+    if (updateDepth > 0 && suppressPropertyChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue), false)) {
+      return;
+    }
+
+    if (hasListeners(propertyName)) {
+      deliverPropertyChange(new PropertyChangeEvent(this, propertyName, oldValue, newValue));
+    }
+  }
+
+  /**
+   * checks if there are listeners for the given property
+   * 
+   * @param propertyName
+   *          the property name
+   * @return true if at least one listener is interested in the property
+   */
+  protected boolean hasListeners(String propertyName) {
+    PropertyChangeSupport synchronousSupport = synchronousChangeSupport;
+    if (synchronousSupport != null && synchronousSupport.hasListeners(propertyName)) {
+      return true;
+    }
+    PropertyChangeSupport support = propertyChangeSupport;
+    return support != null && support.hasListeners(propertyName);
+  }
+
+  /**
+   * deliver the event to the listeners: the synchronous ones immediately, the others via the dispatcher
+   * 
+   * @param evt
+   *          the event
+   */
+  private void deliverPropertyChange(PropertyChangeEvent evt) {
+    PropertyChangeSupport synchronousSupport = synchronousChangeSupport;
+    if (synchronousSupport != null) {
+      synchronousSupport.firePropertyChange(evt);
+    }
+
+    PropertyChangeSupport support = propertyChangeSupport;
+    if (support == null) {
+      return;
+    }
+    try {
+      PropertyChangeDispatcher.getInstance().dispatch(support, evt);
+    }
+    catch (AssertionError e) {
+    }
+  }
+
+  /**
+   * Starts an update scope: until the (outermost) scope is closed with endUpdate(), no property change events are delivered. On closing, every
+   * changed property is announced with one (merged) event and the object is marked dirty once. Scopes can be nested; always close the scope in a
+   * finally block:
+   * 
+   * <pre>
+   * movie.beginUpdate();
+   * try {
+   *   movie.setTitle(...);
+   *   ...
+   * }
+   * finally {
+   *   movie.endUpdate();
+   * }
+   * </pre>
+   */
+  public synchronized void beginUpdate() {
+    if (updateDepth == 0) {
+      suppressedEvents = new LinkedHashMap<Object, PropertyChangeEvent>();
+    }
+    updateDepth++;
+  }
+
+  /**
+   * Closes an update scope; closing the outermost scope delivers all suppressed events
+   */
+  public void endUpdate() {
+    List<PropertyChangeEvent> events;
+    synchronized (this) {
+      if (updateDepth == 0) {
+        return;
+      }
+      updateDepth--;
+      if (updateDepth > 0) {
+        return;
+      }
+      events = new ArrayList<PropertyChangeEvent>(suppressedEvents.values());
+      suppressedEvents = null;
+    }
+
+    // the one dirty mark for all changes (if they have not been persisted within the scope)
+    if (suppressedDirty) {
+      suppressedDirty = false;
+      dirty = true;
+    }
+    for (PropertyChangeEvent evt : events) {
+      // a property which has been changed back to its initial value is no change at all
+      if (evt.getOldValue() != null && evt.getNewValue() != null && evt.getOldValue().equals(evt.getNewValue())) {
+        continue;
+      }
+      if (hasListeners(evt.getPropertyName())) {
+        deliverPropertyChange(evt);
+      }
+    }
+  }
+
+  /**
+   * checks if an update scope is open
+   * 
+   * @return true if the property change events are suppressed at the moment
+   */
+  public boolean isUpdating() {
+    return updateDepth > 0;
+  }
+
+  /**
+   * record the event if an update scope is open
+   * 
+   * @param evt
+   *          the event
+   * @param markDirty
+   *          whether the object has to be marked dirty on closing the scope
+   * @return true if the event has been suppressed
+   */
+  private synchronized boolean suppressPropertyChange(PropertyChangeEvent evt, boolean markDirty) {
+    if (updateDepth == 0) {
+      return false;
+    }
+    if (PropertyChangeDispatcher.isCoalescable(evt)) {
+      // one event per property: the first old value and the last new value
+      PropertyChangeEvent previous = suppressedEvents.get(evt.getPropertyName());
+      if (previous != null) {
+        evt = new PropertyChangeEvent(this, evt.getPropertyName(), previous.getOldValue(), evt.getNewValue());
+      }
+      suppressedEvents.put(evt.getPropertyName(), evt);
+    }
+    else {
+      // events carrying objects/collections (added/removed elements) are all needed
+      suppressedEvents.put(new Object(), evt);
+    }
+    if (markDirty) {
+      suppressedDirty = true;
+    }
+    return true;
+  }
+
+  /**
+   * Checks if this object has been changed since the last call of clearDirty().
+   * 
+   * @return true if there are unsaved changes
+   */
+  public boolean isDirty() {
+    return dirty || suppressedDirty;
+  }
+
+  /**
+   * Marks this object as changed (for changes without a property change event).
+   */
+  public void markDirty() {
+    dirty = true;
+  }
+
+  /**
+   * Marks this object as unchanged (e.g. after loading it from/writing it to the database).
+   */
+  public void clearDirty() {
+    dirty = false;
+    suppressedDirty = false;
   }
-}
\ No newline at end of file
+}
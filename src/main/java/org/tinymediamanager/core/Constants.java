@@ -26,8 +26,9 @@ public final class Constants {
 
   public final static String ACTORS                 = "actors";
   public final static String ADDED_EPISODE          = "addedEpisode";
+  public final static String ADDED_EPISODES         = "addedEpisodes";
   public final static String ADDED_SEASON           = "season";
-  public final static String ADDED_TV_SHOW          = "addedTvShow";
+  public final static String ADDED_TV_SHOWS         = "addedTvShows";
   public final static String AIRED_EPISODE          = "airedEpisode";
   public final static String AIRED_SEASON           = "airedSeason";
   public final static String BANNER                 = "banner";
@@ -58,9 +59,11 @@ public final class Constants {
   public final static String MEDIA_FILES            = "mediaFiles";
   public final static String MEDIA_INFORMATION      = "mediaInformation";
   public final static String MEDIA_SOURCE           = "mediaSource";
+  public final static String MISSING_ARTWORK_COUNT  = "missingArtworkEpisodeCount";
   public final static String MOVIESET               = "movieset";
   public final static String MOVIESET_TITLE         = "movieSetTitle";
   public final static String NAME                   = "name";
+  public final static String NEW_EPISODE_COUNT      = "newEpisodeCount";
   public final static String NEWLY_ADDED            = "newlyAdded";
   public final static String NFO_FILENAME           = "nfoFilename";
   public final static String ORIGINAL_TITLE         = "originalTitle";
@@ -74,7 +77,7 @@ public final class Constants {
   public final static String RELEASE_DATE           = "releaseDate";
   public final static String RELEASE_DATE_AS_STRING = "releaseDateAsString";
   public final static String REMOVED_EPISODE        = "removedEpisode";
-  public final static String REMOVED_TV_SHOW        = "removedTvShow";
+  public final static String REMOVED_TV_SHOWS       = "removedTvShows";
   public final static String ROLE                   = "role";
   public final static String RUNTIME                = "runtime";
   public final static String SCRAPED                = "scraped";
@@ -98,6 +101,7 @@ public final class Constants {
   public final static String TV_SHOW                = "tvShow";
   public final static String TV_SHOW_COUNT          = "tvShowCount";
   public final static String TV_SHOWS               = "tvShows";
+  public final static String UNSCRAPED_COUNT        = "unscrapedEpisodeCount";
   public final static String VIDEO_IN_3D            = "videoIn3D";
   public final static String VOTES                  = "votes";
   public final static String WATCHED                = "watched";
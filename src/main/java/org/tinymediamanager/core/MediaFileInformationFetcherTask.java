@@ -80,7 +80,7 @@ public class MediaFileInformationFetcherTask implements Callable<Object> {
 
     if (mediaEntity != null) {
       mediaEntity.saveToDb();
-      mediaEntity.firePropertyChange(MEDIA_INFORMATION, false, true);
+      mediaEntity.fireEventForChangedMediaInformation();
       return "getting MediaInfo from " + mediaEntity.getTitle();
     }
 
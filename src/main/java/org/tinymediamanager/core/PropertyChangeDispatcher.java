@@ -0,0 +1,201 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class PropertyChangeDispatcher. Delivers the property change events of the model objects to their (UI) listeners in the EDT.<br>
+ * Events fired from background threads are not posted to the EDT one by one, but collected for one frame interval and delivered in one EDT pass.
+ * Within this interval the events of the same source and property are coalesced (the first old value and the last new value survive), so a scrape
+ * which sets dozens of properties several times only causes one update per property in the UI. Events which carry a model object or a collection
+ * (e.g. added/removed episodes) are never coalesced, because every single event is needed by the listeners.<br>
+ * Events fired in the EDT are delivered immediately (after the pending ones); in headless mode (e.g. the command line mode) all events are delivered
+ * in the firing thread. The synchronous listeners of the model objects (core bookkeeping) do not pass the dispatcher at all.
+ *
+ * @author Manuel Laggner
+ */
+class PropertyChangeDispatcher {
+  private static final Logger                   LOGGER         = LoggerFactory.getLogger(PropertyChangeDispatcher.class);
+  private static final int                      FRAME_INTERVAL = 20; // ms
+  private static final PropertyChangeDispatcher instance       = new PropertyChangeDispatcher();
+
+  private final Map<Object, PendingEvent>       pendingEvents  = new LinkedHashMap<Object, PendingEvent>();
+  private Timer                                 flushTimer;
+
+  // metrics
+  private long                                  queuedCount;
+  private long                                  coalescedCount;
+  private long                                  flushCount;
+
+  private PropertyChangeDispatcher() {
+  }
+
+  static PropertyChangeDispatcher getInstance() {
+    return instance;
+  }
+
+  /**
+   * deliver the event to the listeners of the given support
+   *
+   * @param support
+   *          the property change support holding the listeners
+   * @param evt
+   *          the event
+   */
+  void dispatch(PropertyChangeSupport support, PropertyChangeEvent evt) {
+    if (GraphicsEnvironment.isHeadless() || SwingUtilities.isEventDispatchThread()) {
+      // deliver the pending events first; otherwise an older (coalesced) event could overwrite this one afterwards
+      flush();
+      support.firePropertyChange(evt);
+      return;
+    }
+
+    synchronized (pendingEvents) {
+      queuedCount++;
+      Object key;
+      if (isCoalescable(evt)) {
+        key = new EventKey(evt.getSource(), evt.getPropertyName());
+        PendingEvent pending = pendingEvents.get(key);
+        if (pending != null) {
+          // keep the old value of the first event and take the new value of this one
+          pending.event = new PropertyChangeEvent(evt.getSource(), evt.getPropertyName(), pending.event.getOldValue(), evt.getNewValue());
+          coalescedCount++;
+          return;
+        }
+      }
+      else {
+        // a unique key: deliver every single event
+        key = new Object();
+      }
+      pendingEvents.put(key, new PendingEvent(support, evt));
+
+      if (flushTimer == null) {
+        flushTimer = new Timer(FRAME_INTERVAL, new ActionListener() {
+          @Override
+          public void actionPerformed(ActionEvent e) {
+            flush();
+          }
+        });
+        flushTimer.setRepeats(false);
+      }
+      if (!flushTimer.isRunning()) {
+        flushTimer.start();
+      }
+    }
+  }
+
+  /**
+   * deliver all pending events (in the EDT)
+   */
+  private void flush() {
+    List<PendingEvent> events;
+    synchronized (pendingEvents) {
+      if (pendingEvents.isEmpty()) {
+        return;
+      }
+      events = new ArrayList<PendingEvent>(pendingEvents.values());
+      pendingEvents.clear();
+      flushCount++;
+    }
+
+    for (PendingEvent pending : events) {
+      try {
+        pending.support.firePropertyChange(pending.event);
+      }
+      catch (Exception e) {
+        // one bad listener must not block all others
+        LOGGER.warn("problem delivering property change event " + pending.event.getPropertyName(), e);
+      }
+      catch (AssertionError e) {
+      }
+    }
+  }
+
+  /**
+   * events which carry a model object or a collection (added/removed elements, lists) must not be merged
+   */
+  static boolean isCoalescable(PropertyChangeEvent evt) {
+    return evt.getPropertyName() != null && isSimpleValue(evt.getOldValue()) && isSimpleValue(evt.getNewValue());
+  }
+
+  private static boolean isSimpleValue(Object value) {
+    return !(value instanceof AbstractModelObject || value instanceof Collection || value instanceof Map || value instanceof Object[]);
+  }
+
+  /**
+   * get the statistics of the dispatcher (for the log)
+   *
+   * @return the amount of queued, coalesced and flushed events
+   */
+  String getStatistics() {
+    synchronized (pendingEvents) {
+      return "property change events: " + queuedCount + " queued for the EDT, " + coalescedCount + " coalesced, " + flushCount + " EDT passes";
+    }
+  }
+
+  /**
+   * the key for coalescing: the identity of the source and the name of the property
+   */
+  private static class EventKey {
+    private final Object source;
+    private final String propertyName;
+
+    EventKey(Object source, String propertyName) {
+      this.source = source;
+      this.propertyName = propertyName;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(source) * 31 + propertyName.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof EventKey)) {
+        return false;
+      }
+      EventKey other = (EventKey) obj;
+      return source == other.source && propertyName.equals(other.propertyName);
+    }
+  }
+
+  private static class PendingEvent {
+    private final PropertyChangeSupport support;
+    private PropertyChangeEvent         event;
+
+    PendingEvent(PropertyChangeSupport support, PropertyChangeEvent event) {
+      this.support = support;
+      this.event = event;
+    }
+  }
+}
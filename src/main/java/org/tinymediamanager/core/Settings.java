@@ -50,14 +50,17 @@ import org.slf4j.LoggerFactory;
 import org.tinymediamanager.ReleaseInfo;
 import org.tinymediamanager.core.ImageCache.CacheType;
 import org.tinymediamanager.core.Message.MessageLevel;
+import org.tinymediamanager.core.database.EntityCodec;
 import org.tinymediamanager.core.movie.MovieFanartNaming;
 import org.tinymediamanager.core.movie.MovieNfoNaming;
 import org.tinymediamanager.core.movie.MoviePosterNaming;
 import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSettings;
+import org.tinymediamanager.core.threading.TmmRateLimiter;
 import org.tinymediamanager.core.tvshow.TvShowScraperMetadataConfig;
 import org.tinymediamanager.core.tvshow.TvShowSettings;
 import org.tinymediamanager.scraper.http.ProxySettings;
+import org.tinymediamanager.scraper.http.TmmHttpClient;
 import org.tinymediamanager.scraper.util.StrgUtils;
 
 /**
@@ -91,6 +94,7 @@ public class Settings extends AbstractModelObject {
   private final static String         LANGUAGE                    = "language";
   private final static String         WOL_DEVICES                 = "wolDevices";
   private final static String         SHOW_NOTIFICATIONS          = "showNotifications";
+  private final static String         DATABASE_CODEC              = "databaseCodec";
 
   @XmlElementWrapper(name = TITLE_PREFIX)
   @XmlElement(name = PREFIX)
@@ -129,7 +133,6 @@ public class Settings extends AbstractModelObject {
 
   private boolean                     imageCache                  = true;
   private CacheType                   imageCacheType              = CacheType.SMOOTH;
-  private boolean                     dirty                       = false;
   private MovieSettings               movieSettings               = null;
   private TvShowSettings              tvShowSettings              = null;
   private MovieScraperMetadataConfig  movieScraperMetadataConfig  = null;
@@ -143,6 +146,20 @@ public class Settings extends AbstractModelObject {
   private String                      fontFamily                  = "Dialog";
 
   private boolean                     deleteTrashOnExit           = false;
+  private EntityCodec                 databaseCodec               = EntityCodec.SMILE;
+
+  // thread limits of the scheduler lanes; 0 = auto sized
+  private int                         cpuThreads                  = 0;
+  private int                         localIoThreads              = 0;
+  private int                         networkIoThreads            = 0;
+  private int                         httpThreads                 = 0;
+  // max. amount of queued sub tasks per thread pool; 0 = auto sized
+  private int                         taskQueueSize               = 0;
+
+  // database backups: folder and retention policy
+  private String                      backupFolder                = "backup";
+  private int                         backupKeep                  = 15;
+  private int                         backupMaxAgeDays            = 0;
 
   private PropertyChangeListener      propertyChangeListener;
   @XmlTransient
@@ -155,20 +172,20 @@ public class Settings extends AbstractModelObject {
     propertyChangeListener = new PropertyChangeListener() {
       @Override
       public void propertyChange(PropertyChangeEvent evt) {
-        setDirty();
+        markDirty();
       }
     };
-    addPropertyChangeListener(propertyChangeListener);
+    addSynchronousPropertyChangeListener(propertyChangeListener);
 
     // default values
     movieSettings = new MovieSettings();
-    movieSettings.addPropertyChangeListener(propertyChangeListener);
+    movieSettings.addSynchronousPropertyChangeListener(propertyChangeListener);
     tvShowSettings = new TvShowSettings();
-    tvShowSettings.addPropertyChangeListener(propertyChangeListener);
+    tvShowSettings.addSynchronousPropertyChangeListener(propertyChangeListener);
     movieScraperMetadataConfig = new MovieScraperMetadataConfig();
-    movieScraperMetadataConfig.addPropertyChangeListener(propertyChangeListener);
+    movieScraperMetadataConfig.addSynchronousPropertyChangeListener(propertyChangeListener);
     tvShowScraperMetadataConfig = new TvShowScraperMetadataConfig();
-    tvShowScraperMetadataConfig.addPropertyChangeListener(propertyChangeListener);
+    tvShowScraperMetadataConfig.addSynchronousPropertyChangeListener(propertyChangeListener);
   }
 
   public String getSettingsFolder() {
@@ -270,21 +287,7 @@ public class Settings extends AbstractModelObject {
    */
   public void setCurrentVersion() {
     version = ReleaseInfo.getVersion();
-    setDirty();
-  }
-
-  /**
-   * Sets the dirty.
-   */
-  private void setDirty() {
-    dirty = true;
-  }
-
-  /**
-   * Clear dirty.
-   */
-  private void clearDirty() {
-    dirty = false;
+    markDirty();
   }
 
   /**
@@ -450,7 +453,7 @@ public class Settings extends AbstractModelObject {
    */
   public void saveSettings() {
     // is there anything to save?
-    if (!dirty) {
+    if (!isDirty()) {
       return;
     }
 
@@ -794,6 +797,8 @@ public class Settings extends AbstractModelObject {
     catch (NumberFormatException e) {
       LOGGER.error("could not parse proxy port: " + e.getMessage());
     }
+    // the proxy settings may have re-created the HTTP client
+    TmmRateLimiter.getInstance().install(TmmHttpClient.getHttpClient());
   }
 
   /**
@@ -816,7 +821,7 @@ public class Settings extends AbstractModelObject {
    */
   public void setMovieSettings(MovieSettings movieSettings) {
     this.movieSettings = movieSettings;
-    this.movieSettings.addPropertyChangeListener(propertyChangeListener);
+    this.movieSettings.addSynchronousPropertyChangeListener(propertyChangeListener);
   }
 
   /**
@@ -836,7 +841,7 @@ public class Settings extends AbstractModelObject {
    */
   public void setTvShowSettings(TvShowSettings tvShowSettings) {
     this.tvShowSettings = tvShowSettings;
-    this.tvShowSettings.addPropertyChangeListener(propertyChangeListener);
+    this.tvShowSettings.addSynchronousPropertyChangeListener(propertyChangeListener);
   }
 
   /**
@@ -865,7 +870,7 @@ public class Settings extends AbstractModelObject {
    */
   public void setMovieScraperMetadataConfig(MovieScraperMetadataConfig scraperMetadataConfig) {
     this.movieScraperMetadataConfig = scraperMetadataConfig;
-    this.movieScraperMetadataConfig.addPropertyChangeListener(propertyChangeListener);
+    this.movieScraperMetadataConfig.addSynchronousPropertyChangeListener(propertyChangeListener);
   }
 
   /**
@@ -885,7 +890,7 @@ public class Settings extends AbstractModelObject {
    */
   public void setTvShowScraperMetadataConfig(TvShowScraperMetadataConfig scraperMetadataConfig) {
     this.tvShowScraperMetadataConfig = scraperMetadataConfig;
-    this.tvShowScraperMetadataConfig.addPropertyChangeListener(propertyChangeListener);
+    this.tvShowScraperMetadataConfig.addSynchronousPropertyChangeListener(propertyChangeListener);
   }
 
   /**
@@ -1071,4 +1076,145 @@ public class Settings extends AbstractModelObject {
   public boolean isDeleteTrashOnExit() {
     return deleteTrashOnExit;
   }
+
+  /**
+   * Gets the codec which is used to store entities in the databases.
+   * 
+   * @return the database codec
+   */
+  public EntityCodec getDatabaseCodec() {
+    return databaseCodec;
+  }
+
+  /**
+   * Sets the codec which is used to store entities in the databases (the databases are migrated upon the next start).
+   * 
+   * @param newValue
+   *          the new database codec
+   */
+  public void setDatabaseCodec(EntityCodec newValue) {
+    EntityCodec oldValue = this.databaseCodec;
+    this.databaseCodec = newValue;
+    firePropertyChange(DATABASE_CODEC, oldValue, newValue);
+  }
+
+  /**
+   * Gets the amount of threads for CPU bound tasks (0 = one per core).
+   * 
+   * @return the amount of threads
+   */
+  public int getCpuThreads() {
+    return cpuThreads;
+  }
+
+  public void setCpuThreads(int newValue) {
+    int oldValue = this.cpuThreads;
+    this.cpuThreads = newValue;
+    firePropertyChange("cpuThreads", oldValue, newValue);
+  }
+
+  /**
+   * Gets the amount of threads for tasks working on the local disks (0 = auto).
+   * 
+   * @return the amount of threads
+   */
+  public int getLocalIoThreads() {
+    return localIoThreads;
+  }
+
+  public void setLocalIoThreads(int newValue) {
+    int oldValue = this.localIoThreads;
+    this.localIoThreads = newValue;
+    firePropertyChange("localIoThreads", oldValue, newValue);
+  }
+
+  /**
+   * Gets the amount of threads per mounted network share (0 = auto).
+   * 
+   * @return the amount of threads
+   */
+  public int getNetworkIoThreads() {
+    return networkIoThreads;
+  }
+
+  public void setNetworkIoThreads(int newValue) {
+    int oldValue = this.networkIoThreads;
+    this.networkIoThreads = newValue;
+    firePropertyChange("networkIoThreads", oldValue, newValue);
+  }
+
+  /**
+   * Gets the amount of threads per HTTP host (0 = auto).
+   * 
+   * @return the amount of threads
+   */
+  public int getHttpThreads() {
+    return httpThreads;
+  }
+
+  public void setHttpThreads(int newValue) {
+    int oldValue = this.httpThreads;
+    this.httpThreads = newValue;
+    firePropertyChange("httpThreads", oldValue, newValue);
+  }
+
+  /**
+   * Gets the max. amount of queued sub tasks per thread pool (0 = auto).
+   * 
+   * @return the queue size
+   */
+  public int getTaskQueueSize() {
+    return taskQueueSize;
+  }
+
+  public void setTaskQueueSize(int newValue) {
+    int oldValue = this.taskQueueSize;
+    this.taskQueueSize = newValue;
+    firePropertyChange("taskQueueSize", oldValue, newValue);
+  }
+
+  /**
+   * Gets the folder for the database backups.
+   * 
+   * @return the backup folder
+   */
+  public String getBackupFolder() {
+    return backupFolder;
+  }
+
+  public void setBackupFolder(String newValue) {
+    String oldValue = this.backupFolder;
+    this.backupFolder = newValue;
+    firePropertyChange("backupFolder", oldValue, newValue);
+  }
+
+  /**
+   * Gets the amount of database backups to keep (per database).
+   * 
+   * @return the amount of backups
+   */
+  public int getBackupKeep() {
+    return backupKeep;
+  }
+
+  public void setBackupKeep(int newValue) {
+    int oldValue = this.backupKeep;
+    this.backupKeep = newValue;
+    firePropertyChange("backupKeep", oldValue, newValue);
+  }
+
+  /**
+   * Gets the max. age of the database backups in days (0 = do not delete by age).
+   * 
+   * @return the max. age in days
+   */
+  public int getBackupMaxAgeDays() {
+    return backupMaxAgeDays;
+  }
+
+  public void setBackupMaxAgeDays(int newValue) {
+    int oldValue = this.backupMaxAgeDays;
+    this.backupMaxAgeDays = newValue;
+    firePropertyChange("backupMaxAgeDays", oldValue, newValue);
+  }
 }
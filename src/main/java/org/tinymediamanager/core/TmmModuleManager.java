@@ -15,11 +15,15 @@
  */
 package org.tinymediamanager.core;
 
+import java.io.File;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.database.MediaInfoCache;
+import org.tinymediamanager.core.threading.TmmRateLimiter;
+import org.tinymediamanager.scraper.http.TmmHttpClient;
 
 /**
  * The class TmmModuleManager. Used to manage all modules inside tmm
@@ -27,7 +31,8 @@ import org.slf4j.LoggerFactory;
  * @author Manuel Laggner
  */
 public class TmmModuleManager {
-  private static final Logger     LOGGER = LoggerFactory.getLogger(TmmModuleManager.class);
+  private static final Logger     LOGGER       = LoggerFactory.getLogger(TmmModuleManager.class);
+  private static final String     MEDIAINFO_DB = "mediainfo.db";
   private static TmmModuleManager instance;
 
   private Set<ITmmModule>         modules;
@@ -67,7 +72,11 @@ public class TmmModuleManager {
    * start up tmm - do initialization code here
    */
   public void startUp() {
+    // the MediaInfo cache is shared by all modules
+    MediaInfoCache.getInstance().open(new File(Settings.getInstance().getSettingsFolder(), MEDIAINFO_DB));
 
+    // all HTTP requests pass the per host rate limiter
+    TmmRateLimiter.getInstance().install(TmmHttpClient.getHttpClient());
   }
 
   /**
@@ -84,6 +93,10 @@ public class TmmModuleManager {
         }
       }
     }
+    MediaInfoCache.getInstance().close();
+
+    // the HTTP statistics are logged with the task metrics
+    LOGGER.info(PropertyChangeDispatcher.getInstance().getStatistics());
   }
 
   /**
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.Utils;
+
+/**
+ * The class DatabaseBackup. Creates zipped snapshots of a (running) MVStore in the backup folder. While copying, the store does not reuse space, so
+ * all chunks which are referenced by the copied state stay untouched (the same way H2 does online backups).<br>
+ * A backup is skipped if the store has not been changed since the last backup (the store version is recorded in the zip comment). Old backups are
+ * removed according to the retention policy (keep the newest X backups, optionally delete backups older than Y days).
+ *
+ * @author Manuel Laggner
+ */
+public class DatabaseBackup {
+  private static final Logger                   LOGGER         = LoggerFactory.getLogger(DatabaseBackup.class);
+  private static final String                   COMMENT_PREFIX = "tmm backup; store version ";
+  private static final int                      BUFFER_SIZE    = 1024 * 1024;
+  private static final ScheduledExecutorService EXECUTOR       = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                                                                 @Override
+                                                                 public Thread newThread(Runnable r) {
+                                                                   Thread thread = new Thread(r, "tmm-db-backup");
+                                                                   thread.setDaemon(true);
+                                                                   thread.setPriority(Thread.MIN_PRIORITY);
+                                                                   return thread;
+                                                                 }
+                                                               });
+
+  private final MVStore                         mvStore;
+  private final File                            dbFile;
+  private final File                            backupFolder;
+  private final int                             keep;
+  private final int                             maxAgeDays;
+  private final Lock                            backupLock     = new ReentrantLock();
+  private volatile boolean                      closed         = false;
+
+  /**
+   * create the backup for the given store with the backup folder and the retention policy from the settings
+   *
+   * @param mvStore
+   *          the (opened) store
+   * @param dbFile
+   *          the file of the store
+   */
+  public DatabaseBackup(MVStore mvStore, File dbFile) {
+    this(mvStore, dbFile, new File(Settings.getInstance().getBackupFolder()), Settings.getInstance().getBackupKeep(),
+        Settings.getInstance().getBackupMaxAgeDays());
+  }
+
+  /**
+   * create the backup for the given store
+   *
+   * @param mvStore
+   *          the (opened) store
+   * @param dbFile
+   *          the file of the store
+   * @param backupFolder
+   *          the folder for the backups
+   * @param keep
+   *          keep the last X backups
+   * @param maxAgeDays
+   *          delete backups older than X days (0 = do not delete by age); the newest backup is never deleted by age
+   */
+  public DatabaseBackup(MVStore mvStore, File dbFile, File backupFolder, int keep, int maxAgeDays) {
+    this.mvStore = mvStore;
+    this.dbFile = dbFile;
+    this.backupFolder = backupFolder;
+    this.keep = keep;
+    this.maxAgeDays = maxAgeDays;
+  }
+
+  /**
+   * run the backup in the background after the given delay
+   *
+   * @param delay
+   *          the delay in seconds
+   */
+  public void scheduleBackup(long delay) {
+    EXECUTOR.schedule(new Runnable() {
+      @Override
+      public void run() {
+        createBackup();
+        deleteOldBackups();
+      }
+    }, delay, TimeUnit.SECONDS);
+  }
+
+  /**
+   * create a snapshot of the store (if it has been changed since the last backup)
+   *
+   * @return true if a backup has been written
+   */
+  public boolean createBackup() {
+    backupLock.lock();
+    try {
+      if (closed) {
+        return false;
+      }
+      return backup();
+    }
+    finally {
+      backupLock.unlock();
+    }
+  }
+
+  private boolean backup() {
+    if (!backupFolder.exists()) {
+      backupFolder.mkdirs();
+    }
+
+    // persist everything pending; if nothing has been changed, the version stays the same
+    mvStore.commit();
+    long version = mvStore.getCurrentVersion();
+    if (version == getLastBackupVersion()) {
+      LOGGER.debug("no changes in " + dbFile.getName() + " since the last backup - skipping");
+      return false;
+    }
+
+    long start = System.currentTimeMillis();
+    String date = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+    File backup = new File(backupFolder, dbFile.getName() + "." + date + ".zip");
+    File tempFile = new File(backupFolder, backup.getName() + ".part");
+
+    boolean reuseSpace = mvStore.getReuseSpace();
+    mvStore.setReuseSpace(false);
+    try {
+      FileChannel channel = mvStore.getFileStore().getFile();
+      long size = channel.size();
+
+      ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(tempFile));
+      try {
+        zos.setComment(COMMENT_PREFIX + version);
+        zos.putNextEntry(new ZipEntry(dbFile.getName()));
+
+        // read with absolute positions: the position of the channel is used by the store itself
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        while (position < size) {
+          if (closed) {
+            throw new IOException("store has been closed");
+          }
+          buffer.clear();
+          buffer.limit((int) Math.min(BUFFER_SIZE, size - position));
+          int read = channel.read(buffer, position);
+          if (read <= 0) {
+            break;
+          }
+          zos.write(buffer.array(), 0, read);
+          position += read;
+        }
+        zos.closeEntry();
+      }
+      finally {
+        zos.close();
+      }
+
+      if (!tempFile.renameTo(backup)) {
+        throw new IOException("could not rename " + tempFile.getName());
+      }
+      LOGGER.info("created backup " + backup.getName() + " (version " + version + ") in " + (System.currentTimeMillis() - start) + " ms");
+      return true;
+    }
+    catch (Exception e) {
+      LOGGER.error("could not backup " + dbFile.getName() + ": " + e.getMessage());
+      tempFile.delete();
+      return false;
+    }
+    finally {
+      mvStore.setReuseSpace(reuseSpace);
+    }
+  }
+
+  /**
+   * delete the backups which are not covered by the retention policy any more
+   */
+  public void deleteOldBackups() {
+    List<File> backups = getBackups();
+    long maxAge = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays);
+
+    for (int i = 0; i < backups.size(); i++) {
+      int newer = backups.size() - 1 - i;
+      File backup = backups.get(i);
+      if (newer >= keep || (maxAgeDays > 0 && newer > 0 && backup.lastModified() < maxAge)) {
+        LOGGER.debug("deleting old backup " + backup.getName());
+        Utils.deleteFileSafely(backup);
+      }
+    }
+  }
+
+  /**
+   * stop the backup; a running backup is aborted. Must be called before the store gets closed
+   */
+  public void close() {
+    closed = true;
+    // wait until a running backup has been aborted
+    backupLock.lock();
+    backupLock.unlock();
+  }
+
+  /**
+   * the lock which is held while a backup is running. Other maintenance jobs on the store (like compaction) must not run at the same time
+   *
+   * @return the backup lock
+   */
+  Lock getLock() {
+    return backupLock;
+  }
+
+  /**
+   * get all backups of our db file (oldest first)
+   */
+  private List<File> getBackups() {
+    List<File> backups = new ArrayList<File>();
+    File[] files = backupFolder.listFiles();
+    if (files == null) {
+      return backups;
+    }
+
+    Arrays.sort(files);
+    String name = dbFile.getName().replace(".", "\\.");
+    for (File file : files) {
+      // name.ext.yyyy-mm-dd_hh-mm-ss.zip and the old formats name.ext.yyyy-mm-dd.zip and name.ext.yyyy-mm-dd
+      if (file.getName().matches(name + "\\.\\d{4}\\-\\d{2}\\-\\d{2}(_\\d{2}\\-\\d{2}\\-\\d{2})?\\.zip") || file.getName()
+          .matches(name + "\\.\\d{4}\\-\\d{2}\\-\\d{2}")) {
+        backups.add(file);
+      }
+    }
+    return backups;
+  }
+
+  /**
+   * get the store version of the newest backup
+   *
+   * @return the version or -1 if there is no (readable) backup
+   */
+  private long getLastBackupVersion() {
+    List<File> backups = getBackups();
+    if (backups.isEmpty()) {
+      return -1;
+    }
+
+    ZipFile zipFile = null;
+    try {
+      zipFile = new ZipFile(backups.get(backups.size() - 1));
+      String comment = zipFile.getComment();
+      if (comment != null && comment.startsWith(COMMENT_PREFIX)) {
+        return Long.parseLong(comment.substring(COMMENT_PREFIX.length()));
+      }
+    }
+    catch (Exception e) {
+      // not readable/an old backup
+    }
+    finally {
+      if (zipFile != null) {
+        try {
+          zipFile.close();
+        }
+        catch (IOException e) {
+        }
+      }
+    }
+    return -1;
+  }
+}
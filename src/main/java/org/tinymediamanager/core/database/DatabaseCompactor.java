@@ -0,0 +1,264 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.threading.TmmTaskManager;
+
+/**
+ * The class DatabaseCompactor. Compacts a (running) MVStore in the background while tmm is idle (no main task running and no backup in progress).
+ * If the fill rate of the file drops below the target fill rate, the live pages of sparse chunks are rewritten and the chunks are moved to the start
+ * of the file to shrink it. Every run is time-boxed, so a big store is compacted in several small steps.
+ *
+ * @author Manuel Laggner
+ */
+public class DatabaseCompactor {
+  private static final Logger                   LOGGER           = LoggerFactory.getLogger(DatabaseCompactor.class);
+  private static final int                      TARGET_FILL_RATE = 70;
+  private static final int                      WRITE_SIZE       = 256 * 1024;
+  private static final long                     MOVE_SIZE        = 1024 * 1024;
+  private static final ScheduledExecutorService EXECUTOR         = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                                                                   @Override
+                                                                   public Thread newThread(Runnable r) {
+                                                                     Thread thread = new Thread(r, "tmm-db-compactor");
+                                                                     thread.setDaemon(true);
+                                                                     thread.setPriority(Thread.MIN_PRIORITY);
+                                                                     return thread;
+                                                                   }
+                                                                 });
+
+  private final String                          name;
+  private final MVStore                         mvStore;
+  private final Lock                            backupLock;
+  private final long                            timeBox;
+  private final Object                          compactLock      = new Object();
+  private ScheduledFuture<?>                    future;
+  private volatile boolean                      closed           = false;
+
+  // metrics
+  private long                                  runCount;
+  private long                                  skippedCount;
+  private long                                  compactionCount;
+  private long                                  reclaimedBytes;
+  private long                                  lastCompactionTime;
+  private long                                  maxCompactionTime;
+  private long                                  totalCompactionTime;
+
+  /**
+   * create the compactor for the given store
+   *
+   * @param name
+   *          the name of the store (for logging)
+   * @param mvStore
+   *          the (opened) store
+   * @param backup
+   *          the backup of this store; no compaction is done while a backup is running
+   * @param timeBox
+   *          the max time (in ms) of a single compaction run
+   */
+  public DatabaseCompactor(String name, MVStore mvStore, DatabaseBackup backup, long timeBox) {
+    this.name = name;
+    this.mvStore = mvStore;
+    this.backupLock = backup.getLock();
+    this.timeBox = timeBox;
+  }
+
+  /**
+   * check the store periodically and compact it if needed
+   *
+   * @param initialDelay
+   *          the delay before the first check in seconds
+   * @param interval
+   *          the interval between the checks in seconds
+   */
+  public synchronized void schedule(long initialDelay, long interval) {
+    if (future != null || closed) {
+      return;
+    }
+    future = EXECUTOR.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          compact();
+        }
+        catch (Exception e) {
+          // do not kill the schedule
+          LOGGER.warn(name + ": compaction failed: " + e.getMessage());
+        }
+      }
+    }, initialDelay, interval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * do a time-boxed compaction of the store if it is needed and tmm is idle
+   *
+   * @return true if the store has been compacted
+   */
+  public boolean compact() {
+    synchronized (this) {
+      runCount++;
+    }
+
+    // do not compete with the main tasks for the disk
+    if (closed || TmmTaskManager.getInstance().isMainTaskRunning() || mvStore.getFileStore().getFillRate() >= TARGET_FILL_RATE) {
+      synchronized (this) {
+        skippedCount++;
+      }
+      return false;
+    }
+
+    // never compact while a backup is copying the file
+    if (!backupLock.tryLock()) {
+      synchronized (this) {
+        skippedCount++;
+      }
+      return false;
+    }
+
+    try {
+      synchronized (compactLock) {
+        return compactStore();
+      }
+    }
+    finally {
+      backupLock.unlock();
+    }
+  }
+
+  private boolean compactStore() {
+    long start = System.currentTimeMillis();
+    long deadline = start + timeBox;
+    long sizeBefore = mvStore.getFileStore().size();
+    int fillRateBefore = mvStore.getFileStore().getFillRate();
+
+    // 1. rewrite the live pages of sparse chunks; the freed chunks can be reused afterwards
+    boolean rewritten = false;
+    while (!closed && System.currentTimeMillis() < deadline) {
+      if (!mvStore.compact(TARGET_FILL_RATE, WRITE_SIZE)) {
+        rewritten = true;
+        break;
+      }
+    }
+
+    // 2. move the chunks from the end of the file into the gaps, to be able to shrink the file
+    while (rewritten && !closed && System.currentTimeMillis() < deadline) {
+      if (!mvStore.compactMoveChunks(TARGET_FILL_RATE, MOVE_SIZE)) {
+        break;
+      }
+    }
+
+    long time = System.currentTimeMillis() - start;
+    long sizeAfter = mvStore.getFileStore().size();
+    synchronized (this) {
+      compactionCount++;
+      reclaimedBytes += Math.max(0, sizeBefore - sizeAfter);
+      lastCompactionTime = time;
+      totalCompactionTime += time;
+      if (time > maxCompactionTime) {
+        maxCompactionTime = time;
+      }
+    }
+    LOGGER.debug(name + ": compacted in " + time + " ms - fill rate " + fillRateBefore + "% -> " + mvStore.getFileStore().getFillRate()
+        + "%, file size " + sizeBefore + " -> " + sizeAfter);
+    return true;
+  }
+
+  /**
+   * stop the compactor; a running compaction is finished after its current step. Must be called before the store gets closed
+   */
+  public void close() {
+    closed = true;
+    synchronized (this) {
+      if (future != null) {
+        future.cancel(false);
+        future = null;
+      }
+    }
+    // wait until a running compaction has been stopped
+    synchronized (compactLock) {
+    }
+    LOGGER.info(getStatistics());
+  }
+
+  /**
+   * the current size of the database file
+   *
+   * @return the file size in bytes
+   */
+  public long getFileSize() {
+    return mvStore.getFileStore().size();
+  }
+
+  /**
+   * the current fill rate of the database file (live data vs file size)
+   *
+   * @return the fill rate in percent
+   */
+  public int getFillRate() {
+    return mvStore.getFileStore().getFillRate();
+  }
+
+  public synchronized long getRunCount() {
+    return runCount;
+  }
+
+  public synchronized long getSkippedCount() {
+    return skippedCount;
+  }
+
+  public synchronized long getCompactionCount() {
+    return compactionCount;
+  }
+
+  public synchronized long getReclaimedBytes() {
+    return reclaimedBytes;
+  }
+
+  public synchronized long getLastCompactionTime() {
+    return lastCompactionTime;
+  }
+
+  public synchronized long getMaxCompactionTime() {
+    return maxCompactionTime;
+  }
+
+  public synchronized long getAverageCompactionTime() {
+    return compactionCount == 0 ? 0 : totalCompactionTime / compactionCount;
+  }
+
+  /**
+   * a human readable summary of the metrics
+   *
+   * @return the statistics as string
+   */
+  public synchronized String getStatistics() {
+    String fileStats = "";
+    if (!mvStore.isClosed()) {
+      fileStats = ", file size " + getFileSize() + " (fill rate " + getFillRate() + "%)";
+    }
+    return name + ": compaction runs " + runCount + ", skipped " + skippedCount + ", compacted " + compactionCount + ", reclaimed "
+        + reclaimedBytes + " bytes, compaction time avg " + getAverageCompactionTime() + " ms (max " + maxCompactionTime + " ms)" + fileStats;
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * The enum EntityCodec. Used to encode/decode our entities to/from the value which is stored in the MVMaps of our databases.<br>
+ * Decoding is always possible for all known value formats, so a database can be read regardless which codec has been used to write it.
+ *
+ * @author Manuel Laggner
+ */
+public enum EntityCodec {
+  /**
+   * the legacy format: every entity is stored as a JSON string
+   */
+  JSON {
+    @Override
+    public Object encode(ObjectWriter writer, Object entity) throws IOException {
+      return writer.writeValueAsString(entity);
+    }
+
+    @Override
+    public boolean isEncoded(Object value) {
+      return value instanceof String;
+    }
+  },
+
+  /**
+   * every entity is stored as UTF-8 encoded JSON byte array. This avoids the String (char) conversion in both directions and lets Jackson use its
+   * byte based parser; the content is still JSON text
+   */
+  BINARY {
+    @Override
+    public Object encode(ObjectWriter writer, Object entity) throws IOException {
+      return writer.writeValueAsBytes(entity);
+    }
+
+    @Override
+    public boolean isEncoded(Object value) {
+      return value instanceof byte[] && !isSmile((byte[]) value);
+    }
+  },
+
+  /**
+   * every entity is stored in the binary SMILE format (same data model as JSON, but with binary numbers and back references for repeated field
+   * names/short values). Databases written with this codec cannot be read by older versions
+   */
+  SMILE {
+    @Override
+    public Object encode(ObjectWriter writer, Object entity) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+      JsonGenerator generator = SMILE_FACTORY.createGenerator(out);
+      try {
+        writer.writeValue(generator, entity);
+      }
+      finally {
+        generator.close();
+      }
+      return out.toByteArray();
+    }
+
+    @Override
+    public boolean isEncoded(Object value) {
+      return value instanceof byte[] && isSmile((byte[]) value);
+    }
+  };
+
+  /**
+   * system property to compare all codecs on a sample of the databases on startup (-Dtmm.codecbenchmark=true)
+   */
+  public static final String       BENCHMARK_PROPERTY = "tmm.codecbenchmark";
+
+  private static final Logger       LOGGER             = LoggerFactory.getLogger(EntityCodec.class);
+  private static final String       META_MAP           = "tmm";
+  private static final String       CODEC_KEY          = "codec";
+  private static final SmileFactory SMILE_FACTORY      = createSmileFactory();
+
+  /**
+   * encode the given entity to the value which will be stored in the database
+   *
+   * @param writer
+   *          the object writer for the entity type
+   * @param entity
+   *          the entity to encode
+   * @return the encoded value
+   * @throws IOException
+   *           any exception occurred while encoding
+   */
+  public abstract Object encode(ObjectWriter writer, Object entity) throws IOException;
+
+  /**
+   * check whether the given value has been encoded with this codec
+   *
+   * @param value
+   *          the stored value
+   * @return true if this value has been encoded with this codec
+   */
+  public abstract boolean isEncoded(Object value);
+
+  /**
+   * decode the given (stored) value to the entity. All known value formats will be decoded
+   *
+   * @param reader
+   *          the object reader for the entity type
+   * @param value
+   *          the stored value
+   * @return the decoded entity
+   * @throws IOException
+   *           any exception occurred while decoding
+   */
+  public static <T> T decode(ObjectReader reader, Object value) throws IOException {
+    if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      if (isSmile(bytes)) {
+        JsonParser parser = SMILE_FACTORY.createParser(bytes);
+        try {
+          return reader.readValue(parser);
+        }
+        finally {
+          parser.close();
+        }
+      }
+      return reader.readValue(bytes);
+    }
+    if (value instanceof String) {
+      return reader.readValue((String) value);
+    }
+    throw new IOException("unknown value type: " + (value == null ? "null" : value.getClass().getName()));
+  }
+
+  /**
+   * check whether the codec benchmark has been requested via the system property {@link #BENCHMARK_PROPERTY}
+   *
+   * @return true if the codecs should be compared on startup
+   */
+  public static boolean isBenchmarkEnabled() {
+    return "true".equals(System.getProperty(BENCHMARK_PROPERTY));
+  }
+
+  /**
+   * compare two stored values
+   *
+   * @param value1
+   *          the first value
+   * @param value2
+   *          the second value
+   * @return true if both values are equal
+   */
+  public static boolean isEqual(Object value1, Object value2) {
+    if (value1 instanceof byte[] && value2 instanceof byte[]) {
+      return Arrays.equals((byte[]) value1, (byte[]) value2);
+    }
+    return value1 == null ? value2 == null : value1.equals(value2);
+  }
+
+  /**
+   * compare all codecs on a sample of the values of the given map: the sampled entities are encoded with every codec and decoded again
+   *
+   * @param map
+   *          the map to take the sample from
+   * @param reader
+   *          the object reader for the entity type
+   * @param writer
+   *          the object writer for the entity type
+   * @param sampleSize
+   *          the max. amount of entities to compare
+   * @return a summary of the comparison (for the log)
+   */
+  public static String compare(MVMap<UUID, Object> map, ObjectReader reader, ObjectWriter writer, int sampleSize) {
+    List<Object> entities = new ArrayList<Object>(sampleSize);
+    for (UUID uuid : map.keyList()) {
+      if (entities.size() >= sampleSize) {
+        break;
+      }
+      try {
+        entities.add(decode(reader, map.get(uuid)));
+      }
+      catch (IOException e) {
+        LOGGER.trace("could not decode " + map.getName() + "/" + uuid + ": " + e.getMessage());
+      }
+    }
+    if (entities.isEmpty()) {
+      return "no entities to compare the codecs";
+    }
+
+    StringBuilder sb = new StringBuilder("codecs on " + entities.size() + " entities:");
+    for (EntityCodec codec : values()) {
+      try {
+        List<Object> values = new ArrayList<Object>(entities.size());
+        long size = 0;
+        long start = System.nanoTime();
+        for (Object entity : entities) {
+          Object value = codec.encode(writer, entity);
+          values.add(value);
+          size += value instanceof byte[] ? ((byte[]) value).length : ((String) value).getBytes(StandardCharsets.UTF_8).length;
+        }
+        long encodeTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (Object value : values) {
+          decode(reader, value);
+        }
+        long decodeTime = System.nanoTime() - start;
+
+        sb.append(" " + codec + " encode " + encodeTime / 1000000 + " ms, decode " + decodeTime / 1000000 + " ms, " + size / 1024 + " kB;");
+      }
+      catch (IOException e) {
+        sb.append(" " + codec + " failed: " + e.getMessage() + ";");
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * get the codec which has been used to write the given store (null if nothing has been recorded yet)
+   *
+   * @param mvStore
+   *          the store to check
+   * @return the codec used or null
+   */
+  public static EntityCodec getStoreCodec(MVStore mvStore) {
+    MVMap<String, String> metaMap = mvStore.openMap(META_MAP);
+    String codec = metaMap.get(CODEC_KEY);
+    if (codec == null) {
+      return null;
+    }
+    try {
+      return EntityCodec.valueOf(codec);
+    }
+    catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * record this codec as the codec used to write the given store
+   *
+   * @param mvStore
+   *          the store
+   */
+  public void setStoreCodec(MVStore mvStore) {
+    MVMap<String, String> metaMap = mvStore.openMap(META_MAP);
+    metaMap.put(CODEC_KEY, name());
+  }
+
+  /**
+   * one time migration of all values in the given map which have not been written with this codec
+   *
+   * @param map
+   *          the map to migrate
+   * @param reader
+   *          the object reader for the entity type
+   * @param writer
+   *          the object writer for the entity type
+   * @return the amount of migrated values
+   */
+  public int migrate(MVMap<UUID, Object> map, ObjectReader reader, ObjectWriter writer) {
+    int count = 0;
+    for (UUID uuid : map.keyList()) {
+      Object value = map.get(uuid);
+      if (value == null || isEncoded(value)) {
+        continue;
+      }
+      try {
+        Object entity = decode(reader, value);
+        map.put(uuid, encode(writer, entity));
+        count++;
+      }
+      catch (Exception e) {
+        // the old value stays in the db; it is still readable
+        LOGGER.warn("could not migrate " + map.getName() + "/" + uuid + ": " + e.getMessage());
+      }
+    }
+    return count;
+  }
+
+  /**
+   * check whether the given bytes start with the SMILE header (":)\n")
+   *
+   * @param bytes
+   *          the stored bytes
+   * @return true if the bytes have been written with SMILE
+   */
+  private static boolean isSmile(byte[] bytes) {
+    return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+  }
+
+  private static SmileFactory createSmileFactory() {
+    SmileFactory factory = new SmileFactory();
+    // the header is needed to distinguish SMILE from JSON bytes
+    factory.enable(SmileGenerator.Feature.WRITE_HEADER);
+    // titles, codecs, languages, ... are repeated within one entity
+    factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+    return factory;
+  }
+}
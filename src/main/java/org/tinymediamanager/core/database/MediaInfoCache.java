@@ -0,0 +1,254 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.thirdparty.MediaInfo.StreamKind;
+
+/**
+ * The class MediaInfoCache. A persistent cache for the results of the native MediaInfo lib. The entries are stored by the absolute path of the file
+ * and are only valid as long as the size and the last modified date of the file (the fingerprint) do not change. So reloading the media information
+ * or re-importing files (e.g. after a db reset) does not need to read the file headers again.<br>
+ * The cache is stored in an own db, which is not touched by a db reset.
+ *
+ * @author Manuel Laggner
+ */
+public class MediaInfoCache {
+  private static final Logger         LOGGER   = LoggerFactory.getLogger(MediaInfoCache.class);
+  private static final int            VERSION  = 1;
+  private static final MediaInfoCache instance = new MediaInfoCache();
+
+  private MVStore                     mvStore;
+  private MVMap<String, Object>       cacheMap;
+
+  // metrics
+  private long                        hitCount;
+  private long                        missCount;
+  private long                        putCount;
+
+  private MediaInfoCache() {
+  }
+
+  public static MediaInfoCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * open the cache; until the cache has been opened, all lookups are misses and nothing is stored
+   *
+   * @param dbFile
+   *          the file of the cache db
+   */
+  public synchronized void open(File dbFile) {
+    if (mvStore != null) {
+      return;
+    }
+
+    try {
+      mvStore = new MVStore.Builder().fileName(dbFile.getAbsolutePath()).compressHigh().open();
+      mvStore.setAutoCommitDelay(2000); // 2 sec
+      mvStore.setRetentionTime(0);
+      mvStore.setReuseSpace(true);
+    }
+    catch (Exception e) {
+      // the cache is only an optimization - we can live without it
+      LOGGER.warn("could not open " + dbFile.getName() + ": " + e.getMessage());
+      mvStore = null;
+      return;
+    }
+
+    cacheMap = mvStore.openMap("mediaInfo");
+
+    // the cached snapshots do not fit any more - start from scratch
+    MVMap<String, Object> metaMap = mvStore.openMap("tmm");
+    if (!Integer.valueOf(VERSION).equals(metaMap.get("version"))) {
+      cacheMap.clear();
+      metaMap.put("version", VERSION);
+      mvStore.commit();
+    }
+    LOGGER.info("opened " + dbFile.getName() + " with " + cacheMap.size() + " entries");
+  }
+
+  /**
+   * close the cache
+   */
+  public synchronized void close() {
+    if (mvStore == null) {
+      return;
+    }
+    LOGGER.info(getStatistics());
+    mvStore.close();
+    mvStore = null;
+    cacheMap = null;
+  }
+
+  /**
+   * get the cached MediaInfo snapshot for the given file
+   *
+   * @param file
+   *          the file
+   * @return the snapshot or null if there is no valid entry for the actual state of the file
+   */
+  public Map<StreamKind, List<Map<String, String>>> get(File file) {
+    MVMap<String, Object> map;
+    synchronized (this) {
+      map = cacheMap;
+    }
+    if (map == null) {
+      return null;
+    }
+
+    String key = file.getAbsolutePath();
+    Object value = null;
+    try {
+      value = map.get(key);
+    }
+    catch (Exception e) {
+      // store closed in the meantime/unreadable entry
+      LOGGER.debug("could not read cache entry for " + key + ": " + e.getMessage());
+    }
+
+    if (value instanceof CacheEntry) {
+      CacheEntry entry = (CacheEntry) value;
+      if (entry.size == file.length() && entry.lastModified == file.lastModified()) {
+        synchronized (this) {
+          hitCount++;
+        }
+        return copy(entry.snapshot);
+      }
+    }
+
+    synchronized (this) {
+      missCount++;
+    }
+    return null;
+  }
+
+  /**
+   * store the MediaInfo snapshot for the given file
+   *
+   * @param file
+   *          the file
+   * @param snapshot
+   *          the snapshot to store
+   */
+  public void put(File file, Map<StreamKind, List<Map<String, String>>> snapshot) {
+    MVMap<String, Object> map;
+    synchronized (this) {
+      map = cacheMap;
+    }
+    if (map == null || snapshot == null || snapshot.isEmpty()) {
+      return;
+    }
+
+    // without a valid fingerprint we are not able to detect changes
+    long size = file.length();
+    long lastModified = file.lastModified();
+    if (size == 0 || lastModified == 0) {
+      return;
+    }
+
+    CacheEntry entry = new CacheEntry();
+    entry.size = size;
+    entry.lastModified = lastModified;
+    entry.snapshot = copy(snapshot);
+    try {
+      map.put(file.getAbsolutePath(), entry);
+      synchronized (this) {
+        putCount++;
+      }
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not write cache entry for " + file.getAbsolutePath() + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * remove the entry for the given file
+   *
+   * @param file
+   *          the file
+   */
+  public void remove(File file) {
+    MVMap<String, Object> map;
+    synchronized (this) {
+      map = cacheMap;
+    }
+    if (map != null) {
+      map.remove(file.getAbsolutePath());
+    }
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getPutCount() {
+    return putCount;
+  }
+
+  /**
+   * a human readable summary of the metrics
+   *
+   * @return the statistics as string
+   */
+  public synchronized String getStatistics() {
+    return "mediainfo cache: entries " + (cacheMap == null ? 0 : cacheMap.size()) + ", hits " + hitCount + ", misses " + missCount + ", stored "
+        + putCount;
+  }
+
+  /**
+   * deep copy of a snapshot; MediaFile relies on LinkedHashMaps for the streams
+   */
+  private static Map<StreamKind, List<Map<String, String>>> copy(Map<StreamKind, List<Map<String, String>>> snapshot) {
+    Map<StreamKind, List<Map<String, String>>> copy = new EnumMap<StreamKind, List<Map<String, String>>>(StreamKind.class);
+    for (Entry<StreamKind, List<Map<String, String>>> entry : snapshot.entrySet()) {
+      List<Map<String, String>> streams = new ArrayList<Map<String, String>>(entry.getValue().size());
+      for (Map<String, String> stream : entry.getValue()) {
+        streams.add(new LinkedHashMap<String, String>(stream));
+      }
+      copy.put(entry.getKey(), streams);
+    }
+    return copy;
+  }
+
+  /**
+   * one entry in the cache (stored via java serialization)
+   */
+  private static class CacheEntry implements Serializable {
+    private static final long                          serialVersionUID = 1L;
+
+    private long                                       size;
+    private long                                       lastModified;
+    private Map<StreamKind, List<Map<String, String>>> snapshot;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.h2.mvstore.MVMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.entities.MediaEntity;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * The class ParallelEntityLoader. Used to decode all entities of a MVMap in parallel (fork/join). The key space is split into chunks, every chunk
+ * is decoded independently and the results are joined in the order of the keys. Besides media entities, also projections of them (e.g. the movie
+ * summaries) can be loaded
+ *
+ * @author Manuel Laggner
+ */
+public class ParallelEntityLoader<T> extends RecursiveTask<List<T>> {
+  private static final long   serialVersionUID = 4128932372659165512L;
+  private static final Logger LOGGER           = LoggerFactory.getLogger(ParallelEntityLoader.class);
+  private static final int    CHUNK_SIZE       = 250;
+
+  private final MVMap<UUID, Object> map;
+  private final List<UUID>          keys;
+  private final ObjectReader        reader;
+  private final int                 from;
+  private final int                 to;
+
+  private ParallelEntityLoader(MVMap<UUID, Object> map, List<UUID> keys, ObjectReader reader, int from, int to) {
+    this.map = map;
+    this.keys = keys;
+    this.reader = reader;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * decode all entities of the given map in parallel
+   *
+   * @param map
+   *          the map holding the encoded entities
+   * @param reader
+   *          the object reader for the entity type
+   * @return a list of all decodable entities (in the order of the keys)
+   */
+  public static <T> List<T> load(MVMap<UUID, Object> map, ObjectReader reader) {
+    List<UUID> keys = new ArrayList<UUID>(map.keyList());
+    if (keys.size() <= CHUNK_SIZE) {
+      // not worth to fork
+      return new ParallelEntityLoader<T>(map, keys, reader, 0, keys.size()).compute();
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    try {
+      return pool.invoke(new ParallelEntityLoader<T>(map, keys, reader, 0, keys.size()));
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  @Override
+  protected List<T> compute() {
+    if (to - from > CHUNK_SIZE) {
+      // split
+      int middle = from + (to - from) / 2;
+      ParallelEntityLoader<T> left = new ParallelEntityLoader<T>(map, keys, reader, from, middle);
+      ParallelEntityLoader<T> right = new ParallelEntityLoader<T>(map, keys, reader, middle, to);
+      right.fork();
+      List<T> result = left.compute();
+      result.addAll(right.join());
+      return result;
+    }
+
+    // decode this chunk
+    List<T> result = new ArrayList<T>(to - from);
+    for (int i = from; i < to; i++) {
+      UUID uuid = keys.get(i);
+      try {
+        T entity = EntityCodec.decode(reader, map.get(uuid));
+        if (entity instanceof MediaEntity) {
+          ((MediaEntity) entity).setDbId(uuid);
+          // freshly loaded = in sync with the database
+          ((MediaEntity) entity).clearDirty();
+        }
+        result.add(entity);
+      }
+      catch (Exception e) {
+        LOGGER.warn("problem decoding entity " + map.getName() + "/" + uuid + ": ", e);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class WriteBehindQueue. Collects the pending writes (persist/remove) of the entities of one MVStore and executes them in batches on an own
+ * thread. Repeated writes of the same entity (same db id) within one batch are coalesced - only the last one is executed. Every batch is committed
+ * once.<br>
+ * On shutdown all pending writes are flushed before the store may be closed; writes which collide with a modification of the entity are retried
+ * directly then (a bounded number of times).
+ *
+ * @author Manuel Laggner
+ */
+public class WriteBehindQueue {
+  private static final Logger            LOGGER           = LoggerFactory.getLogger(WriteBehindQueue.class);
+  private static final int               SHUTDOWN_RETRIES = 5;
+
+  private final String                   name;
+  private final MVStore                  mvStore;
+  private final long                     delay;
+  private final ScheduledExecutorService executor;
+  private final Object                   writeLock        = new Object();
+  private final Runnable                 flushTask;
+
+  private Map<UUID, Callable<Void>>      pending          = new LinkedHashMap<UUID, Callable<Void>>();
+  private boolean                        scheduled        = false;
+  private boolean                        shutdown         = false;
+
+  // metrics
+  private int                            maxQueueDepth;
+  private long                           enqueuedCount;
+  private long                           coalescedCount;
+  private long                           writtenCount;
+  private long                           failedCount;
+  private long                           batchCount;
+  private long                           lastCommitLatency;
+  private long                           maxCommitLatency;
+  private long                           totalCommitLatency;
+
+  /**
+   * create a new write behind queue for the given store
+   *
+   * @param name
+   *          the name of the queue (for logging/the thread name)
+   * @param mvStore
+   *          the store to commit after every batch
+   * @param delay
+   *          the delay (in ms) to wait for further writes before a batch gets written
+   */
+  public WriteBehindQueue(final String name, MVStore mvStore, long delay) {
+    this.name = name;
+    this.mvStore = mvStore;
+    this.delay = delay;
+    this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "tmm-db-" + name);
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    this.flushTask = new Runnable() {
+      @Override
+      public void run() {
+        flush();
+      }
+    };
+  }
+
+  /**
+   * enqueue a write for the entity with the given db id. A pending write for the same entity will be replaced
+   *
+   * @param id
+   *          the db id of the entity
+   * @param write
+   *          the write to execute (persist or remove)
+   */
+  public void enqueue(UUID id, Callable<Void> write) {
+    synchronized (this) {
+      if (!shutdown) {
+        enqueuedCount++;
+        if (pending.put(id, write) != null) {
+          coalescedCount++;
+        }
+        if (pending.size() > maxQueueDepth) {
+          maxQueueDepth = pending.size();
+        }
+        if (!scheduled) {
+          scheduled = true;
+          executor.schedule(flushTask, delay, TimeUnit.MILLISECONDS);
+        }
+        return;
+      }
+    }
+
+    // queue already shut down - write it directly
+    execute(id, write);
+  }
+
+  /**
+   * write all pending entities and commit the store
+   */
+  public void flush() {
+    synchronized (writeLock) {
+      Map<UUID, Callable<Void>> batch;
+      synchronized (this) {
+        batch = pending;
+        pending = new LinkedHashMap<UUID, Callable<Void>>();
+        scheduled = false;
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      long start = System.currentTimeMillis();
+      int written = 0;
+      for (Entry<UUID, Callable<Void>> entry : batch.entrySet()) {
+        if (execute(entry.getKey(), entry.getValue())) {
+          written++;
+        }
+      }
+      long writeTime = System.currentTimeMillis() - start;
+
+      start = System.currentTimeMillis();
+      try {
+        mvStore.commit();
+      }
+      catch (Exception e) {
+        LOGGER.error("could not commit " + name + ": " + e.getMessage());
+      }
+      long commitTime = System.currentTimeMillis() - start;
+
+      synchronized (this) {
+        batchCount++;
+        writtenCount += written;
+        lastCommitLatency = commitTime;
+        totalCommitLatency += commitTime;
+        if (commitTime > maxCommitLatency) {
+          maxCommitLatency = commitTime;
+        }
+      }
+      LOGGER.debug(name + ": wrote " + written + "/" + batch.size() + " entities in " + writeTime + " ms, commit took " + commitTime + " ms");
+    }
+  }
+
+  /**
+   * stop the queue and flush all pending writes. Writes enqueued after shutdown are executed directly
+   */
+  public void shutdown() {
+    synchronized (this) {
+      shutdown = true;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+    LOGGER.info(getStatistics());
+  }
+
+  private boolean execute(UUID id, Callable<Void> write) {
+    for (int attempt = 1;; attempt++) {
+      try {
+        write.call();
+        return true;
+      }
+      catch (ConcurrentModificationException e) {
+        // the entity has been modified while writing - try it again with the next batch
+        synchronized (this) {
+          if (!shutdown) {
+            if (!pending.containsKey(id)) {
+              pending.put(id, write);
+              if (!scheduled) {
+                scheduled = true;
+                executor.schedule(flushTask, delay, TimeUnit.MILLISECONDS);
+              }
+            }
+            return false;
+          }
+        }
+        // there is no next batch while shutting down - try it again right now
+        if (attempt >= SHUTDOWN_RETRIES) {
+          LOGGER.warn(name + ": could not write entity " + id + " - it has been modified while writing " + attempt + " times");
+          break;
+        }
+      }
+      catch (Exception e) {
+        LOGGER.warn(name + ": could not write entity " + id + ": " + e.getMessage());
+        break;
+      }
+    }
+    synchronized (this) {
+      failedCount++;
+    }
+    return false;
+  }
+
+  /**
+   * the amount of pending writes
+   *
+   * @return the queue depth
+   */
+  public synchronized int getQueueDepth() {
+    return pending.size();
+  }
+
+  public synchronized int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  public synchronized long getEnqueuedCount() {
+    return enqueuedCount;
+  }
+
+  public synchronized long getCoalescedCount() {
+    return coalescedCount;
+  }
+
+  public synchronized long getWrittenCount() {
+    return writtenCount;
+  }
+
+  public synchronized long getFailedCount() {
+    return failedCount;
+  }
+
+  public synchronized long getBatchCount() {
+    return batchCount;
+  }
+
+  public synchronized long getLastCommitLatency() {
+    return lastCommitLatency;
+  }
+
+  public synchronized long getMaxCommitLatency() {
+    return maxCommitLatency;
+  }
+
+  public synchronized long getAverageCommitLatency() {
+    return batchCount == 0 ? 0 : totalCommitLatency / batchCount;
+  }
+
+  /**
+   * a human readable summary of the metrics
+   *
+   * @return the statistics as string
+   */
+  public synchronized String getStatistics() {
+    return name + ": enqueued " + enqueuedCount + ", coalesced " + coalescedCount + ", written " + writtenCount + ", failed " + failedCount
+        + ", batches " + batchCount + ", queue depth " + pending.size() + " (max " + maxQueueDepth + "), commit latency avg "
+        + getAverageCommitLatency() + " ms (max " + maxCommitLatency + " ms)";
+  }
+}
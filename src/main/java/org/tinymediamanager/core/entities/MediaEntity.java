@@ -83,7 +83,6 @@ public abstract class MediaEntity extends AbstractModelObject {
   @JsonProperty
   protected Map<MediaFileType, String> artworkUrlMap     = new HashMap<MediaFileType, String>();
 
-  protected boolean                    duplicate         = false;
   protected ReadWriteLock              readWriteLock     = new ReentrantReadWriteLock();
 
   public MediaEntity() {
@@ -93,6 +92,10 @@ public abstract class MediaEntity extends AbstractModelObject {
    * Initialize after loading from database.
    */
   public void initializeAfterLoading() {
+    // share the paths and symbols of the media files with all other loaded entities
+    for (MediaFile mediaFile : mediaFiles) {
+      mediaFile.compact();
+    }
     sortMediaFiles();
   }
 
@@ -272,6 +275,7 @@ public abstract class MediaEntity extends AbstractModelObject {
       mediaFile = images.get(0);
       mediaFile.setFile(file);
       mediaFile.gatherMediaInformation(true);
+      firePropertyChange(MEDIA_FILES, null, mediaFiles);
     }
     else {
       mediaFile = new MediaFile(file, type);
@@ -332,18 +336,6 @@ public abstract class MediaEntity extends AbstractModelObject {
     return scraped;
   }
 
-  public void setDuplicate() {
-    this.duplicate = true;
-  }
-
-  public void clearDuplicate() {
-    this.duplicate = false;
-  }
-
-  public boolean isDuplicate() {
-    return this.duplicate;
-  }
-
   public void setId(String key, Object value) {
     ids.put(key, value);
     firePropertyChange(key, null, value);
@@ -573,6 +565,8 @@ public abstract class MediaEntity extends AbstractModelObject {
       mediaFiles.remove(i);
     }
     readWriteLock.writeLock().unlock();
+    markDirty();
+    firePropertyChange(MEDIA_FILES, null, mediaFiles);
     for (MediaFile mediaFile : changedMediafiles) {
       fireRemoveEventForMediaFile(mediaFile);
     }
@@ -603,6 +597,8 @@ public abstract class MediaEntity extends AbstractModelObject {
       }
     }
     readWriteLock.writeLock().unlock();
+    markDirty();
+    firePropertyChange(MEDIA_FILES, null, mediaFiles);
     for (MediaFile mediaFile : changedMediafiles) {
       fireRemoveEventForMediaFile(mediaFile);
     }
@@ -620,6 +616,8 @@ public abstract class MediaEntity extends AbstractModelObject {
       }
     }
     readWriteLock.writeLock().unlock();
+    markDirty();
+    firePropertyChange(MEDIA_FILES, null, mediaFiles);
     for (MediaFile mediaFile : changedMediafiles) {
       fireRemoveEventForMediaFile(mediaFile);
     }
@@ -632,6 +630,8 @@ public abstract class MediaEntity extends AbstractModelObject {
     for (MediaFile mf : mfs) {
       mf.replacePathForRenamedFolder(oldPath, newPath);
     }
+    // the files have been changed (e.g. for indexes by file)
+    firePropertyChange(MEDIA_FILES, null, mediaFiles);
   }
 
   public void gatherMediaFileInformation(boolean force) {
@@ -659,6 +659,65 @@ public abstract class MediaEntity extends AbstractModelObject {
     firePropertyChange(NEWLY_ADDED, oldValue, newValue);
   }
 
+  /**
+   * Checks if this entity (or one of its media files) has been changed since the last call of clearDirty().
+   * 
+   * @return true if there are unsaved changes
+   */
+  @Override
+  public boolean isDirty() {
+    if (super.isDirty()) {
+      return true;
+    }
+    readWriteLock.readLock().lock();
+    try {
+      for (MediaFile mediaFile : mediaFiles) {
+        if (mediaFile.isDirty()) {
+          return true;
+        }
+      }
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+    return false;
+  }
+
+  @Override
+  public void clearDirty() {
+    super.clearDirty();
+    readWriteLock.readLock().lock();
+    try {
+      for (MediaFile mediaFile : mediaFiles) {
+        mediaFile.clearDirty();
+      }
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * helper for subclasses to check child objects (e.g. actors) which are persisted with this entity
+   */
+  protected static boolean isAnyDirty(List<? extends AbstractModelObject> objects) {
+    for (AbstractModelObject object : new ArrayList<AbstractModelObject>(objects)) {
+      if (object.isDirty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * helper for subclasses to clear the dirty flag of child objects (e.g. actors) which are persisted with this entity
+   */
+  protected static void clearDirty(List<? extends AbstractModelObject> objects) {
+    for (AbstractModelObject object : new ArrayList<AbstractModelObject>(objects)) {
+      object.clearDirty();
+    }
+  }
+
   abstract public void saveToDb();
 
   abstract public void deleteFromDb();
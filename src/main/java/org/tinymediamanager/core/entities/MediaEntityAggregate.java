@@ -0,0 +1,274 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jdesktop.observablecollections.ObservableCollections;
+
+/**
+ * The class MediaEntityAggregate. A reference counted set of all values (e.g. tags or codecs) which are used by a bunch of media entities. Every
+ * value is counted once per entity, so a value disappears as soon as the last entity using it has been removed/changed. The aggregate has to be
+ * maintained by the owner (add/remove and update on changes of the value property).<br>
+ * All modifying methods return whether the set of values has been changed, to be able to fire one (coalesced) event after several modifications.
+ * The values are kept sorted (strings case insensitive); the observable view follows every change of the values.
+ *
+ * @author Manuel Laggner
+ */
+public abstract class MediaEntityAggregate<V, T extends MediaEntity> {
+  private static final Comparator<Object>          VALUE_ORDER  = new ValueComparator();
+
+  private final String                             name;
+  private final ConcurrentNavigableMap<V, Integer> counts       = new ConcurrentSkipListMap<V, Integer>(VALUE_ORDER);
+  private final List<V>                            view         = ObservableCollections.observableList(new CopyOnWriteArrayList<V>());
+  private final Map<T, Set<V>>                     entityValues = new IdentityHashMap<T, Set<V>>();
+
+  /**
+   * create a new aggregate
+   *
+   * @param name
+   *          the name of the aggregate (used as the property name for change events)
+   */
+  public MediaEntityAggregate(String name) {
+    this.name = name;
+  }
+
+  /**
+   * get the values of the given entity for this aggregate
+   *
+   * @param entity
+   *          the entity
+   * @return all values of the entity (null and duplicates are ignored)
+   */
+  protected abstract Collection<V> getValues(T entity);
+
+  /**
+   * checks whether a change of the given property may change the values of the entity
+   *
+   * @param propertyName
+   *          the name of the changed property
+   * @return true if the entity has to be updated in this aggregate
+   */
+  public abstract boolean isValueProperty(String propertyName);
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * add (or update) the given entity
+   *
+   * @param entity
+   *          the entity
+   * @return true if the set of values has been changed
+   */
+  public synchronized boolean add(T entity) {
+    if (entityValues.containsKey(entity)) {
+      return update(entity);
+    }
+    Set<V> values = collectValues(entity);
+    entityValues.put(entity, values);
+    return increment(values);
+  }
+
+  public synchronized boolean addAll(Collection<? extends T> entities) {
+    boolean changed = false;
+    for (T entity : entities) {
+      changed |= add(entity);
+    }
+    return changed;
+  }
+
+  /**
+   * remove the given entity
+   *
+   * @param entity
+   *          the entity
+   * @return true if the set of values has been changed
+   */
+  public synchronized boolean remove(T entity) {
+    Set<V> values = entityValues.remove(entity);
+    if (values == null) {
+      return false;
+    }
+    return decrement(values);
+  }
+
+  public synchronized boolean removeAll(Collection<? extends T> entities) {
+    boolean changed = false;
+    for (T entity : entities) {
+      changed |= remove(entity);
+    }
+    return changed;
+  }
+
+  /**
+   * re-count the values of the given entity (after a change of the value property)
+   *
+   * @param entity
+   *          the entity
+   * @return true if the set of values has been changed
+   */
+  public synchronized boolean update(T entity) {
+    Set<V> oldValues = entityValues.get(entity);
+    if (oldValues == null) {
+      return false;
+    }
+    Set<V> newValues = collectValues(entity);
+    if (oldValues.equals(newValues)) {
+      return false;
+    }
+
+    entityValues.put(entity, newValues);
+    Set<V> added = new HashSet<V>(newValues);
+    added.removeAll(oldValues);
+    Set<V> removed = new HashSet<V>(oldValues);
+    removed.removeAll(newValues);
+
+    boolean changed = increment(added);
+    changed |= decrement(removed);
+    return changed;
+  }
+
+  public synchronized void clear() {
+    counts.clear();
+    entityValues.clear();
+    view.clear();
+  }
+
+  /**
+   * get all values which are used by at least one entity
+   *
+   * @return a sorted snapshot of all values (never null)
+   */
+  public List<V> getValues() {
+    return new ArrayList<V>(counts.keySet());
+  }
+
+  /**
+   * get an observable view of all values which are used by at least one entity; the view is updated (sorted) on every change of the values
+   *
+   * @return the observable list of all values
+   */
+  public List<V> getView() {
+    return view;
+  }
+
+  public boolean contains(V value) {
+    return value != null && counts.containsKey(value);
+  }
+
+  /**
+   * get the amount of entities using the given value
+   *
+   * @param value
+   *          the value
+   * @return the amount of entities
+   */
+  public int getCount(V value) {
+    if (value == null) {
+      return 0;
+    }
+    Integer count = counts.get(value);
+    return count == null ? 0 : count;
+  }
+
+  public int size() {
+    return counts.size();
+  }
+
+  private Set<V> collectValues(T entity) {
+    Collection<V> values = getValues(entity);
+    if (values == null || values.isEmpty()) {
+      return Collections.emptySet();
+    }
+    Set<V> set = new HashSet<V>(values.size());
+    for (V value : values) {
+      if (value != null) {
+        set.add(value);
+      }
+    }
+    return set;
+  }
+
+  private boolean increment(Set<V> values) {
+    boolean changed = false;
+    for (V value : values) {
+      Integer count = counts.get(value);
+      if (count == null) {
+        counts.put(value, 1);
+        view.add(counts.headMap(value).size(), value);
+        changed = true;
+      }
+      else {
+        counts.put(value, count + 1);
+      }
+    }
+    return changed;
+  }
+
+  private boolean decrement(Set<V> values) {
+    boolean changed = false;
+    for (V value : values) {
+      Integer count = counts.get(value);
+      if (count == null) {
+        continue;
+      }
+      if (count <= 1) {
+        counts.remove(value);
+        view.remove(value);
+        changed = true;
+      }
+      else {
+        counts.put(value, count - 1);
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * the order of the values: strings case insensitive, other comparable values (e.g. enums) in their natural order
+   */
+  private static class ValueComparator implements Comparator<Object> {
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int compare(Object o1, Object o2) {
+      if (o1 instanceof String && o2 instanceof String) {
+        int result = ((String) o1).compareToIgnoreCase((String) o2);
+        return result != 0 ? result : ((String) o1).compareTo((String) o2);
+      }
+      if (o1 instanceof Enum && o2 instanceof Enum && ((Enum) o1).getDeclaringClass() == ((Enum) o2).getDeclaringClass()) {
+        return ((Enum) o1).compareTo((Enum) o2);
+      }
+      if (o1 instanceof Comparable && o1.getClass() == o2.getClass()) {
+        return ((Comparable) o1).compareTo(o2);
+      }
+      int result = o1.toString().compareTo(o2.toString());
+      return result != 0 ? result : o1.getClass().getName().compareTo(o2.getClass().getName());
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class MediaEntityIndex. A hash index for media entities by one of their attributes (e.g. path or an id). The index has to be maintained by
+ * the owner (add/remove and update on changes of the key property).<br>
+ * Several entities may share the same key - they are returned in the order they have been added.
+ *
+ * @author Manuel Laggner
+ */
+public abstract class MediaEntityIndex<K, T extends MediaEntity> {
+  private final Map<K, List<T>> index = new HashMap<K, List<T>>();
+  private final Map<T, K>       keys  = new IdentityHashMap<T, K>();
+
+  /**
+   * get the key of the given entity for this index
+   *
+   * @param entity
+   *          the entity
+   * @return the key or null if the entity should not be indexed
+   */
+  protected abstract K getKey(T entity);
+
+  /**
+   * checks whether a change of the given property may change the key of the entity
+   *
+   * @param propertyName
+   *          the name of the changed property
+   * @return true if the entity has to be re-indexed
+   */
+  public abstract boolean isKeyProperty(String propertyName);
+
+  public synchronized void add(T entity) {
+    if (keys.containsKey(entity)) {
+      return;
+    }
+    K key = getKey(entity);
+    keys.put(entity, key);
+    addToIndex(key, entity);
+  }
+
+  public synchronized void addAll(Collection<T> entities) {
+    for (T entity : entities) {
+      add(entity);
+    }
+  }
+
+  public synchronized void remove(T entity) {
+    if (!keys.containsKey(entity)) {
+      return;
+    }
+    K key = keys.remove(entity);
+    removeFromIndex(key, entity);
+  }
+
+  /**
+   * re-index the given entity (after a change of the key property)
+   *
+   * @param entity
+   *          the entity
+   */
+  public synchronized void update(T entity) {
+    if (!keys.containsKey(entity)) {
+      return;
+    }
+    K oldKey = keys.get(entity);
+    K newKey = getKey(entity);
+    if (oldKey == null ? newKey == null : oldKey.equals(newKey)) {
+      return;
+    }
+    removeFromIndex(oldKey, entity);
+    keys.put(entity, newKey);
+    addToIndex(newKey, entity);
+  }
+
+  public synchronized void clear() {
+    index.clear();
+    keys.clear();
+  }
+
+  /**
+   * get all entities with the given key
+   *
+   * @param key
+   *          the key
+   * @return a list of all entities with this key (never null)
+   */
+  public synchronized List<T> get(K key) {
+    List<T> entities = index.get(key);
+    if (entities == null) {
+      return new ArrayList<T>(0);
+    }
+    return new ArrayList<T>(entities);
+  }
+
+  /**
+   * get the first entity with the given key
+   *
+   * @param key
+   *          the key
+   * @return the first entity with this key or null
+   */
+  public synchronized T getFirst(K key) {
+    List<T> entities = index.get(key);
+    if (entities == null || entities.isEmpty()) {
+      return null;
+    }
+    return entities.get(0);
+  }
+
+  /**
+   * checks whether there are other entities with the same key as the given entity
+   *
+   * @param entity
+   *          the entity
+   * @return true if the key of the entity is shared with at least one other entity
+   */
+  public synchronized boolean hasDuplicates(T entity) {
+    K key = keys.get(entity);
+    if (key == null) {
+      return false;
+    }
+    List<T> entities = index.get(key);
+    return entities != null && entities.size() > 1;
+  }
+
+  /**
+   * get all entities which share their key with at least one other entity
+   *
+   * @return a list of all duplicates (never null)
+   */
+  public synchronized List<T> getDuplicates() {
+    List<T> duplicates = new ArrayList<T>();
+    for (List<T> entities : index.values()) {
+      if (entities.size() > 1) {
+        duplicates.addAll(entities);
+      }
+    }
+    return duplicates;
+  }
+
+  private void addToIndex(K key, T entity) {
+    if (key == null) {
+      return;
+    }
+    List<T> entities = index.get(key);
+    if (entities == null) {
+      entities = new ArrayList<T>(1);
+      index.put(key, entities);
+    }
+    entities.add(entity);
+  }
+
+  private void removeFromIndex(K key, T entity) {
+    if (key == null) {
+      return;
+    }
+    List<T> entities = index.get(key);
+    if (entities == null) {
+      return;
+    }
+    for (int i = entities.size() - 1; i >= 0; i--) {
+      if (entities.get(i) == entity) {
+        entities.remove(i);
+      }
+    }
+    if (entities.isEmpty()) {
+      index.remove(key);
+    }
+  }
+}
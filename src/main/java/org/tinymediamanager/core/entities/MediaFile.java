@@ -24,11 +24,15 @@ import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -45,6 +49,7 @@ import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.AbstractModelObject;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.database.MediaInfoCache;
 import org.tinymediamanager.scraper.util.StrgUtils;
 import org.tinymediamanager.thirdparty.MediaInfo;
 import org.tinymediamanager.thirdparty.MediaInfo.StreamKind;
@@ -64,6 +69,12 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   private static final String                        FILESIZE           = "filesize";
   private static final String                        FILESIZE_IN_MB     = "filesizeInMegabytes";
 
+  // all MediaInfo keys we evaluate; only these are stored in the MediaInfo cache
+  private static final Set<String>                   MI_KEYS            = new HashSet<String>(Arrays.asList("FileSize",
+      "File_Modified_Date_Local", "Codec/Extensions", "Format", "Format_Profile", "CodecID/Hint", "Width", "Height", "ScanType", "Duration",
+      "OverallBitRate", "BitRate", "Channel(s)_Original", "Channel(s)", "Language", "Language/String", "Forced", "AudioCount", "TextCount",
+      "StreamCount", "MultiView_Count", "MultiView_Layout"));
+
   private static Pattern                             moviesetPattern    = Pattern.compile("(?i)(movieset-poster|movieset-fanart)\\..{2,4}");
   private static Pattern                             posterPattern      = Pattern
       .compile("(?i)(.*-poster|poster|folder|movie|.*-cover|cover)\\..{2,4}");
@@ -139,14 +150,15 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    * "clones" a new media file.
    */
   public MediaFile(MediaFile clone) {
-    this.path = new String(clone.path);
-    this.filename = new String(clone.filename);
+    // strings are immutable; share the (pooled) instances of the original
+    this.path = clone.path;
+    this.filename = clone.filename;
     this.filesize = clone.filesize;
     this.filedate = clone.filedate;
-    this.videoCodec = new String(clone.videoCodec);
-    this.containerFormat = new String(clone.containerFormat);
-    this.exactVideoFormat = new String(clone.exactVideoFormat);
-    this.video3DFormat = new String(clone.video3DFormat);
+    this.videoCodec = clone.videoCodec;
+    this.containerFormat = clone.containerFormat;
+    this.exactVideoFormat = clone.exactVideoFormat;
+    this.video3DFormat = clone.video3DFormat;
     this.videoHeight = clone.videoHeight;
     this.videoWidth = clone.videoWidth;
     this.overallBitRate = clone.overallBitRate;
@@ -185,7 +197,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    *          the MediaFileType
    */
   public MediaFile(File f, MediaFileType type) {
-    this.path = f.getParent(); // just path w/o filename
+    this.path = StringPool.PATHS.get(f.getParent()); // just path w/o filename
     this.filename = f.getName();
     this.file = f;
     if (type == null) {
@@ -199,10 +211,10 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
       // try to parse from parent directory
       this.stacking = Utils.getStackingNumber(FilenameUtils.getBaseName(getPath()));
     }
-    this.stackingMarker = Utils.getStackingMarker(f.getName());
+    this.stackingMarker = StringPool.SYMBOLS.get(Utils.getStackingMarker(f.getName()));
     if (this.stackingMarker.isEmpty()) {
       // try to parse from parent directory
-      this.stackingMarker = Utils.getFolderStackingMarker(FilenameUtils.getBaseName(getPath()));
+      this.stackingMarker = StringPool.SYMBOLS.get(Utils.getFolderStackingMarker(FilenameUtils.getBaseName(getPath())));
     }
 
     if (this.type == MediaFileType.SUBTITLE) {
@@ -262,6 +274,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     sub.setCodec(getExtension());
     subtitles.clear();
     subtitles.add(sub);
+    markDirty();
   }
 
   /**
@@ -493,7 +506,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setPath(String newValue) {
     String oldValue = this.path;
-    this.path = newValue;
+    this.path = StringPool.PATHS.get(newValue);
     invalidateFileHandle();
     firePropertyChange(PATH, oldValue, newValue);
   }
@@ -588,6 +601,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
 
   public void setType(MediaFileType type) {
     this.type = type;
+    markDirty();
   }
 
   public int getStacking() {
@@ -596,6 +610,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
 
   public void setStacking(int stacking) {
     this.stacking = stacking;
+    markDirty();
   }
 
   public String getStackingMarker() {
@@ -603,7 +618,8 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   }
 
   public void setStackingMarker(String stackingMarker) {
-    this.stackingMarker = stackingMarker;
+    this.stackingMarker = StringPool.SYMBOLS.get(stackingMarker);
+    markDirty();
   }
 
   /**
@@ -634,11 +650,13 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
 
   public void setSubtitles(List<MediaFileSubtitle> subtitles) {
     this.subtitles = subtitles;
+    markDirty();
   }
 
   public void addSubtitle(MediaFileSubtitle subtitle) {
     if (!this.subtitles.contains(subtitle)) {
       this.subtitles.add(subtitle);
+      markDirty();
     }
   }
 
@@ -647,6 +665,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void clearAllSubtitles() {
     this.subtitles.clear();
+    markDirty();
   }
 
   public boolean hasSubtitles() {
@@ -704,6 +723,32 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     miSnapshot = null;
   }
 
+  /**
+   * get the part of the MediaInfo snapshot we evaluate (for the MediaInfo cache)
+   * 
+   * @return the reduced snapshot
+   */
+  private Map<StreamKind, List<Map<String, String>>> getCacheableSnapshot() {
+    Map<StreamKind, List<Map<String, String>>> snapshot = new EnumMap<StreamKind, List<Map<String, String>>>(StreamKind.class);
+    if (miSnapshot == null) {
+      return snapshot;
+    }
+    for (Entry<StreamKind, List<Map<String, String>>> entry : miSnapshot.entrySet()) {
+      List<Map<String, String>> streams = new ArrayList<Map<String, String>>(entry.getValue().size());
+      for (Map<String, String> stream : entry.getValue()) {
+        Map<String, String> info = new LinkedHashMap<String, String>();
+        for (Entry<String, String> value : stream.entrySet()) {
+          if (MI_KEYS.contains(value.getKey())) {
+            info.put(value.getKey(), value.getValue());
+          }
+        }
+        streams.add(info);
+      }
+      snapshot.put(entry.getKey(), streams);
+    }
+    return snapshot;
+  }
+
   /**
    * Gets the real mediainfo values.
    * 
@@ -781,7 +826,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     }
 
     String oldValue = this.videoCodec;
-    this.videoCodec = newValue;
+    this.videoCodec = StringPool.SYMBOLS.get(newValue);
     firePropertyChange("videoCodec", oldValue, newValue);
   }
 
@@ -854,7 +899,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setContainerFormat(String newValue) {
     String oldValue = this.containerFormat;
-    this.containerFormat = newValue;
+    this.containerFormat = StringPool.SYMBOLS.get(newValue);
     firePropertyChange("containerFormat", oldValue, newValue);
   }
 
@@ -913,7 +958,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setExactVideoFormat(String newValue) {
     String oldValue = this.exactVideoFormat;
-    this.exactVideoFormat = newValue;
+    this.exactVideoFormat = StringPool.SYMBOLS.get(newValue);
     firePropertyChange("exactVideoFormat", oldValue, newValue);
   }
 
@@ -1129,6 +1174,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
 
   public void setAudioStreams(List<MediaFileAudioStream> audioStreams) {
     this.audioStreams = audioStreams;
+    markDirty();
   }
 
   public String getCombinedCodecs() {
@@ -1159,7 +1205,34 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    * @param video3DFormat
    */
   public void setVideo3DFormat(String video3DFormat) {
-    this.video3DFormat = video3DFormat;
+    this.video3DFormat = StringPool.SYMBOLS.get(video3DFormat);
+    markDirty();
+  }
+
+  /**
+   * reduce the memory footprint of a media file which has been read from the database: the path and all symbols (codecs, formats, languages) are
+   * replaced by the shared instances of the string pools, and the stream lists are trimmed to their size
+   */
+  void compact() {
+    path = StringPool.PATHS.get(path);
+    videoCodec = StringPool.SYMBOLS.get(videoCodec);
+    containerFormat = StringPool.SYMBOLS.get(containerFormat);
+    exactVideoFormat = StringPool.SYMBOLS.get(exactVideoFormat);
+    video3DFormat = StringPool.SYMBOLS.get(video3DFormat);
+    stackingMarker = StringPool.SYMBOLS.get(stackingMarker);
+
+    for (MediaFileAudioStream audioStream : audioStreams) {
+      audioStream.compact();
+    }
+    if (audioStreams instanceof ArrayList) {
+      ((ArrayList<MediaFileAudioStream>) audioStreams).trimToSize();
+    }
+    for (MediaFileSubtitle subtitle : subtitles) {
+      subtitle.compact();
+    }
+    if (subtitles instanceof ArrayList) {
+      ((ArrayList<MediaFileSubtitle>) subtitles).trimToSize();
+    }
   }
 
   /**
@@ -1178,6 +1251,17 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    *          forces the execution, will not stop on already imported files
    */
   public void gatherMediaInformation(boolean force) {
+    // all the gathered values are announced at once after parsing
+    beginUpdate();
+    try {
+      readMediaInformation(force);
+    }
+    finally {
+      endUpdate();
+    }
+  }
+
+  private void readMediaInformation(boolean force) {
     // check for supported filetype
     if (!isValidMediainfoFormat()) {
       // okay, we have no valid MI file, be sure it will not be triggered any more
@@ -1194,7 +1278,12 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
 
     LOGGER.debug("start MediaInfo for " + this.getFile().getAbsolutePath());
 
-    mediaInfo = getMediaInfo();
+    // try the cache first - reading the file headers is expensive (especially on network shares)
+    miSnapshot = MediaInfoCache.getInstance().get(getFile());
+    boolean cached = miSnapshot != null;
+    if (!cached) {
+      mediaInfo = getMediaInfo();
+    }
     try {
       setFilesize(Long.parseLong(getMediaInfo(StreamKind.General, 0, "FileSize")));
     }
@@ -1212,6 +1301,10 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
       return;
     }
 
+    if (!cached) {
+      MediaInfoCache.getInstance().put(getFile(), getCacheableSnapshot());
+    }
+
     // parse lastmodified
     try {
       DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -1519,6 +1612,8 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     }
 
     LOGGER.trace("extracted MI");
+    // streams and filedate are set without events
+    markDirty();
     // close mediainfo lib
     closeMediaInfo();
     LOGGER.trace("closed MI");
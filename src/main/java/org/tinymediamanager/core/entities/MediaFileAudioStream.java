@@ -82,11 +82,11 @@ public class MediaFileAudioStream extends AbstractModelObject {
   }
 
   public void setCodec(String codec) {
-    this.codec = codec;
+    this.codec = StringPool.SYMBOLS.get(codec);
   }
 
   public void setChannels(String channels) {
-    this.channels = channels;
+    this.channels = StringPool.SYMBOLS.get(channels);
   }
 
   public void setBitrate(int bitrate) {
@@ -94,6 +94,15 @@ public class MediaFileAudioStream extends AbstractModelObject {
   }
 
   public void setLanguage(String language) {
-    this.language = language;
+    this.language = StringPool.SYMBOLS.get(language);
+  }
+
+  /**
+   * replace the strings read from the database with the pooled instances
+   */
+  void compact() {
+    codec = StringPool.SYMBOLS.get(codec);
+    channels = StringPool.SYMBOLS.get(channels);
+    language = StringPool.SYMBOLS.get(language);
   }
 }
@@ -40,7 +40,7 @@ public class MediaFileSubtitle extends AbstractModelObject implements Comparable
   }
 
   public void setCodec(String codec) {
-    this.codec = codec;
+    this.codec = StringPool.SYMBOLS.get(codec);
   }
 
   public String getLanguage() {
@@ -48,7 +48,7 @@ public class MediaFileSubtitle extends AbstractModelObject implements Comparable
   }
 
   public void setLanguage(String language) {
-    this.language = language;
+    this.language = StringPool.SYMBOLS.get(language);
   }
 
   public boolean isForced() {
@@ -59,6 +59,14 @@ public class MediaFileSubtitle extends AbstractModelObject implements Comparable
     this.forced = forced;
   }
 
+  /**
+   * replace the strings read from the database with the pooled instances
+   */
+  void compact() {
+    codec = StringPool.SYMBOLS.get(codec);
+    language = StringPool.SYMBOLS.get(language);
+  }
+
   /*
    * (non-Javadoc)
    * 
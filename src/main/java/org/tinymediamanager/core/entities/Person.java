@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The class Person. The immutable, shared part of a cast/crew member (name and the thumb URL from the provider). There is only one instance per
+ * person which is used by all movies/TV shows/episodes; get it via the PersonRegistry.
+ *
+ * @author Manuel Laggner
+ */
+public final class Person {
+  private final String name;
+  private final String thumbUrl;
+
+  Person(String name, String thumbUrl) {
+    this.name = name == null ? "" : name;
+    this.thumbUrl = thumbUrl == null ? "" : thumbUrl;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getThumbUrl() {
+    return thumbUrl;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Person)) {
+      return false;
+    }
+    Person other = (Person) obj;
+    return StringUtils.equals(name, other.name) && StringUtils.equals(thumbUrl, other.thumbUrl);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode() * 31 + thumbUrl.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The class PersonRegistry. The flyweight factory for all persons (actors, guests, producers) of movies, TV shows and episodes: the same actor in 60
+ * episodes of a TV show is held only once in memory. The registry is filled while loading/scraping (every actor resolves its person here) and
+ * forgets persons which are not referenced any more.<br>
+ * Since there are much fewer persons than cast entries, a cast search is done once on the persons of the registry and the entities only have to
+ * check if they reference one of the found persons.
+ *
+ * @author Manuel Laggner
+ */
+public class PersonRegistry {
+  private static final PersonRegistry              instance = new PersonRegistry();
+
+  private final Map<Person, WeakReference<Person>> persons  = new WeakHashMap<Person, WeakReference<Person>>();
+  private long                                     modCount = 0;
+
+  // the result of the last search (the filters search the same text for every entity)
+  private String                                   lastSearch;
+  private long                                     lastModCount;
+  private Set<Person>                              lastResult;
+
+  private PersonRegistry() {
+  }
+
+  public static PersonRegistry getInstance() {
+    return instance;
+  }
+
+  /**
+   * get the shared person for the given data
+   *
+   * @param name
+   *          the name of the person
+   * @param thumbUrl
+   *          the thumb URL of the person
+   * @return the shared instance
+   */
+  public synchronized Person getPerson(String name, String thumbUrl) {
+    Person person = new Person(name, thumbUrl);
+    WeakReference<Person> ref = persons.get(person);
+    Person shared = ref == null ? null : ref.get();
+    if (shared == null) {
+      persons.put(person, new WeakReference<Person>(person));
+      modCount++;
+      shared = person;
+    }
+    return shared;
+  }
+
+  /**
+   * find all persons whose name contains the given text (case insensitive)
+   *
+   * @param text
+   *          the text to search for
+   * @return a set (by identity) of all matching persons; this set must not be modified
+   */
+  public synchronized Set<Person> findByName(String text) {
+    if (StringUtils.isEmpty(text)) {
+      return Collections.emptySet();
+    }
+    if (text.equals(lastSearch) && modCount == lastModCount) {
+      return lastResult;
+    }
+
+    Pattern pattern = Pattern.compile("(?i)" + Pattern.quote(text));
+    Set<Person> result = Collections.newSetFromMap(new IdentityHashMap<Person, Boolean>());
+    for (Person person : persons.keySet()) {
+      if (person != null && pattern.matcher(person.getName()).find()) {
+        result.add(person);
+      }
+    }
+
+    lastSearch = text;
+    lastModCount = modCount;
+    lastResult = Collections.unmodifiableSet(result);
+    return lastResult;
+  }
+
+  /**
+   * the amount of (referenced) persons
+   *
+   * @return the size of the registry
+   */
+  public synchronized int size() {
+    return persons.size();
+  }
+}
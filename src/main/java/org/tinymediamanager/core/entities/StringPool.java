@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The class StringPool. Deduplicates the strings which are held by the media files: every loaded/scanned media file got its own instance of the
+ * directory path and of values like the codec or the container format, although there are only a few thousand directories and a few dozen codecs
+ * in a library with hundreds of thousands of files.
+ * <ul>
+ * <li>PATHS is the shared path table. The entries are held weakly, so paths of removed/renamed files disappear from the table</li>
+ * <li>SYMBOLS is the symbol table for codecs, formats, languages and the like. This vocabulary is tiny, so the entries are held strongly; too long
+ * values and values beyond the capacity are not pooled (they are rather garbage than vocabulary)</li>
+ * </ul>
+ *
+ * @author Manuel Laggner
+ */
+public abstract class StringPool {
+  public static final StringPool PATHS   = new WeakStringPool();
+  public static final StringPool SYMBOLS = new SymbolPool(64, 10000);
+
+  /**
+   * get the pooled instance of the given string
+   *
+   * @param value
+   *          the string
+   * @return the shared instance which is equal to the value (or the value itself if it is not pooled)
+   */
+  public abstract String get(String value);
+
+  /**
+   * the amount of pooled strings
+   *
+   * @return the size of the pool
+   */
+  public abstract int size();
+
+  /**
+   * the shared path table
+   */
+  private static class WeakStringPool extends StringPool {
+    private final Map<String, WeakReference<String>> pool = new WeakHashMap<String, WeakReference<String>>();
+
+    @Override
+    public synchronized String get(String value) {
+      if (value == null || value.isEmpty()) {
+        return value;
+      }
+      WeakReference<String> ref = pool.get(value);
+      String pooled = ref == null ? null : ref.get();
+      if (pooled == null) {
+        pool.put(value, new WeakReference<String>(value));
+        pooled = value;
+      }
+      return pooled;
+    }
+
+    @Override
+    public synchronized int size() {
+      return pool.size();
+    }
+  }
+
+  /**
+   * the symbol table
+   */
+  private static class SymbolPool extends StringPool {
+    private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<String, String>();
+    private final int                           maxLength;
+    private final int                           capacity;
+
+    private SymbolPool(int maxLength, int capacity) {
+      this.maxLength = maxLength;
+      this.capacity = capacity;
+    }
+
+    @Override
+    public String get(String value) {
+      if (value == null || value.isEmpty() || value.length() > maxLength) {
+        return value;
+      }
+      String pooled = pool.get(value);
+      if (pooled != null) {
+        return pooled;
+      }
+      if (pool.size() >= capacity) {
+        return value;
+      }
+      pooled = pool.putIfAbsent(value, value);
+      return pooled == null ? value : pooled;
+    }
+
+    @Override
+    public int size() {
+      return pool.size();
+    }
+  }
+}
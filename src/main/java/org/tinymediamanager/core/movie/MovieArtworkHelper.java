@@ -26,6 +26,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.tasks.MovieExtraImageFetcher;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.scraper.MediaArtwork;
 import org.tinymediamanager.scraper.MediaArtwork.MediaArtworkType;
@@ -197,7 +198,7 @@ public class MovieArtworkHelper {
 
       // get image in thread
       MediaEntityImageFetcherTask task = new MediaEntityImageFetcherTask(movie, fanartUrl, MediaArtworkType.BACKGROUND, filename, firstImage);
-      TmmTaskManager.getInstance().addImageDownloadTask(task);
+      TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(fanartUrl));
     }
   }
 
@@ -248,7 +249,7 @@ public class MovieArtworkHelper {
 
       // get image in thread
       MediaEntityImageFetcherTask task = new MediaEntityImageFetcherTask(movie, posterUrl, MediaArtworkType.POSTER, filename, firstImage);
-      TmmTaskManager.getInstance().addImageDownloadTask(task);
+      TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(posterUrl));
     }
   }
 
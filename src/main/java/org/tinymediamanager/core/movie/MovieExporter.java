@@ -91,6 +91,13 @@ public class MovieExporter extends MediaEntityExporter {
     LOGGER.info("generating movie list");
     Utils.deleteFileSafely(listExportFile);
 
+    // the templates render the details of the movies
+    for (T me : moviesToExport) {
+      if (me instanceof Movie) {
+        ((Movie) me).ensureFullyLoaded();
+      }
+    }
+
     Map<String, Object> root = new HashMap<String, Object>();
     root.put("movies", new ArrayList<T>(moviesToExport));
 
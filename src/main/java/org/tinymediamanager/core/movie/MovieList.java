@@ -20,36 +20,37 @@ import static org.tinymediamanager.core.Constants.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
-import org.jdesktop.observablecollections.ObservableCollections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.AbstractModelObject;
 import org.tinymediamanager.core.Constants;
-import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.Utils;
-import org.tinymediamanager.core.entities.MediaFile;
-import org.tinymediamanager.core.entities.MediaFileAudioStream;
+import org.tinymediamanager.core.database.ParallelEntityLoader;
+import org.tinymediamanager.core.entities.MediaEntityAggregate;
+import org.tinymediamanager.core.entities.MediaEntityIndex;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.movie.entities.MovieSummary;
 import org.tinymediamanager.scraper.Certification;
 import org.tinymediamanager.scraper.MediaLanguages;
 import org.tinymediamanager.scraper.MediaScraper;
@@ -78,44 +79,307 @@ public class MovieList extends AbstractModelObject {
 
   private ObservableElementList<Movie> movieList;
   private List<MovieSet>               movieSetList;
-  private PropertyChangeListener       tagListener;
-  private List<String>                 tagsObservable;
-  private List<String>                 videoCodecsObservable;
-  private List<String>                 audioCodecsObservable;
-  private List<Certification>          certificationsObservable;
   private final Comparator<MovieSet>   movieSetComparator = new MovieSetComparator();
 
+  // reference counted sets of the tags/codecs/certifications used in movies; maintained on add/remove and on changes of the movies
+  private final MediaEntityAggregate<String, Movie>        tagAggregate;
+  private final MediaEntityAggregate<String, Movie>        videoCodecAggregate;
+  private final MediaEntityAggregate<String, Movie>        audioCodecAggregate;
+  private final MediaEntityAggregate<Certification, Movie> certificationAggregate;
+  private final List<MediaEntityAggregate<?, Movie>>       movieAggregates;
+  private final PropertyChangeListener                     aggregateListener;
+
+  // hash indexes for the lookups; maintained on add/remove and on changes of the key properties
+  private final MediaEntityIndex<UUID, Movie>       movieDbIdIndex;
+  private final MediaEntityIndex<Path, Movie>       moviePathIndex;
+  private final MediaEntityIndex<String, Movie>     movieImdbIndex;
+  private final MediaEntityIndex<Integer, Movie>    movieTmdbIndex;
+  private final MediaEntityIndex<Path, Movie>       movieDataSourceIndex;
+  private final List<MediaEntityIndex<?, Movie>>    movieIndexes;
+  private final MediaEntityIndex<UUID, MovieSet>    movieSetDbIdIndex;
+  private final MediaEntityIndex<Integer, MovieSet> movieSetTmdbIndex;
+  private final MediaEntityIndex<String, MovieSet>  movieSetTitleIndex;
+  private final List<MediaEntityIndex<?, MovieSet>> movieSetIndexes;
+  private final PropertyChangeListener              indexListener;
+
   /**
    * Instantiates a new movie list.
    */
   private MovieList() {
-    // create all lists
-    tagsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    videoCodecsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    audioCodecsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    certificationsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<Certification>());
-
-    // the tag listener: its used to always have a full list of all tags used in tmm
-    tagListener = new PropertyChangeListener() {
+    // the aggregates: used to always have a full list of all tags/codecs/certifications used in tmm
+    tagAggregate = new MediaEntityAggregate<String, Movie>(TAG) {
+      @Override
+      protected Collection<String> getValues(Movie movie) {
+        return getNonBlankValues(movie.getTags());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return TAG.equals(propertyName);
+      }
+    };
+    videoCodecAggregate = new MediaEntityAggregate<String, Movie>("videoCodec") {
+      @Override
+      protected Collection<String> getValues(Movie movie) {
+        return getNonBlankValues(movie.getMediaInfoVideoCodecs());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return MEDIA_FILES.equals(propertyName) || MEDIA_INFORMATION.equals(propertyName);
+      }
+    };
+    audioCodecAggregate = new MediaEntityAggregate<String, Movie>("audioCodec") {
+      @Override
+      protected Collection<String> getValues(Movie movie) {
+        return getNonBlankValues(movie.getMediaInfoAudioCodecs());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return MEDIA_FILES.equals(propertyName) || MEDIA_INFORMATION.equals(propertyName);
+      }
+    };
+    certificationAggregate = new MediaEntityAggregate<Certification, Movie>(CERTIFICATION) {
+      @Override
+      protected Collection<Certification> getValues(Movie movie) {
+        return Collections.singletonList(movie.getCertification());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return CERTIFICATION.equals(propertyName);
+      }
+    };
+    movieAggregates = new ArrayList<MediaEntityAggregate<?, Movie>>();
+    movieAggregates.add(tagAggregate);
+    movieAggregates.add(videoCodecAggregate);
+    movieAggregates.add(audioCodecAggregate);
+    movieAggregates.add(certificationAggregate);
+
+    // the aggregate listener: re-count a movie as soon as one of the aggregated properties changes (in the thread of the change)
+    aggregateListener = new PropertyChangeListener() {
       @Override
       public void propertyChange(PropertyChangeEvent evt) {
-        // listen to changes of tags
-        if ("tag".equals(evt.getPropertyName())) {
+        if (evt.getSource() instanceof Movie) {
           Movie movie = (Movie) evt.getSource();
-          updateTags(movie);
+          for (MediaEntityAggregate<?, Movie> aggregate : movieAggregates) {
+            if (aggregate.isValueProperty(evt.getPropertyName()) && aggregate.update(movie)) {
+              fireAggregateChanged(aggregate);
+            }
+          }
         }
-        if (MEDIA_FILES.equals(evt.getPropertyName()) || MEDIA_INFORMATION.equals(evt.getPropertyName())) {
+      }
+    };
+
+    // the indexes
+    movieDbIdIndex = new MediaEntityIndex<UUID, Movie>() {
+      @Override
+      protected UUID getKey(Movie movie) {
+        return movie.getDbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return false;
+      }
+    };
+    moviePathIndex = new MediaEntityIndex<Path, Movie>() {
+      @Override
+      protected Path getKey(Movie movie) {
+        return toPath(movie.getPath());
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return PATH.equals(propertyName);
+      }
+    };
+    movieImdbIndex = new MediaEntityIndex<String, Movie>() {
+      @Override
+      protected String getKey(Movie movie) {
+        return StringUtils.isBlank(movie.getImdbId()) ? null : movie.getImdbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return IMDB.equals(propertyName) || "imdbId".equals(propertyName);
+      }
+    };
+    movieTmdbIndex = new MediaEntityIndex<Integer, Movie>() {
+      @Override
+      protected Integer getKey(Movie movie) {
+        return movie.getTmdbId() > 0 ? movie.getTmdbId() : null;
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return TMDB.equals(propertyName) || "tmdbId".equals(propertyName);
+      }
+    };
+    // the partition of the movies per data source
+    movieDataSourceIndex = new MediaEntityIndex<Path, Movie>() {
+      @Override
+      protected Path getKey(Movie movie) {
+        return toPath(movie.getDataSource());
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return DATA_SOURCE.equals(propertyName);
+      }
+    };
+    movieIndexes = new ArrayList<MediaEntityIndex<?, Movie>>();
+    movieIndexes.add(movieDbIdIndex);
+    movieIndexes.add(moviePathIndex);
+    movieIndexes.add(movieImdbIndex);
+    movieIndexes.add(movieTmdbIndex);
+    movieIndexes.add(movieDataSourceIndex);
+
+    movieSetDbIdIndex = new MediaEntityIndex<UUID, MovieSet>() {
+      @Override
+      protected UUID getKey(MovieSet movieSet) {
+        return movieSet.getDbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return false;
+      }
+    };
+    movieSetTmdbIndex = new MediaEntityIndex<Integer, MovieSet>() {
+      @Override
+      protected Integer getKey(MovieSet movieSet) {
+        return movieSet.getTmdbId() > 0 ? movieSet.getTmdbId() : null;
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return TMDB.equals(propertyName) || "tmdbId".equals(propertyName);
+      }
+    };
+    movieSetTitleIndex = new MediaEntityIndex<String, MovieSet>() {
+      @Override
+      protected String getKey(MovieSet movieSet) {
+        return movieSet.getTitle();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return TITLE.equals(propertyName);
+      }
+    };
+    movieSetIndexes = new ArrayList<MediaEntityIndex<?, MovieSet>>();
+    movieSetIndexes.add(movieSetDbIdIndex);
+    movieSetIndexes.add(movieSetTmdbIndex);
+    movieSetIndexes.add(movieSetTitleIndex);
+
+    // the index listener: re-index an entity as soon as one of its key properties changes (in the thread of the change)
+    indexListener = new PropertyChangeListener() {
+      @Override
+      public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getSource() instanceof Movie) {
           Movie movie = (Movie) evt.getSource();
-          updateMediaInformationLists(movie);
+          for (MediaEntityIndex<?, Movie> index : movieIndexes) {
+            if (index.isKeyProperty(evt.getPropertyName())) {
+              index.update(movie);
+            }
+          }
         }
-        if (CERTIFICATION.equals(evt.getPropertyName())) {
-          Movie movie = (Movie) evt.getSource();
-          updateCertifications(movie);
+        else if (evt.getSource() instanceof MovieSet) {
+          MovieSet movieSet = (MovieSet) evt.getSource();
+          for (MediaEntityIndex<?, MovieSet> index : movieSetIndexes) {
+            if (index.isKeyProperty(evt.getPropertyName())) {
+              index.update(movieSet);
+            }
+          }
         }
       }
     };
   }
 
+  private static Path toPath(String path) {
+    if (StringUtils.isBlank(path)) {
+      return null;
+    }
+    try {
+      return Paths.get(path);
+    }
+    catch (InvalidPathException e) {
+      return null;
+    }
+  }
+
+  private void addToIndexes(Movie movie) {
+    for (MediaEntityIndex<?, Movie> index : movieIndexes) {
+      index.add(movie);
+    }
+    movie.addSynchronousPropertyChangeListener(indexListener);
+  }
+
+  private void removeFromIndexes(Movie movie) {
+    movie.removeSynchronousPropertyChangeListener(indexListener);
+    for (MediaEntityIndex<?, Movie> index : movieIndexes) {
+      index.remove(movie);
+    }
+  }
+
+  /**
+   * add the given movies to all aggregates and fire one change event per changed aggregate
+   */
+  private void addToAggregates(Collection<Movie> movies) {
+    for (MediaEntityAggregate<?, Movie> aggregate : movieAggregates) {
+      if (aggregate.addAll(movies)) {
+        fireAggregateChanged(aggregate);
+      }
+    }
+    for (Movie movie : movies) {
+      movie.addSynchronousPropertyChangeListener(aggregateListener);
+    }
+  }
+
+  /**
+   * remove the given movies from all aggregates and fire one change event per changed aggregate
+   */
+  private void removeFromAggregates(Collection<Movie> movies) {
+    for (Movie movie : movies) {
+      movie.removeSynchronousPropertyChangeListener(aggregateListener);
+    }
+    for (MediaEntityAggregate<?, Movie> aggregate : movieAggregates) {
+      if (aggregate.removeAll(movies)) {
+        fireAggregateChanged(aggregate);
+      }
+    }
+  }
+
+  private void fireAggregateChanged(MediaEntityAggregate<?, Movie> aggregate) {
+    firePropertyChange(aggregate.getName(), null, aggregate.getValues());
+  }
+
+  private static List<String> getNonBlankValues(Collection<String> values) {
+    List<String> nonBlankValues = new ArrayList<String>(values.size());
+    for (String value : values) {
+      if (StringUtils.isNotBlank(value)) {
+        nonBlankValues.add(value);
+      }
+    }
+    return nonBlankValues;
+  }
+
+  private void addToIndexes(MovieSet movieSet) {
+    for (MediaEntityIndex<?, MovieSet> index : movieSetIndexes) {
+      index.add(movieSet);
+    }
+    movieSet.addSynchronousPropertyChangeListener(indexListener);
+  }
+
+  private void removeFromIndexes(MovieSet movieSet) {
+    movieSet.removeSynchronousPropertyChangeListener(indexListener);
+    for (MediaEntityIndex<?, MovieSet> index : movieSetIndexes) {
+      index.remove(movieSet);
+    }
+  }
+
   /**
    * Gets the single instance of MovieList.
    * 
@@ -135,15 +399,49 @@ public class MovieList extends AbstractModelObject {
    *          the movie
    */
   public void addMovie(Movie movie) {
-    if (!movieList.contains(movie)) {
-      int oldValue = movieList.size();
-      movieList.add(movie);
+    addMovies(Collections.singletonList(movie));
+  }
+
+  /**
+   * add the given movies in one bulk operation; the list is locked only once and all listeners get only one change event
+   * 
+   * @param movies
+   *          the movies to add
+   */
+  public void addMovies(List<Movie> movies) {
+    if (movies == null || movies.isEmpty()) {
+      return;
+    }
+
+    // filter out already known movies (and duplicates within the given list)
+    List<Movie> newMovies = new ArrayList<Movie>(movies.size());
+    Set<Movie> seen = Collections.newSetFromMap(new IdentityHashMap<Movie, Boolean>());
+    for (Movie movie : movies) {
+      if (movieDbIdIndex.getFirst(movie.getDbId()) != movie && seen.add(movie)) {
+        newMovies.add(movie);
+      }
+    }
+    if (newMovies.isEmpty()) {
+      return;
+    }
 
-      updateTags(movie);
-      movie.addPropertyChangeListener(tagListener);
-      firePropertyChange("movies", null, movieList);
-      firePropertyChange("movieCount", oldValue, movieList.size());
+    int oldValue;
+    movieList.getReadWriteLock().writeLock().lock();
+    try {
+      oldValue = movieList.size();
+      movieList.addAll(newMovies);
+    }
+    finally {
+      movieList.getReadWriteLock().writeLock().unlock();
     }
+
+    for (Movie movie : newMovies) {
+      addToIndexes(movie);
+    }
+    addToAggregates(newMovies);
+
+    firePropertyChange("movies", null, movieList);
+    firePropertyChange("movieCount", oldValue, movieList.size());
   }
 
   /**
@@ -157,15 +455,22 @@ public class MovieList extends AbstractModelObject {
       return;
     }
 
-    List<Movie> moviesToRemove = new ArrayList<Movie>();
-    for (int i = movieList.size() - 1; i >= 0; i--) {
-      Movie movie = movieList.get(i);
-      if (new File(path).equals(new File(movie.getDataSource()))) {
-        moviesToRemove.add(movie);
-      }
-    }
+    removeMovies(getMoviesByDataSource(path));
+  }
 
-    removeMovies(moviesToRemove);
+  /**
+   * Gets all movies of the given data source. Only the partition of this data source is touched, not the whole library.
+   * 
+   * @param dataSource
+   *          the data source
+   * @return a list of all movies in this data source (never null)
+   */
+  public List<Movie> getMoviesByDataSource(String dataSource) {
+    Path key = toPath(dataSource);
+    if (key == null) {
+      return new ArrayList<Movie>(0);
+    }
+    return movieDataSourceIndex.get(key);
   }
 
   /**
@@ -209,12 +514,10 @@ public class MovieList extends AbstractModelObject {
       return;
     }
     Set<MovieSet> modifiedMovieSets = new HashSet<MovieSet>();
-    int oldValue = movieList.size();
+    int oldValue = removeFromMovieList(movies);
 
-    // remove in inverse order => performance
-    for (int i = movies.size() - 1; i >= 0; i--) {
-      Movie movie = movies.get(i);
-      movieList.remove(movie);
+    for (Movie movie : movies) {
+      removeFromIndexes(movie);
       if (movie.getMovieSet() != null) {
         MovieSet movieSet = movie.getMovieSet();
 
@@ -230,6 +533,8 @@ public class MovieList extends AbstractModelObject {
       }
     }
 
+    removeFromAggregates(movies);
+
     // and now check if any of the modified moviesets are worth for deleting
     for (MovieSet movieSet : modifiedMovieSets) {
       if (movieSet.getMovies().isEmpty()) {
@@ -252,13 +557,14 @@ public class MovieList extends AbstractModelObject {
       return;
     }
     Set<MovieSet> modifiedMovieSets = new HashSet<MovieSet>();
-    int oldValue = movieList.size();
 
-    // remove in inverse order => performance
-    for (int i = movies.size() - 1; i >= 0; i--) {
-      Movie movie = movies.get(i);
+    for (Movie movie : movies) {
       movie.deleteFilesSafely();
-      movieList.remove(movie);
+    }
+    int oldValue = removeFromMovieList(movies);
+
+    for (Movie movie : movies) {
+      removeFromIndexes(movie);
       if (movie.getMovieSet() != null) {
         MovieSet movieSet = movie.getMovieSet();
         movieSet.removeMovie(movie);
@@ -273,6 +579,8 @@ public class MovieList extends AbstractModelObject {
       }
     }
 
+    removeFromAggregates(movies);
+
     // and now check if any of the modified moviesets are worth for deleting
     for (MovieSet movieSet : modifiedMovieSets) {
       removeMovieSet(movieSet);
@@ -282,6 +590,27 @@ public class MovieList extends AbstractModelObject {
     firePropertyChange("movieCount", oldValue, movieList.size());
   }
 
+  /**
+   * remove the given movies from the event list in one bulk operation (one list event instead of one per movie => the UI re-sorts/re-filters only
+   * once)
+   * 
+   * @return the movie count before the removal
+   */
+  private int removeFromMovieList(List<Movie> movies) {
+    Set<Movie> moviesToRemove = Collections.newSetFromMap(new IdentityHashMap<Movie, Boolean>());
+    moviesToRemove.addAll(movies);
+
+    movieList.getReadWriteLock().writeLock().lock();
+    try {
+      int oldValue = movieList.size();
+      movieList.removeAll(moviesToRemove);
+      return oldValue;
+    }
+    finally {
+      movieList.getReadWriteLock().writeLock().unlock();
+    }
+  }
+
   /**
    * Gets the movies.
    * 
@@ -296,43 +625,54 @@ public class MovieList extends AbstractModelObject {
 
   /**
    * Load movies from database.
+   * 
+   * @param movieMap
+   *          the map holding the movies
+   * @param movieObjectReader
+   *          the object reader for the movies
    */
-  void loadMoviesFromDatabase(MVMap<UUID, String> movieMap, ObjectMapper objectMapper) {
-    // load movies
-    movieList = new ObservableElementList<Movie>(GlazedLists.threadSafeList(new BasicEventList<Movie>()), GlazedLists.beanConnector(Movie.class));
-    ObjectReader movieObjectReader = objectMapper.readerFor(Movie.class);
+  void loadMoviesFromDatabase(MVMap<UUID, Object> movieMap, ObjectReader movieObjectReader) {
+    // decode in parallel and add all movies in one bulk operation
+    addLoadedMovies(ParallelEntityLoader.load(movieMap, movieObjectReader));
+    LOGGER.info("found " + movieList.size() + " movies in database");
+  }
 
-    for (UUID uuid : movieMap.keyList()) {
-      String json = "";
-      try {
-        json = movieMap.get(uuid);
-        Movie movie = movieObjectReader.readValue(json);
-        movie.setDbId(uuid);
-        // for performance reasons we add movies directly
-        movieList.add(movie);
-      }
-      catch (Exception e) {
-        LOGGER.warn("problem decoding movie json string: ", e);
-      }
+  /**
+   * Load the summary projection of the movies from database; the details are loaded with Movie.ensureFullyLoaded()
+   * 
+   * @param movieSummaryMap
+   *          the map holding the summary projection of the movies
+   * @param movieSummaryObjectReader
+   *          the object reader for the summaries
+   */
+  void loadMovieSummariesFromDatabase(MVMap<UUID, Object> movieSummaryMap, ObjectReader movieSummaryObjectReader) {
+    List<MovieSummary> summaries = ParallelEntityLoader.load(movieSummaryMap, movieSummaryObjectReader);
+    List<Movie> movies = new ArrayList<Movie>(summaries.size());
+    for (MovieSummary summary : summaries) {
+      movies.add(Movie.fromSummary(summary));
+    }
+    addLoadedMovies(movies);
+    LOGGER.info("found " + movieList.size() + " movies in database (summary)");
+  }
+
+  private void addLoadedMovies(List<Movie> movies) {
+    movieList = new ObservableElementList<Movie>(GlazedLists.threadSafeList(new BasicEventList<Movie>()), GlazedLists.beanConnector(Movie.class));
+    movieList.addAll(movies);
+    for (Movie movie : movies) {
+      addToIndexes(movie);
     }
-    LOGGER.info("found " + movieList.size() + " movies in database");
   }
 
-  void loadMovieSetsFromDatabase(MVMap<UUID, String> movieSetMap, ObjectMapper objectMapper) {
+  void loadMovieSetsFromDatabase(MVMap<UUID, Object> movieSetMap, ObjectMapper objectMapper) {
     // load movie sets
     movieSetList = ObservableCollections.observableList(Collections.synchronizedList(new ArrayList<MovieSet>()));
     ObjectReader movieSetObjectReader = objectMapper.readerFor(MovieSet.class);
 
-    for (UUID uuid : movieSetMap.keyList()) {
-      try {
-        MovieSet movieSet = movieSetObjectReader.readValue(movieSetMap.get(uuid));
-        movieSet.setDbId(uuid);
-        // for performance reasons we add movies sets directly
-        movieSetList.add(movieSet);
-      }
-      catch (Exception e) {
-        LOGGER.warn("problem decoding movie set json string: ", e);
-      }
+    // decode in parallel and add all movie sets in one bulk operation
+    List<MovieSet> movieSets = ParallelEntityLoader.load(movieSetMap, movieSetObjectReader);
+    movieSetList.addAll(movieSets);
+    for (MovieSet movieSet : movieSets) {
+      addToIndexes(movieSet);
     }
 
     LOGGER.info("found " + movieSetList.size() + " movieSets in database");
@@ -342,11 +682,8 @@ public class MovieList extends AbstractModelObject {
     // 3. initialize movies/movie sets (e.g. link with each others)
     for (Movie movie : movieList) {
       movie.initializeAfterLoading();
-      updateTags(movie);
-      updateMediaInformationLists(movie);
-      updateCertifications(movie);
-      movie.addPropertyChangeListener(tagListener);
     }
+    addToAggregates(movieList);
 
     for (MovieSet movieSet : movieSetList) {
       movieSet.initializeAfterLoading();
@@ -363,6 +700,32 @@ public class MovieList extends AbstractModelObject {
     }
   }
 
+  /**
+   * load the details of a movie which has been loaded from the summary projection (use Movie.ensureFullyLoaded())
+   * 
+   * @param movie
+   *          the movie to load fully
+   */
+  public void loadFullMovie(Movie movie) {
+    try {
+      MovieModuleManager.getInstance().loadFullMovie(movie);
+    }
+    catch (Exception e) {
+      LOGGER.error("failed to load movie: " + movie.getTitle(), e);
+      MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, movie, "message.database.loadmovie", new String[] { ":",
+          e.getLocalizedMessage() }));
+      // the caller must not go on with the summary only
+      throw new IllegalStateException("could not load movie " + movie.getDbId() + " from the database", e);
+    }
+
+    // the values of the details may differ from the stored summary (e.g. an older summary)
+    for (MediaEntityAggregate<?, Movie> aggregate : movieAggregates) {
+      if (aggregate.update(movie)) {
+        fireAggregateChanged(aggregate);
+      }
+    }
+  }
+
   public void removeMovieFromDb(Movie movie) {
     // remove this movie from the database
     try {
@@ -394,21 +757,33 @@ public class MovieList extends AbstractModelObject {
   }
 
   public MovieSet lookupMovieSet(UUID uuid) {
-    for (MovieSet movieSet : movieSetList) {
-      if (movieSet.getDbId().equals(uuid)) {
-        return movieSet;
-      }
-    }
-    return null;
+    return movieSetDbIdIndex.getFirst(uuid);
   }
 
   public Movie lookupMovie(UUID uuid) {
-    for (Movie movie : movieList) {
-      if (movie.getDbId().equals(uuid)) {
-        return movie;
-      }
-    }
-    return null;
+    return movieDbIdIndex.getFirst(uuid);
+  }
+
+  /**
+   * Gets the movies with the given IMDB id
+   * 
+   * @param imdbId
+   *          the IMDB id
+   * @return the movies with this id (empty list if there is none)
+   */
+  public List<Movie> getMoviesByImdbId(String imdbId) {
+    return movieImdbIndex.get(imdbId);
+  }
+
+  /**
+   * Gets the movies with the given TMDB id
+   * 
+   * @param tmdbId
+   *          the TMDB id
+   * @return the movies with this id (empty list if there is none)
+   */
+  public List<Movie> getMoviesByTmdbId(int tmdbId) {
+    return movieTmdbIndex.get(tmdbId);
   }
 
   /**
@@ -420,7 +795,7 @@ public class MovieList extends AbstractModelObject {
    * @deprecated use Java7 getMovieByPath(Path path) instead.
    */
   @Deprecated
-  public synchronized Movie getMovieByPath(File path) {
+  public Movie getMovieByPath(File path) {
     return getMovieByPath(path.toPath());
   }
 
@@ -431,16 +806,12 @@ public class MovieList extends AbstractModelObject {
    *          the path
    * @return the movie by path
    */
-  public synchronized Movie getMovieByPath(Path path) {
-
-    for (Movie movie : movieList) {
-      if (Paths.get(movie.getPath()).compareTo(path) == 0) {
-        LOGGER.debug("Ok, found already existing movie '" + movie.getTitle() + "' in DB (path: " + path + ")");
-        return movie;
-      }
+  public Movie getMovieByPath(Path path) {
+    Movie movie = moviePathIndex.getFirst(path);
+    if (movie != null) {
+      LOGGER.debug("Ok, found already existing movie '" + movie.getTitle() + "' in DB (path: " + path + ")");
     }
-
-    return null;
+    return movie;
   }
 
   /**
@@ -452,7 +823,7 @@ public class MovieList extends AbstractModelObject {
    * @deprecated use Java7 getMoviesByPath(Path path) instead.
    */
   @Deprecated
-  public synchronized List<Movie> getMoviesByPath(File path) {
+  public List<Movie> getMoviesByPath(File path) {
     return getMoviesByPath(path.toPath());
   }
 
@@ -463,14 +834,8 @@ public class MovieList extends AbstractModelObject {
    *          the path
    * @return the movie list
    */
-  public synchronized List<Movie> getMoviesByPath(Path path) {
-    ArrayList<Movie> movies = new ArrayList<Movie>();
-    for (Movie movie : movieList) {
-      if (Paths.get(movie.getPath()).compareTo(path) == 0) {
-        movies.add(movie);
-      }
-    }
-    return movies;
+  public List<Movie> getMoviesByPath(Path path) {
+    return moviePathIndex.get(path);
   }
 
   /**
@@ -702,197 +1067,41 @@ public class MovieList extends AbstractModelObject {
    * @return the tags in movies
    */
   public List<String> getTagsInMovies() {
-    return tagsObservable;
-  }
-
-  /**
-   * Update tags used in movies.
-   * 
-   * @param movie
-   *          the movie
-   */
-  private void updateTags(Movie movie) {
-    for (String tagInMovie : new ArrayList<>(movie.getTags())) {
-      boolean tagFound = false;
-      for (String tag : tagsObservable) {
-        if (tagInMovie.equals(tag)) {
-          tagFound = true;
-          break;
-        }
-      }
-      if (!tagFound) {
-        addTag(tagInMovie);
-      }
-    }
-  }
-
-  /**
-   * Update media information used in movies.
-   * 
-   * @param movie
-   *          the movie
-   */
-  private void updateMediaInformationLists(Movie movie) {
-    // video codec
-    for (MediaFile mf : movie.getMediaFiles(MediaFileType.VIDEO)) {
-      String codec = mf.getVideoCodec();
-      boolean codecFound = false;
-
-      for (String mfCodec : videoCodecsObservable) {
-        if (mfCodec.equals(codec)) {
-          codecFound = true;
-          break;
-        }
-      }
-
-      if (!codecFound) {
-        addVideoCodec(codec);
-      }
-    }
-
-    // audio codec
-    for (MediaFile mf : movie.getMediaFiles(MediaFileType.VIDEO)) {
-      for (MediaFileAudioStream audio : mf.getAudioStreams()) {
-        String codec = audio.getCodec();
-        boolean codecFound = false;
-        for (String mfCodec : audioCodecsObservable) {
-          if (mfCodec.equals(codec)) {
-            codecFound = true;
-            break;
-          }
-        }
-
-        if (!codecFound) {
-          addAudioCodec(codec);
-        }
-      }
-    }
-  }
-
-  private void updateCertifications(Movie movie) {
-    if (!certificationsObservable.contains(movie.getCertification())) {
-      addCertification(movie.getCertification());
-    }
+    return tagAggregate.getView();
   }
 
   public List<String> getVideoCodecsInMovies() {
-    return videoCodecsObservable;
+    return videoCodecAggregate.getView();
   }
 
   public List<String> getAudioCodecsInMovies() {
-    return audioCodecsObservable;
+    return audioCodecAggregate.getView();
   }
 
   public List<Certification> getCertificationsInMovies() {
-    return certificationsObservable;
+    return certificationAggregate.getView();
   }
 
   /**
-   * Adds the tag.
+   * checks whether there is another movie with the same IMDB or TMDB id (the duplicate state is maintained by the id indexes)
    * 
-   * @param newTag
-   *          the new tag
+   * @param movie
+   *          the movie
+   * @return true if the movie is a duplicate
    */
-  private void addTag(String newTag) {
-    if (StringUtils.isBlank(newTag)) {
-      return;
-    }
-
-    synchronized (tagsObservable) {
-      if (tagsObservable.contains(newTag)) {
-        return;
-      }
-      tagsObservable.add(newTag);
-    }
-
-    firePropertyChange("tag", null, tagsObservable);
-  }
-
-  private void addVideoCodec(String newCodec) {
-    if (StringUtils.isBlank(newCodec)) {
-      return;
-    }
-
-    synchronized (videoCodecsObservable) {
-      if (videoCodecsObservable.contains(newCodec)) {
-        return;
-      }
-      videoCodecsObservable.add(newCodec);
-    }
-
-    firePropertyChange("videoCodec", null, videoCodecsObservable);
-  }
-
-  private void addAudioCodec(String newCodec) {
-    if (StringUtils.isBlank(newCodec)) {
-      return;
-    }
-
-    synchronized (audioCodecsObservable) {
-      if (audioCodecsObservable.contains(newCodec)) {
-        return;
-      }
-      audioCodecsObservable.add(newCodec);
-    }
-
-    firePropertyChange("audioCodec", null, audioCodecsObservable);
-  }
-
-  private void addCertification(Certification newCert) {
-    if (newCert == null) {
-      return;
-    }
-
-    synchronized (certificationsObservable) {
-      if (certificationsObservable.contains(newCert)) {
-        return;
-      }
-      certificationsObservable.add(newCert);
-    }
-
-    firePropertyChange("certification", null, certificationsObservable);
+  public boolean isDuplicate(Movie movie) {
+    return movieImdbIndex.hasDuplicates(movie) || movieTmdbIndex.hasDuplicates(movie);
   }
 
   /**
-   * Search duplicates.
+   * get all movies which share their IMDB or TMDB id with another movie
+   * 
+   * @return the duplicates (empty list if there are none)
    */
-  public void searchDuplicates() {
-    Map<String, Movie> imdbDuplicates = new HashMap<String, Movie>();
-    Map<Integer, Movie> tmdbDuplicates = new HashMap<Integer, Movie>();
-
-    for (Movie movie : movieList) {
-      movie.clearDuplicate();
-
-      // imdb duplicate search only works with given imdbid
-      if (StringUtils.isNotEmpty(movie.getImdbId())) {
-        // is there a movie with this imdbid sotred?
-        if (imdbDuplicates.containsKey(movie.getImdbId())) {
-          // yes - set duplicate flag on both movies
-          movie.setDuplicate();
-          Movie movie2 = imdbDuplicates.get(movie.getImdbId());
-          movie2.setDuplicate();
-        }
-        else {
-          // no, store movie
-          imdbDuplicates.put(movie.getImdbId(), movie);
-        }
-      }
-
-      // tmdb duplicate search only works with with given tmdb id
-      if (movie.getTmdbId() > 0) {
-        // is there a movie with this tmdbid sotred?
-        if (tmdbDuplicates.containsKey(movie.getTmdbId())) {
-          // yes - set duplicate flag on both movies
-          movie.setDuplicate();
-          Movie movie2 = tmdbDuplicates.get(movie.getTmdbId());
-          movie2.setDuplicate();
-        }
-        else {
-          // no, store movie
-          tmdbDuplicates.put(movie.getTmdbId(), movie);
-        }
-      }
-    }
+  public List<Movie> getDuplicateMovies() {
+    Set<Movie> duplicates = new LinkedHashSet<Movie>(movieImdbIndex.getDuplicates());
+    duplicates.addAll(movieTmdbIndex.getDuplicates());
+    return new ArrayList<Movie>(duplicates);
   }
 
   /**
@@ -925,7 +1134,13 @@ public class MovieList extends AbstractModelObject {
    *          the movieSetList to set
    */
   public void setMovieSetList(ObservableElementList<MovieSet> movieSetList) {
+    for (MovieSet movieSet : getMovieSetList()) {
+      removeFromIndexes(movieSet);
+    }
     this.movieSetList = movieSetList;
+    for (MovieSet movieSet : movieSetList) {
+      addToIndexes(movieSet);
+    }
   }
 
   /**
@@ -937,6 +1152,7 @@ public class MovieList extends AbstractModelObject {
   public void addMovieSet(MovieSet movieSet) {
     int oldValue = movieSetList.size();
     this.movieSetList.add(movieSet);
+    addToIndexes(movieSet);
     firePropertyChange("addedMovieSet", null, movieSet);
     firePropertyChange("movieSetCount", oldValue, movieSetList.size());
   }
@@ -953,6 +1169,7 @@ public class MovieList extends AbstractModelObject {
 
     try {
       movieSetList.remove(movieSet);
+      removeFromIndexes(movieSet);
       MovieModuleManager.getInstance().removeMovieSetFromDb(movieSet);
     }
     catch (Exception e) {
@@ -966,21 +1183,14 @@ public class MovieList extends AbstractModelObject {
   private MovieSet findMovieSet(String title, int tmdbId) {
     // first search by tmdbId
     if (tmdbId > 0) {
-      for (MovieSet movieSet : movieSetList) {
-        if (movieSet.getTmdbId() == tmdbId) {
-          return movieSet;
-        }
-      }
-    }
-
-    // search for the movieset by name
-    for (MovieSet movieSet : movieSetList) {
-      if (movieSet.getTitle().equals(title)) {
+      MovieSet movieSet = movieSetTmdbIndex.getFirst(tmdbId);
+      if (movieSet != null) {
         return movieSet;
       }
     }
 
-    return null;
+    // search for the movieset by name
+    return movieSetTitleIndex.getFirst(title);
   }
 
   public synchronized MovieSet getMovieSet(String title, int tmdbId) {
@@ -18,9 +18,9 @@ package org.tinymediamanager.core.movie;
 import java.io.File;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.json.JSONObject;
@@ -30,14 +30,19 @@ import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.Constants;
 import org.tinymediamanager.core.ITmmModule;
 import org.tinymediamanager.core.Settings;
-import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.database.DatabaseBackup;
+import org.tinymediamanager.core.database.DatabaseCompactor;
+import org.tinymediamanager.core.database.EntityCodec;
+import org.tinymediamanager.core.database.WriteBehindQueue;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.movie.entities.MovieSummary;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
@@ -46,21 +51,33 @@ import com.fasterxml.jackson.databind.ObjectWriter;
  * @author Manuel Laggner
  */
 public class MovieModuleManager implements ITmmModule {
-  public static final MovieSettings MOVIE_SETTINGS = Globals.settings.getMovieSettings();
+  public static final MovieSettings MOVIE_SETTINGS    = Globals.settings.getMovieSettings();
 
-  private static final String       MODULE_TITLE   = "Movie management";
-  private static final String       MOVIE_DB       = "movies.db";
-  private static final Logger       LOGGER         = LoggerFactory.getLogger(MovieModuleManager.class);
+  private static final String       MODULE_TITLE      = "Movie management";
+  private static final String       MOVIE_DB          = "movies.db";
+  private static final long         WRITE_DELAY       = 500;
+  private static final long         BACKUP_DELAY      = 30; // seconds
+  private static final long         COMPACT_INTERVAL  = 300; // seconds
+  private static final int          CODEC_SAMPLE_SIZE = 200; // entities for the codec comparison (-Dtmm.codecbenchmark=true)
+  private static final Logger       LOGGER            = LoggerFactory.getLogger(MovieModuleManager.class);
   private static MovieModuleManager instance;
 
   private boolean                   enabled;
   private MVStore                   mvStore;
   private ObjectMapper              objectMapper;
   private ObjectWriter              movieObjectWriter;
+  private ObjectReader              movieObjectReader;
+  private ObjectWriter              movieSummaryObjectWriter;
+  private ObjectReader              movieSummaryObjectReader;
   private ObjectWriter              movieSetObjectWriter;
+  private EntityCodec               entityCodec;
+  private DatabaseBackup            databaseBackup;
+  private DatabaseCompactor         databaseCompactor;
+  private WriteBehindQueue          writeBehindQueue;
 
-  private MVMap<UUID, String>       movieMap;
-  private MVMap<UUID, String>       movieSetMap;
+  private MVMap<UUID, Object>       movieMap;
+  private MVMap<UUID, Object>       movieSummaryMap;
+  private MVMap<UUID, Object>       movieSetMap;
 
   private MovieModuleManager() {
     enabled = false;
@@ -80,13 +97,9 @@ public class MovieModuleManager implements ITmmModule {
 
   @Override
   public void startUp() throws Exception {
-    // do a DB backup, and keep last 15 copies
-    File db = new File(Settings.getInstance().getSettingsFolder(), MOVIE_DB);
-    Utils.createBackupFile(db);
-    Utils.deleteOldBackupFile(db, 15);
-
     // configure database
-    mvStore = new MVStore.Builder().fileName(Settings.getInstance().getSettingsFolder() + File.separatorChar + MOVIE_DB).compressHigh().open();
+    File db = new File(Settings.getInstance().getSettingsFolder(), MOVIE_DB);
+    mvStore = new MVStore.Builder().fileName(db.getAbsolutePath()).compressHigh().open();
     mvStore.setAutoCommitDelay(2000); // 2 sec
     mvStore.setRetentionTime(0);
     mvStore.setReuseSpace(true);
@@ -101,20 +114,65 @@ public class MovieModuleManager implements ITmmModule {
     objectMapper.setSerializationInclusion(Include.NON_DEFAULT);
 
     movieObjectWriter = objectMapper.writerFor(Movie.class);
+    movieObjectReader = objectMapper.readerFor(Movie.class);
     movieSetObjectWriter = objectMapper.writerFor(MovieSet.class);
+    movieSummaryObjectWriter = objectMapper.writerFor(MovieSummary.class);
+    movieSummaryObjectReader = objectMapper.readerFor(MovieSummary.class);
 
     movieMap = mvStore.openMap("movies");
+    movieSummaryMap = mvStore.openMap("movieSummaries");
     movieSetMap = mvStore.openMap("movieSets");
 
-    MovieList.getInstance().loadMoviesFromDatabase(movieMap, objectMapper);
+    // all writes are done in batches by the write behind queue
+    writeBehindQueue = new WriteBehindQueue(MOVIE_DB, mvStore, WRITE_DELAY);
+
+    // one time migration if the db has been written with another codec
+    entityCodec = Globals.settings.getDatabaseCodec();
+    if (entityCodec != EntityCodec.getStoreCodec(mvStore)) {
+      long start = System.currentTimeMillis();
+      int migrated = entityCodec.migrate(movieMap, movieObjectReader, movieObjectWriter);
+      migrated += entityCodec.migrate(movieSummaryMap, movieSummaryObjectReader, movieSummaryObjectWriter);
+      migrated += entityCodec.migrate(movieSetMap, objectMapper.readerFor(MovieSet.class), movieSetObjectWriter);
+      entityCodec.setStoreCodec(mvStore);
+      mvStore.commit();
+      LOGGER.info("migrated " + migrated + " entries in " + MOVIE_DB + " to " + entityCodec + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    long start = System.currentTimeMillis();
+    if (!movieMap.isEmpty() && movieSummaryMap.size() == movieMap.size()) {
+      // load the summary projection only; the details are loaded explicitly where they are needed
+      MovieList.getInstance().loadMovieSummariesFromDatabase(movieSummaryMap, movieSummaryObjectReader);
+    }
+    else {
+      // no (consistent) summary projection available: load all movies and (re)build the summary projection
+      MovieList.getInstance().loadMoviesFromDatabase(movieMap, movieObjectReader);
+      rebuildMovieSummaries();
+    }
     MovieList.getInstance().loadMovieSetsFromDatabase(movieSetMap, objectMapper);
+    LOGGER.info("loaded " + MOVIE_DB + " (" + entityCodec + ") in " + (System.currentTimeMillis() - start) + " ms");
+    if (EntityCodec.isBenchmarkEnabled()) {
+      LOGGER.info(MOVIE_DB + ": " + EntityCodec.compare(movieMap, movieObjectReader, movieObjectWriter, CODEC_SAMPLE_SIZE));
+    }
     MovieList.getInstance().initDataAfterLoading();
     enabled = true;
+
+    // do a DB backup in the background (if there are changes since the last one); old copies are removed by the retention policy
+    databaseBackup = new DatabaseBackup(mvStore, db);
+    databaseBackup.scheduleBackup(BACKUP_DELAY);
+
+    // compact the db in small steps while we are idle
+    databaseCompactor = new DatabaseCompactor(MOVIE_DB, mvStore, databaseBackup, 1000);
+    databaseCompactor.schedule(COMPACT_INTERVAL, COMPACT_INTERVAL);
   }
 
   @Override
   public void shutDown() throws Exception {
-    mvStore.compactMoveChunks();
+    // abort a running backup/compaction
+    databaseCompactor.close();
+    databaseBackup.close();
+
+    // write all pending changes
+    writeBehindQueue.shutdown();
     mvStore.close();
 
     enabled = false;
@@ -139,6 +197,7 @@ public class MovieModuleManager implements ITmmModule {
    */
   public void dump(Movie movie) {
     try {
+      movie.ensureFullyLoaded();
       JSONObject jsonObject = new JSONObject(movieObjectWriter.writeValueAsString(movie));
       LOGGER.info("Dumping Movie:\n" + jsonObject.toString(4));
     }
@@ -147,30 +206,137 @@ public class MovieModuleManager implements ITmmModule {
     }
   }
 
-  void persistMovie(Movie movie) throws Exception {
-    String newValue = movieObjectWriter.writeValueAsString(movie);
-    String oldValue = movieMap.get(movie.getDbId());
+  void persistMovie(final Movie movie) throws Exception {
+    // nothing changed since the last write
+    if (!movie.isDirty()) {
+      return;
+    }
+    writeBehindQueue.enqueue(movie.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        writeMovie(movie);
+        return null;
+      }
+    });
+  }
+
+  void removeMovieFromDb(final Movie movie) throws Exception {
+    // a re-added entity has to be written again
+    movie.markDirty();
+    writeBehindQueue.enqueue(movie.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        movieMap.remove(movie.getDbId());
+        movieSummaryMap.remove(movie.getDbId());
+        return null;
+      }
+    });
+  }
+
+  private void writeMovie(Movie movie) throws Exception {
+    // clear before encoding; changes while encoding will mark it dirty again
+    movie.clearDirty();
+    Object newValue = null;
+    Object newSummary;
+    try {
+      // the details are read into the movie object while holding its lock - do not encode a half loaded movie
+      synchronized (movie) {
+        // a movie without its details can only have changed in its summary fields - the stored details stay untouched
+        if (movie.isFullyLoaded()) {
+          newValue = entityCodec.encode(movieObjectWriter, movie);
+        }
+        newSummary = entityCodec.encode(movieSummaryObjectWriter, movie.toSummary());
+      }
+    }
+    catch (Exception e) {
+      movie.markDirty();
+      throw e;
+    }
 
-    if (!StringUtils.equals(newValue, oldValue)) {
-      // write movie to DB
+    if (newValue != null && !EntityCodec.isEqual(newValue, movieMap.get(movie.getDbId()))) {
+      // write to DB
       movieMap.put(movie.getDbId(), newValue);
     }
+    if (!EntityCodec.isEqual(newSummary, movieSummaryMap.get(movie.getDbId()))) {
+      movieSummaryMap.put(movie.getDbId(), newSummary);
+    }
   }
 
-  void removeMovieFromDb(Movie movie) throws Exception {
-    movieMap.remove(movie.getDbId());
+  /**
+   * load the details of the given movie from the database into the movie
+   * 
+   * @param movie
+   *          the movie which has been loaded from the summary projection
+   */
+  void loadFullMovie(Movie movie) throws Exception {
+    Object value = movieMap.get(movie.getDbId());
+    if (value == null) {
+      throw new Exception("movie " + movie.getDbId() + " not found in the database");
+    }
+    // the summary fields may have been changed since the startup
+    MovieSummary current = movie.toSummary();
+    EntityCodec.decode(movieObjectReader.withValueToUpdate(movie), value);
+    movie.detailsLoaded(current);
   }
 
-  void persistMovieSet(MovieSet movieSet) throws Exception {
-    String newValue = movieSetObjectWriter.writeValueAsString(movieSet);
-    String oldValue = movieMap.get(movieSet.getDbId());
-    if (!StringUtils.equals(newValue, oldValue)) {
-      movieSetMap.put(movieSet.getDbId(), newValue);
+  /**
+   * rebuild the summary projection from all (fully loaded) movies
+   */
+  private void rebuildMovieSummaries() {
+    long start = System.currentTimeMillis();
+    movieSummaryMap.clear();
+    for (Movie movie : MovieList.getInstance().getMovies()) {
+      try {
+        movieSummaryMap.put(movie.getDbId(), entityCodec.encode(movieSummaryObjectWriter, movie.toSummary()));
+      }
+      catch (Exception e) {
+        LOGGER.warn("could not write summary of movie " + movie.getTitle() + ": " + e.getMessage());
+      }
     }
+    mvStore.commit();
+    LOGGER.info("built summary projection of " + movieSummaryMap.size() + " movies in " + (System.currentTimeMillis() - start) + " ms");
   }
 
-  void removeMovieSetFromDb(MovieSet movieSet) throws Exception {
-    movieSetMap.remove(movieSet.getDbId());
+  void persistMovieSet(final MovieSet movieSet) throws Exception {
+    // nothing changed since the last write
+    if (!movieSet.isDirty()) {
+      return;
+    }
+    writeBehindQueue.enqueue(movieSet.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        writeMovieSet(movieSet);
+        return null;
+      }
+    });
+  }
+
+  void removeMovieSetFromDb(final MovieSet movieSet) throws Exception {
+    // a re-added entity has to be written again
+    movieSet.markDirty();
+    writeBehindQueue.enqueue(movieSet.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        movieSetMap.remove(movieSet.getDbId());
+        return null;
+      }
+    });
+  }
+
+  private void writeMovieSet(MovieSet movieSet) throws Exception {
+    movieSet.clearDirty();
+    Object newValue;
+    try {
+      newValue = entityCodec.encode(movieSetObjectWriter, movieSet);
+    }
+    catch (Exception e) {
+      movieSet.markDirty();
+      throw e;
+    }
+    Object oldValue = movieSetMap.get(movieSet.getDbId());
+    if (!EntityCodec.isEqual(newValue, oldValue)) {
+      movieSetMap.put(movieSet.getDbId(), newValue);
+    }
   }
 
   @Override
@@ -174,6 +174,9 @@ public class MovieRenamer {
     boolean fanartRenamed = false;
     boolean downloadMissingArtworks = false;
 
+    // the media files are part of the details
+    movie.ensureFullyLoaded();
+
     // check if a datasource is set
     if (StringUtils.isEmpty(movie.getDataSource())) {
       LOGGER.error("no Datasource set");
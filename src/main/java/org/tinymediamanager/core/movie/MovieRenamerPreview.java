@@ -35,6 +35,7 @@ import org.tinymediamanager.core.movie.entities.Movie;
 public class MovieRenamerPreview {
 
   public static MovieRenamerPreviewContainer renameMovie(Movie movie) {
+    movie.ensureFullyLoaded();
     MovieRenamerPreviewContainer container = new MovieRenamerPreviewContainer(movie);
 
     List<MediaFile> oldFiles = new ArrayList<MediaFile>();
@@ -25,6 +25,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.scraper.http.Url;
 
@@ -92,7 +93,7 @@ public class MovieSetArtworkHelper {
 
     // get image in thread
     MovieSetImageFetcherTask task = new MovieSetImageFetcherTask(movieSet, url, type);
-    TmmTaskManager.getInstance().addImageDownloadTask(task);
+    TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(url));
   }
 
   /**
@@ -116,7 +117,7 @@ public class MovieSetArtworkHelper {
 
       // get image in thread
       MovieSetImageFetcherTask task = new MovieSetImageFetcherTask(movieSet, url, type, movies);
-      TmmTaskManager.getInstance().addImageDownloadTask(task);
+      TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(url));
     }
   }
 
@@ -354,6 +354,7 @@ public class MovieToMpNfoConnector {
     try {
       MovieToMpNfoConnector mp = parseNFO(nfoFilename);
       movie = new Movie();
+      movie.beginUpdate();
       movie.setTitle(mp.title);
       movie.setOriginalTitle(mp.originaltitle);
       movie.setSortTitle(mp.sorttitle);
@@ -470,6 +471,11 @@ public class MovieToMpNfoConnector {
       // MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, nfoFilename, "message.nfo.readerror"));
       return null;
     }
+    finally {
+      if (movie != null) {
+        movie.endUpdate();
+      }
+    }
 
     // only return if a movie name has been found
     if (StringUtils.isEmpty(movie.getTitle())) {
@@ -510,6 +510,7 @@ public class MovieToXbmcNfoConnector {
     try {
       MovieToXbmcNfoConnector xbmc = parseNFO(nfoFile);
       movie = new Movie();
+      movie.beginUpdate();
       movie.setTitle(xbmc.title);
       movie.setOriginalTitle(xbmc.originaltitle);
       movie.setRating(xbmc.rating);
@@ -693,6 +694,11 @@ public class MovieToXbmcNfoConnector {
       LOGGER.error("getData " + nfoFile.getAbsolutePath(), e);
       return null;
     }
+    finally {
+      if (movie != null) {
+        movie.endUpdate();
+      }
+    }
 
     // only return if a movie name has been found
     if (StringUtils.isEmpty(movie.getTitle())) {
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map.Entry;
@@ -46,6 +47,8 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileAudioStream;
+import org.tinymediamanager.core.entities.StringPool;
 import org.tinymediamanager.core.movie.MovieArtworkHelper;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieMediaFileComparator;
@@ -151,6 +154,9 @@ public class Movie extends MediaEntity {
   private List<MediaGenres>                     genresForAccess            = new ArrayList<MediaGenres>(0);
   private boolean                               stacked                    = false;
 
+  // set as long as only the summary projection has been loaded; the details are loaded explicitly with ensureFullyLoaded()
+  private volatile MovieSummary                 summary                    = null;
+
   /**
    * Instantiates a new movie. To initialize the propertychangesupport after loading
    */
@@ -173,6 +179,10 @@ public class Movie extends MediaEntity {
    */
   @Override
   public boolean isScraped() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.scraped;
+    }
     if (!scraped) {
       if (!plot.isEmpty() && !(year.isEmpty() || year.equals("0")) && !(genres == null || genres.size() == 0)
           && !(actors == null || actors.size() == 0)) {
@@ -236,6 +246,10 @@ public class Movie extends MediaEntity {
    * @return the checks for nfo file
    */
   public Boolean getHasNfoFile() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.hasNfoFile;
+    }
     List<MediaFile> mf = getMediaFiles(MediaFileType.NFO);
     if (mf != null && mf.size() > 0) {
       return true;
@@ -250,6 +264,10 @@ public class Movie extends MediaEntity {
    * @return the checks for images
    */
   public Boolean getHasImages() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.hasImages;
+    }
     if (!StringUtils.isEmpty(getArtworkFilename(MediaFileType.POSTER)) && !StringUtils.isEmpty(getArtworkFilename(MediaFileType.FANART))) {
       return true;
     }
@@ -262,6 +280,10 @@ public class Movie extends MediaEntity {
    * @return the checks for trailer
    */
   public Boolean getHasTrailer() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.hasTrailer;
+    }
     if (trailer != null && trailer.size() > 0) {
       return true;
     }
@@ -461,6 +483,10 @@ public class Movie extends MediaEntity {
 
   /** has movie local (or any mediafile inline) subtitles? */
   public boolean hasSubtitles() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.hasSubtitles;
+    }
     if (this.subtitles) {
       return true; // local ones found
     }
@@ -477,6 +503,7 @@ public class Movie extends MediaEntity {
   /** set subtitles */
   public void setSubtitles(boolean sub) {
     this.subtitles = sub;
+    markDirty();
   }
 
   /**
@@ -621,6 +648,10 @@ public class Movie extends MediaEntity {
    * @return the runtime
    */
   public int getRuntime() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.runtime;
+    }
     int runtimeFromMi = getRuntimeFromMediaFilesInMinutes();
     if (MovieModuleManager.MOVIE_SETTINGS.isRuntimeFromMediaInfo() && runtimeFromMi > 0) {
       return runtimeFromMi;
@@ -695,6 +726,7 @@ public class Movie extends MediaEntity {
    */
   public void setExtraThumbs(List<String> extraThumbs) {
     this.extraThumbs = extraThumbs;
+    markDirty();
   }
 
   /**
@@ -714,6 +746,7 @@ public class Movie extends MediaEntity {
    */
   public void setExtraFanarts(List<String> extraFanarts) {
     this.extraFanarts = extraFanarts;
+    markDirty();
   }
 
   /**
@@ -754,6 +787,24 @@ public class Movie extends MediaEntity {
       return;
     }
 
+    // the stored details must not overwrite the new ones later
+    ensureFullyLoaded();
+
+    // set all values in one update scope: the listeners get only one event per changed property
+    beginUpdate();
+    try {
+      applyMetadata(metadata, config);
+    }
+    finally {
+      endUpdate();
+    }
+
+    // update DB
+    writeNFO();
+    saveToDb();
+  }
+
+  private void applyMetadata(MediaMetadata metadata, MovieScraperMetadataConfig config) {
     setIds(metadata.getIds());
 
     // set chosen metadata
@@ -900,10 +951,6 @@ public class Movie extends MediaEntity {
         }
       }
     }
-
-    // update DB
-    writeNFO();
-    saveToDb();
   }
 
   /**
@@ -1040,7 +1087,14 @@ public class Movie extends MediaEntity {
    */
   public void setArtwork(List<MediaArtwork> artwork, MovieScraperMetadataConfig config) {
     if (config.isArtwork()) {
-      MovieArtworkHelper.setArtwork(this, artwork);
+      ensureFullyLoaded();
+      beginUpdate();
+      try {
+        MovieArtworkHelper.setArtwork(this, artwork);
+      }
+      finally {
+        endUpdate();
+      }
     }
   }
 
@@ -1269,6 +1323,8 @@ public class Movie extends MediaEntity {
    * Write nfo.
    */
   public void writeNFO() {
+    // the NFO contains the details - do not overwrite it with the summary only
+    ensureFullyLoaded();
     if (MovieModuleManager.MOVIE_SETTINGS.getMovieConnector() == MovieConnectors.MP) {
       MovieToMpNfoConnector.setData(this);
     }
@@ -1423,6 +1479,15 @@ public class Movie extends MediaEntity {
     return sb.toString();
   }
 
+  /**
+   * Checks if there is another entry with the same IMDB/TMDB id in the library.
+   * 
+   * @return true, if is duplicate
+   */
+  public boolean isDuplicate() {
+    return MovieList.getInstance().isDuplicate(this);
+  }
+
   /**
    * Checks if is watched.
    * 
@@ -1463,6 +1528,7 @@ public class Movie extends MediaEntity {
    */
   public void setMultiMovieDir(boolean multiDir) {
     this.multiMovieDir = multiDir;
+    markDirty();
   }
 
   /**
@@ -1551,12 +1617,17 @@ public class Movie extends MediaEntity {
    */
   public void setDisc(boolean isDisc) {
     this.isDisc = isDisc;
+    markDirty();
   }
 
   /**
    * Gets the media info video format (i.e. 720p).
    */
   public String getMediaInfoVideoFormat() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.videoFormat;
+    }
     List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
     if (videos.size() > 0) {
       MediaFile mediaFile = videos.get(0);
@@ -1570,6 +1641,10 @@ public class Movie extends MediaEntity {
    * Gets the media info video codec (i.e. divx)
    */
   public String getMediaInfoVideoCodec() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.videoCodec;
+    }
     List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
     if (videos.size() > 0) {
       MediaFile mediaFile = videos.get(0);
@@ -1579,7 +1654,47 @@ public class Movie extends MediaEntity {
     return "";
   }
 
+  /**
+   * the video codecs of all video files
+   * 
+   * @return the video codecs (may contain blank values)
+   */
+  public List<String> getMediaInfoVideoCodecs() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.videoCodecs;
+    }
+    List<String> codecs = new ArrayList<String>();
+    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+      codecs.add(mf.getVideoCodec());
+    }
+    return codecs;
+  }
+
+  /**
+   * the audio codecs of all audio streams of all video files
+   * 
+   * @return the audio codecs (may contain blank values)
+   */
+  public List<String> getMediaInfoAudioCodecs() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.audioCodecs;
+    }
+    List<String> codecs = new ArrayList<String>();
+    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFileAudioStream audio : mf.getAudioStreams()) {
+        codecs.add(audio.getCodec());
+      }
+    }
+    return codecs;
+  }
+
   public int getMediaInfoVideoBitrate() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.videoBitrate;
+    }
     List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
     if (videos.size() > 0) {
       MediaFile mediaFile = videos.get(0);
@@ -1750,14 +1865,75 @@ public class Movie extends MediaEntity {
 
   public void setLastWatched(Date lastWatched) {
     this.lastWatched = lastWatched;
+    markDirty();
+  }
+
+  @Override
+  public boolean isDirty() {
+    if (super.isDirty()) {
+      return true;
+    }
+    // the cast and trailers can only be changed if the details have been loaded
+    return isFullyLoaded() && (isAnyDirty(actors) || isAnyDirty(producers) || isAnyDirty(trailer));
+  }
+
+  @Override
+  public void clearDirty() {
+    super.clearDirty();
+    if (isFullyLoaded()) {
+      clearDirty(actors);
+      clearDirty(producers);
+      clearDirty(trailer);
+    }
   }
 
   @Override
   public void saveToDb() {
+    // only a complete movie is written to the database
+    ensureFullyLoaded();
     // update/insert this movie to the database
     MovieList.getInstance().persistMovie(this);
   }
 
+  /*
+   * the media files are part of the details: load them before they are changed, otherwise the stored ones would overwrite the changes later
+   */
+  @Override
+  public void addToMediaFiles(MediaFile mediaFile) {
+    ensureFullyLoaded();
+    super.addToMediaFiles(mediaFile);
+  }
+
+  @Override
+  public void addToMediaFiles(List<MediaFile> mediaFiles) {
+    ensureFullyLoaded();
+    super.addToMediaFiles(mediaFiles);
+  }
+
+  @Override
+  public void removeFromMediaFiles(MediaFile mediaFile) {
+    ensureFullyLoaded();
+    super.removeFromMediaFiles(mediaFile);
+  }
+
+  @Override
+  public void removeAllMediaFiles() {
+    ensureFullyLoaded();
+    super.removeAllMediaFiles();
+  }
+
+  @Override
+  public void removeAllMediaFiles(MediaFileType type) {
+    ensureFullyLoaded();
+    super.removeAllMediaFiles(type);
+  }
+
+  @Override
+  public void removeAllMediaFilesExceptType(MediaFileType type) {
+    ensureFullyLoaded();
+    super.removeAllMediaFilesExceptType(type);
+  }
+
   @Override
   public void deleteFromDb() {
     // remove this movie from the database
@@ -1865,6 +2041,163 @@ public class Movie extends MediaEntity {
     return this.producers;
   }
 
+  /**
+   * the names of all actors and producers (also available if only the summary projection has been loaded)
+   * 
+   * @return the names of the cast
+   */
+  public List<String> getCastNames() {
+    MovieSummary summary = this.summary;
+    if (summary != null) {
+      return summary.castNames;
+    }
+    List<String> names = new ArrayList<String>(actors.size() + producers.size());
+    for (MovieActor actor : actors) {
+      names.add(actor.getName());
+    }
+    for (MovieProducer producer : producers) {
+      names.add(producer.getName());
+    }
+    return names;
+  }
+
+  /**
+   * is this movie fully loaded or has only its summary projection been loaded (see ensureFullyLoaded())
+   * 
+   * @return true if the movie has been fully loaded
+   */
+  public boolean isFullyLoaded() {
+    return summary == null;
+  }
+
+  /**
+   * create a movie from its summary projection; the details have to be loaded with ensureFullyLoaded() before they are shown or changed
+   * 
+   * @param summary
+   *          the summary projection
+   * @return the movie holding the fields of the summary
+   */
+  public static Movie fromSummary(MovieSummary summary) {
+    Movie movie = new Movie();
+    movie.applySummary(summary);
+    // the formats and codecs are shared with the media files
+    summary.videoFormat = StringPool.SYMBOLS.get(StringUtils.defaultString(summary.videoFormat));
+    summary.videoCodec = StringPool.SYMBOLS.get(StringUtils.defaultString(summary.videoCodec));
+    for (int i = 0; i < summary.videoCodecs.size(); i++) {
+      summary.videoCodecs.set(i, StringPool.SYMBOLS.get(summary.videoCodecs.get(i)));
+    }
+    for (int i = 0; i < summary.audioCodecs.size(); i++) {
+      summary.audioCodecs.set(i, StringPool.SYMBOLS.get(summary.audioCodecs.get(i)));
+    }
+    movie.summary = summary;
+    return movie;
+  }
+
+  /**
+   * create the summary projection of this movie (for the movie table and the filters)
+   * 
+   * @return the summary projection
+   */
+  public MovieSummary toSummary() {
+    MovieSummary summary = new MovieSummary();
+    summary.dbId = dbId;
+    summary.title = title;
+    summary.originalTitle = originalTitle;
+    summary.sortTitle = sortTitle;
+    summary.year = year;
+    summary.rating = rating;
+    summary.dateAdded = dateAdded;
+    summary.ids = new HashMap<String, Object>(ids);
+    summary.movieSetId = movieSetId;
+    summary.path = path;
+    summary.dataSource = dataSource;
+    summary.watched = watched;
+    summary.newlyAdded = newlyAdded;
+    summary.genres = new ArrayList<String>(genres);
+    summary.tags = new ArrayList<String>(tags);
+    summary.certification = certification;
+    summary.mediaSource = mediaSource;
+    summary.director = director;
+    summary.writer = writer;
+
+    // the derived values (from the loaded summary if the details have not been loaded)
+    summary.scraped = isScraped();
+    summary.hasNfoFile = getHasNfoFile();
+    summary.hasImages = getHasImages();
+    summary.hasTrailer = getHasTrailer();
+    summary.hasSubtitles = hasSubtitles();
+    summary.runtime = getRuntime();
+    summary.videoFormat = getMediaInfoVideoFormat();
+    summary.videoBitrate = getMediaInfoVideoBitrate();
+    summary.videoCodec = getMediaInfoVideoCodec();
+    summary.videoCodecs = new ArrayList<String>(getMediaInfoVideoCodecs());
+    summary.audioCodecs = new ArrayList<String>(getMediaInfoAudioCodecs());
+    summary.castNames = new ArrayList<String>(getCastNames());
+    return summary;
+  }
+
+  private void applySummary(MovieSummary summary) {
+    dbId = summary.dbId;
+    title = summary.title;
+    originalTitle = summary.originalTitle;
+    sortTitle = summary.sortTitle;
+    year = summary.year;
+    rating = summary.rating;
+    if (summary.dateAdded != null) {
+      dateAdded = summary.dateAdded;
+    }
+    ids = new HashMap<String, Object>(summary.ids);
+    movieSetId = summary.movieSetId;
+    path = summary.path;
+    dataSource = summary.dataSource;
+    watched = summary.watched;
+    newlyAdded = summary.newlyAdded;
+    genres = new ArrayList<String>(summary.genres);
+    tags = new ArrayList<String>(summary.tags);
+    certification = summary.certification;
+    mediaSource = summary.mediaSource;
+    director = summary.director;
+    writer = summary.writer;
+  }
+
+  /**
+   * load the details of this movie from the database if only the summary projection has been loaded. This is not done implicitly by the getters;
+   * it has to be called before the details are shown or changed (detail panel, scrape, rename, export, ...). The mutators of the media files, the
+   * metadata and the artwork as well as saveToDb() call it themselves
+   * 
+   * @throws IllegalStateException
+   *           if the details could not be loaded - the movie must not be changed/written then
+   */
+  public void ensureFullyLoaded() {
+    if (summary == null) {
+      return;
+    }
+    synchronized (this) {
+      if (summary != null) {
+        MovieList.getInstance().loadFullMovie(this);
+      }
+    }
+  }
+
+  /**
+   * finish loading the details: the stored movie has been read into this object. The summary fields may have been changed since the startup (and
+   * only been written to the summary projection), so the given values take precedence over the stored ones
+   * 
+   * @param current
+   *          the summary of this movie before its details have been read
+   */
+  public synchronized void detailsLoaded(MovieSummary current) {
+    boolean dirty = isDirty();
+    applySummary(current);
+    this.summary = null;
+    initializeAfterLoading();
+
+    // loading the details is no change
+    if (!dirty) {
+      clearDirty();
+    }
+  }
+
   /**
    * Is the movie "stacked" (more than one video file)
    * 
@@ -1876,6 +2209,7 @@ public class Movie extends MediaEntity {
 
   public void setStacked(boolean stacked) {
     this.stacked = stacked;
+    markDirty();
   }
 
   /**
@@ -23,46 +23,47 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.entities.PersonRegistry;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * The Class MovieActor. This class represents the movie actors
+ * The Class MovieActor. This class represents the movie actors; name and thumb URL are held by the shared Person (see PersonRegistry)
  * 
  * @author Manuel Laggner
  */
 public class MovieActor extends AbstractModelObject {
   public static final String ACTOR_DIR = ".actors";
 
-  @JsonProperty
-  private String             name      = "";
+  private Person             person    = PersonRegistry.getInstance().getPerson("", "");
   @JsonProperty
   private String             character = "";
   @JsonProperty
-  private String             thumbUrl  = "";
-  @JsonProperty
   private String             thumbPath = "";
 
   public MovieActor() {
   }
 
   public MovieActor(String name) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
   }
 
   public MovieActor(String name, String character) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
     this.character = character;
   }
 
+  @JsonProperty
   public void setName(String newValue) {
-    String oldValue = name;
-    name = newValue;
+    String oldValue = person.getName();
+    person = PersonRegistry.getInstance().getPerson(newValue, person.getThumbUrl());
     firePropertyChange(NAME, oldValue, newValue);
   }
 
+  @JsonProperty
   public String getName() {
-    return name;
+    return person.getName();
   }
 
   public String getCharacter() {
@@ -75,16 +76,27 @@ public class MovieActor extends AbstractModelObject {
     firePropertyChange(CHARACTER, oldValue, newValue);
   }
 
+  @JsonProperty
   public String getThumbUrl() {
-    return thumbUrl;
+    return person.getThumbUrl();
   }
 
+  @JsonProperty
   public void setThumbUrl(String newValue) {
-    String oldValue = this.thumbUrl;
-    thumbUrl = newValue;
+    String oldValue = person.getThumbUrl();
+    person = PersonRegistry.getInstance().getPerson(person.getName(), newValue);
     firePropertyChange(THUMB, oldValue, newValue);
   }
 
+  /**
+   * get the shared person of this entry
+   * 
+   * @return the person
+   */
+  public Person getPerson() {
+    return person;
+  }
+
   public String getThumbPath() {
     return thumbPath;
   }
@@ -117,7 +129,7 @@ public class MovieActor extends AbstractModelObject {
     MovieActor cast = (MovieActor) obj;
 
     // checks of equality
-    if (StringUtils.equals(name, cast.name) && StringUtils.equals(character, cast.character) && StringUtils.equals(thumbUrl, cast.thumbUrl)) {
+    if (person.equals(cast.person) && StringUtils.equals(character, cast.character)) {
       return true;
     }
 
@@ -126,6 +138,6 @@ public class MovieActor extends AbstractModelObject {
 
   @Override
   public int hashCode() {
-    return new HashCodeBuilder().append(name).append(character).append(thumbUrl).build();
+    return new HashCodeBuilder().append(person).append(character).build();
   }
 }
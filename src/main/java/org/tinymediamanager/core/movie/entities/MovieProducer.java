@@ -23,46 +23,47 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.entities.PersonRegistry;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * The Class MovieProducer. This class is representing a movie producer
+ * The Class MovieProducer. This class is representing a movie producer (the person itself is shared via the PersonRegistry)
  * 
  * @author Manuel Laggner
  */
 public class MovieProducer extends AbstractModelObject {
   public static final String ACTOR_DIR = ".actors";
 
-  @JsonProperty
-  private String             name      = "";
+  private Person             person    = PersonRegistry.getInstance().getPerson("", "");
   @JsonProperty
   private String             role      = "";
   @JsonProperty
-  private String             thumbUrl  = "";
-  @JsonProperty
   private String             thumbPath = "";
 
   public MovieProducer() {
   }
 
   public MovieProducer(String name) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
   }
 
   public MovieProducer(String name, String role) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
     this.role = role;
   }
 
+  @JsonProperty
   public void setName(String newValue) {
-    String oldValue = name;
-    name = newValue;
+    String oldValue = person.getName();
+    person = PersonRegistry.getInstance().getPerson(newValue, person.getThumbUrl());
     firePropertyChange(NAME, oldValue, newValue);
   }
 
+  @JsonProperty
   public String getName() {
-    return name;
+    return person.getName();
   }
 
   public String getRole() {
@@ -75,16 +76,27 @@ public class MovieProducer extends AbstractModelObject {
     firePropertyChange(ROLE, oldValue, newValue);
   }
 
+  @JsonProperty
   public String getThumbUrl() {
-    return thumbUrl;
+    return person.getThumbUrl();
   }
 
+  @JsonProperty
   public void setThumbUrl(String newValue) {
-    String oldValue = this.thumbUrl;
-    thumbUrl = newValue;
+    String oldValue = person.getThumbUrl();
+    person = PersonRegistry.getInstance().getPerson(person.getName(), newValue);
     firePropertyChange(THUMB_URL, oldValue, newValue);
   }
 
+  /**
+   * get the shared person of this entry
+   * 
+   * @return the person
+   */
+  public Person getPerson() {
+    return person;
+  }
+
   public String getThumbPath() {
     return thumbPath;
   }
@@ -117,7 +129,7 @@ public class MovieProducer extends AbstractModelObject {
     MovieProducer cast = (MovieProducer) obj;
 
     // checks of equality
-    if (StringUtils.equals(name, cast.name) && StringUtils.equals(role, cast.role) && StringUtils.equals(thumbUrl, cast.thumbUrl)) {
+    if (person.equals(cast.person) && StringUtils.equals(role, cast.role)) {
       return true;
     }
 
@@ -126,6 +138,6 @@ public class MovieProducer extends AbstractModelObject {
 
   @Override
   public int hashCode() {
-    return new HashCodeBuilder().append(name).append(role).append(thumbUrl).build();
+    return new HashCodeBuilder().append(person).append(role).build();
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.movie.entities;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.tinymediamanager.core.movie.MovieMediaSource;
+import org.tinymediamanager.scraper.Certification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The class MovieSummary. The summary projection of a movie which is loaded on startup: only the fields the movie table (incl. sorting), the
+ * filters and the filter values need - the titles, year, flags, ids, rating, genres, tags, certification, the main video format and the codecs.
+ * Everything else (media files, actors, plot, artwork, ...) stays in the database until the movie is loaded completely with
+ * Movie.ensureFullyLoaded().
+ *
+ * @author Manuel Laggner
+ */
+public class MovieSummary {
+  // the stored fields of the movie
+  @JsonProperty
+  UUID                    dbId;
+  @JsonProperty
+  String                  title         = "";
+  @JsonProperty
+  String                  originalTitle = "";
+  @JsonProperty
+  String                  sortTitle     = "";
+  @JsonProperty
+  String                  year          = "";
+  @JsonProperty
+  float                   rating        = 0f;
+  @JsonProperty
+  Date                    dateAdded;
+  @JsonProperty
+  HashMap<String, Object> ids           = new HashMap<String, Object>(0);
+  @JsonProperty
+  UUID                    movieSetId;
+  @JsonProperty
+  String                  path          = "";
+  @JsonProperty
+  String                  dataSource    = "";
+  @JsonProperty
+  boolean                 watched       = false;
+  @JsonProperty
+  boolean                 newlyAdded    = false;
+  @JsonProperty
+  List<String>            genres        = new ArrayList<String>(0);
+  @JsonProperty
+  List<String>            tags          = new ArrayList<String>(0);
+  @JsonProperty
+  Certification           certification = Certification.NOT_RATED;
+  @JsonProperty
+  MovieMediaSource        mediaSource   = MovieMediaSource.UNKNOWN;
+  @JsonProperty
+  String                  director      = "";
+  @JsonProperty
+  String                  writer        = "";
+
+  // the values derived from the details (media files, cast, ...)
+  @JsonProperty
+  boolean                 scraped       = false;
+  @JsonProperty
+  boolean                 hasNfoFile    = false;
+  @JsonProperty
+  boolean                 hasImages     = false;
+  @JsonProperty
+  boolean                 hasTrailer    = false;
+  @JsonProperty
+  boolean                 hasSubtitles  = false;
+  @JsonProperty
+  int                     runtime       = 0;
+  @JsonProperty
+  String                  videoFormat   = "";
+  @JsonProperty
+  int                     videoBitrate  = 0;
+  @JsonProperty
+  String                  videoCodec    = "";
+  @JsonProperty
+  List<String>            videoCodecs   = new ArrayList<String>(0);
+  @JsonProperty
+  List<String>            audioCodecs   = new ArrayList<String>(0);
+  @JsonProperty
+  List<String>            castNames     = new ArrayList<String>(0);
+
+  public UUID getDbId() {
+    return dbId;
+  }
+}
@@ -27,6 +27,8 @@ import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.MediaMetadata;
 import org.tinymediamanager.scraper.MediaScrapeOptions;
@@ -54,7 +56,9 @@ public class MovieAssignMovieSetTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(1, "scrape");
+    // the movie sets are looked up with the first movie set scraper
+    List<MediaScraper> sets = MediaScraper.getMediaScrapers(ScraperType.MOVIE_SET);
+    initThreadPool(1, "scrape", TmmResource.http(sets.isEmpty() ? "" : sets.get(0).getId()));
     start();
 
     for (int i = 0; i < moviesToScrape.size(); i++) {
@@ -137,6 +141,11 @@ public class MovieAssignMovieSetTask extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.forEntities(TmmLock.MOVIES, moviesToScrape);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
@@ -31,6 +31,7 @@ import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmLock;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.ui.UTF8Control;
 
@@ -105,6 +106,7 @@ public class MovieFindMissingTask extends TmmThreadPool {
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "update.datasource", "message.update.threadcrashed"));
     }
   }
@@ -139,6 +141,11 @@ public class MovieFindMissingTask extends TmmThreadPool {
     return mv;
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.dataSources(TmmLock.MOVIES, dataSources);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
@@ -16,7 +16,10 @@
 package org.tinymediamanager.core.movie.tasks;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.ResourceBundle;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -27,6 +30,8 @@ import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.ui.UTF8Control;
 
@@ -44,7 +49,6 @@ public class MovieReloadMediaInformationTask extends TmmThreadPool {
   public MovieReloadMediaInformationTask(List<Movie> movies) {
     super(BUNDLE.getString("movie.updatemediainfo"));
     moviesToReload = new ArrayList<Movie>(movies);
-    initThreadPool(1, "reloadMI");
   }
 
   @Override
@@ -55,23 +59,48 @@ public class MovieReloadMediaInformationTask extends TmmThreadPool {
       LOGGER.info("get MediaInfo...");
       // update MediaInfo
       start();
+
+      // the files are read per data source - each in the lane of its file system
+      Map<String, List<Movie>> moviesPerDataSource = new LinkedHashMap<String, List<Movie>>();
       for (Movie m : moviesToReload) {
+        List<Movie> movies = moviesPerDataSource.get(m.getDataSource());
+        if (movies == null) {
+          movies = new ArrayList<Movie>();
+          moviesPerDataSource.put(m.getDataSource(), movies);
+        }
+        movies.add(m);
+      }
+
+      for (Entry<String, List<Movie>> entry : moviesPerDataSource.entrySet()) {
+        initThreadPool(1, "reloadMI", TmmResource.forPath(entry.getKey()));
+        for (Movie m : entry.getValue()) {
+          if (cancel) {
+            break;
+          }
+          m.ensureFullyLoaded();
+          submitTask(new MediaFileInformationFetcherTask(m.getMediaFiles(), m, true));
+        }
+
+        waitForCompletionOrCancel();
         if (cancel) {
           break;
         }
-        submitTask(new MediaFileInformationFetcherTask(m.getMediaFiles(), m, true));
       }
-
-      waitForCompletionOrCancel();
       stopWatch.stop();
       LOGGER.info("Done getting MediaInfo - took " + stopWatch);
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "MediaInfo", "message.mediainfo.threadcrashed"));
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.forEntities(TmmLock.MOVIES, moviesToReload);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
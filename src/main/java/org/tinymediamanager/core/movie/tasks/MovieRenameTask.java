@@ -26,6 +26,8 @@ import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.movie.MovieRenamer;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.ui.UTF8Control;
 
@@ -54,7 +56,7 @@ public class MovieRenameTask extends TmmThreadPool {
   @Override
   protected void doInBackground() {
     try {
-      initThreadPool(1, "rename");
+      initThreadPool(1, "rename", TmmResource.LOCAL_IO);
       start();
       // rename movies
       for (int i = 0; i < moviesToRename.size(); i++) {
@@ -70,6 +72,7 @@ public class MovieRenameTask extends TmmThreadPool {
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "Settings.renamer", "message.renamer.threadcrashed"));
     }
   }
@@ -95,6 +98,11 @@ public class MovieRenameTask extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.forEntities(TmmLock.MOVIES, moviesToRename);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
@@ -36,6 +36,8 @@ import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieTrailer;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
@@ -77,7 +79,7 @@ public class MovieScrapeTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(3, "scrape");
+    initThreadPool("scrape", TmmResource.http(options.getMetadataScraper().getId()));
     start();
 
     smartScrapeList = new ArrayList<Movie>(0);
@@ -116,6 +118,11 @@ public class MovieScrapeTask extends TmmThreadPool {
     LOGGER.info("Done scraping movies)");
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.forEntities(TmmLock.MOVIES, moviesToScrape);
+  }
+
   @Override
   public void callback(Object obj) {
     // do not publish task description here, because with different workers the text is never right
@@ -137,6 +144,8 @@ public class MovieScrapeTask extends TmmThreadPool {
     public void run() {
       try {
         movieList = MovieList.getInstance();
+        // scraping changes (and compares against) the details
+        movie.ensureFullyLoaded();
         // set up scrapers
         MovieScraperMetadataConfig scraperMetadataConfig = options.getScraperMetadataConfig();
         MediaScraper mediaMetadataScraper = options.getMetadataScraper();
@@ -204,6 +213,7 @@ public class MovieScrapeTask extends TmmThreadPool {
       }
       catch (Exception e) {
         LOGGER.error("Thread crashed", e);
+        addError();
         MessageManager.instance.pushMessage(
             new Message(MessageLevel.ERROR, "MovieScraper", "message.scrape.threadcrashed", new String[] { ":", e.getLocalizedMessage() }));
       }
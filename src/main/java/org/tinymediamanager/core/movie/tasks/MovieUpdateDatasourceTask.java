@@ -52,6 +52,8 @@ import org.tinymediamanager.core.movie.connector.MovieToMpNfoConnector;
 import org.tinymediamanager.core.movie.connector.MovieToXbmcNfoConnector;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieTrailer;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
@@ -76,11 +78,13 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
 
   // skip folders starting with a SINGLE "." or "._"
   private static final String         skipFoldersRegex = "^[.][\\w@]+.*";
+  private static final int            BATCH_SIZE       = 100;
   private static Pattern              video3DPattern   = Pattern.compile("(?i)[ ._\\(\\[-]3D[ ._\\)\\]-]?");
 
   private List<String>                dataSources;
   private MovieList                   movieList;
   private HashSet<File>               filesFound       = new HashSet<File>();
+  private final List<Movie>           newMovies        = new ArrayList<Movie>();
 
   public MovieUpdateDatasourceTask() {
     super(BUNDLE.getString("update.datasource"));
@@ -120,11 +124,16 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         publishState();
 
         if (MovieModuleManager.MOVIE_SETTINGS.isDetectMovieMultiDir()) {
-          initThreadPool(1, "update"); // use only one, since the multiDir detection relies on accurate values...
+          initThreadPool(1, "update", TmmResource.forPath(ds)); // use only one, since the multiDir detection relies on accurate values...
         }
         else {
-          initThreadPool(3, "update");
+          initThreadPool("update", TmmResource.forPath(ds));
         }
+        // the existing movies of this data source are matched against (and cleaned up by) their media files
+        for (Movie movie : movieList.getMoviesByDataSource(ds)) {
+          movie.ensureFullyLoaded();
+        }
+
         File[] dirs = new File(ds).listFiles();
         if (dirs == null || dirs.length == 0) {
           // error - continue with next datasource
@@ -162,12 +171,14 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
           }
         }
         waitForCompletionOrCancel();
+        flushNewMovies();
 
         if (parseDsRoot) {
           LOGGER.debug("parsing datasource root for movies...");
-          initThreadPool(1, "update");
+          initThreadPool(1, "update", TmmResource.forPath(ds));
           submitTask(new FindMovieTask(new File(ds), ds));
           waitForCompletionOrCancel();
+          flushNewMovies();
         }
 
         if (cancel) {
@@ -187,11 +198,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
 
         // build image cache on import
         if (MovieModuleManager.MOVIE_SETTINGS.isBuildImageCacheOnImport()) {
-          for (Movie movie : movieList.getMovies()) {
-            if (!new File(ds).equals(new File(movie.getDataSource()))) {
-              // check only movies matching datasource
-              continue;
-            }
+          for (Movie movie : movieList.getMoviesByDataSource(ds)) {
             imageFiles.addAll(movie.getImagesToCache());
           }
         }
@@ -213,10 +220,44 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "update.datasource", "message.update.threadcrashed"));
     }
   }
 
+  /**
+   * add a newly found movie to the movie list. The new movies are collected and added in batches, so the movie list (and the UI) gets only one
+   * change event per batch
+   * 
+   * @param movie
+   *          the new movie
+   */
+  private void addNewMovie(Movie movie) {
+    List<Movie> movies = null;
+    synchronized (newMovies) {
+      newMovies.add(movie);
+      if (newMovies.size() >= BATCH_SIZE) {
+        movies = new ArrayList<Movie>(newMovies);
+        newMovies.clear();
+      }
+    }
+    if (movies != null) {
+      movieList.addMovies(movies);
+    }
+  }
+
+  /**
+   * add all pending new movies to the movie list
+   */
+  private void flushNewMovies() {
+    List<Movie> movies;
+    synchronized (newMovies) {
+      movies = new ArrayList<Movie>(newMovies);
+      newMovies.clear();
+    }
+    movieList.addMovies(movies);
+  }
+
   /**
    * parses a list of VIDEO files in a dir and creates movies out of it
    */
@@ -510,7 +551,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
           movie.findActorImages(); // TODO: find as MediaFiles
           LOGGER.debug("store movie into DB " + movie.getTitle());
 
-          movieList.addMovie(movie);
+          addNewMovie(movie);
 
           if (movie.getMovieSet() != null) {
             LOGGER.debug("movie is part of a movieset");
@@ -779,16 +820,13 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
 
     LOGGER.info("removing orphaned movies/files...");
     List<Movie> moviesToRemove = new ArrayList<Movie>();
-    for (int i = movieList.getMovies().size() - 1; i >= 0; i--) {
+    // check only movies matching datasource
+    List<Movie> moviesInDatasource = movieList.getMoviesByDataSource(datasource);
+    for (int i = moviesInDatasource.size() - 1; i >= 0; i--) {
       if (cancel) {
         break;
       }
-      Movie movie = movieList.getMovies().get(i);
-
-      // check only movies matching datasource
-      if (!new File(datasource).equals(new File(movie.getDataSource()))) {
-        continue;
-      }
+      Movie movie = moviesInDatasource.get(i);
 
       File movieDir = new File(movie.getPath());
       if (!filesFound.contains(movieDir)) {
@@ -836,19 +874,16 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     setTaskName(BUNDLE.getString("update.mediainfo"));
     publishState();
 
-    initThreadPool(1, "mediainfo");
+    initThreadPool(1, "mediainfo", TmmResource.forPath(datasource));
 
     LOGGER.info("getting Mediainfo...");
-    for (int i = movieList.getMovies().size() - 1; i >= 0; i--) {
+    // check only movies matching datasource
+    List<Movie> moviesInDatasource = movieList.getMoviesByDataSource(datasource);
+    for (int i = moviesInDatasource.size() - 1; i >= 0; i--) {
       if (cancel) {
         break;
       }
-      Movie movie = movieList.getMovies().get(i);
-
-      // check only movies matching datasource
-      if (!new File(datasource).equals(new File(movie.getDataSource()))) {
-        continue;
-      }
+      Movie movie = moviesInDatasource.get(i);
 
       ArrayList<MediaFile> ungatheredMediaFiles = new ArrayList<MediaFile>();
       for (MediaFile mf : new ArrayList<MediaFile>(movie.getMediaFiles())) {
@@ -863,6 +898,11 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.dataSources(TmmLock.MOVIES, dataSources);
+  }
+
   @Override
   public void callback(Object obj) {
     // do not publish task description here, because with different workers the text is never right
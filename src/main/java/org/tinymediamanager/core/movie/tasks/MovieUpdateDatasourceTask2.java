@@ -63,6 +63,8 @@ import org.tinymediamanager.core.movie.connector.MovieToMpNfoConnector;
 import org.tinymediamanager.core.movie.connector.MovieToXbmcNfoConnector;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieTrailer;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
@@ -94,11 +96,13 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
 
   // skip folders starting with a SINGLE "." or "._"
   private static final String         skipFoldersRegex = "^[.][\\w@]+.*";
+  private static final int            BATCH_SIZE       = 100;
   private static Pattern              video3DPattern   = Pattern.compile("(?i)[ ._\\(\\[-]3D[ ._\\)\\]-]?");
 
   private List<String>                dataSources;
   private MovieList                   movieList;
   private HashSet<Path>               filesFound       = new HashSet<Path>();
+  private final List<Movie>           newMovies        = new ArrayList<Movie>();
 
   public MovieUpdateDatasourceTask2() {
     super(BUNDLE.getString("update.datasource"));
@@ -134,9 +138,13 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
       }
 
       for (String ds : dataSources) {
-        initThreadPool(3, "update");
+        initThreadPool("update", TmmResource.forPath(ds));
         setTaskName(BUNDLE.getString("update.datasource") + " '" + ds + "'");
         publishState();
+        // the existing movies of this data source are matched against (and cleaned up by) their media files
+        for (Movie movie : movieList.getMoviesByDataSource(ds)) {
+          movie.ensureFullyLoaded();
+        }
 
         // ***************************************************************
 
@@ -178,6 +186,7 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
         // submitTask(new FindMovieTask(path, ds));
         // }
         waitForCompletionOrCancel();
+        flushNewMovies();
 
         if (cancel) {
           break;
@@ -196,11 +205,7 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
 
         // build image cache on import
         if (MovieModuleManager.MOVIE_SETTINGS.isBuildImageCacheOnImport()) {
-          for (Movie movie : movieList.getMovies()) {
-            if (!Paths.get(ds).equals(Paths.get(movie.getDataSource()))) {
-              // check only movies matching datasource
-              continue;
-            }
+          for (Movie movie : movieList.getMoviesByDataSource(ds)) {
             imageFiles.addAll(movie.getImagesToCache());
           }
         }
@@ -218,21 +223,49 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
 
       stopWatch.stop();
       LOGGER.info("Done updating datasource :) - took " + stopWatch);
-      System.out.println("FilesFound " + filesFound.size());
-      System.out.println("moviesFound " + movieList.getMovieCount());
-      System.out.println("PreDir " + preDir);
-      System.out.println("PostDir " + postDir);
-      System.out.println("VisFile " + visFile);
-      System.out.println("PreDir2 " + preDir2);
-      System.out.println("PostDir2 " + postDir2);
-      System.out.println("VisFile2 " + visFile2);
+      LOGGER.debug("files found: " + filesFound.size() + ", movies: " + movieList.getMovieCount() + ", dirs visited: " + preDir + "/" + postDir
+          + ", files visited: " + visFile + ", dirs visited (movie dirs): " + preDir2 + "/" + postDir2 + ", files visited (movie dirs): " + visFile2);
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "update.datasource", "message.update.threadcrashed"));
     }
   }
 
+  /**
+   * add a newly found movie to the movie list. The new movies are collected and added in batches, so the movie list (and the UI) gets only one
+   * change event per batch
+   * 
+   * @param movie
+   *          the new movie
+   */
+  private void addNewMovie(Movie movie) {
+    List<Movie> movies = null;
+    synchronized (newMovies) {
+      newMovies.add(movie);
+      if (newMovies.size() >= BATCH_SIZE) {
+        movies = new ArrayList<Movie>(newMovies);
+        newMovies.clear();
+      }
+    }
+    if (movies != null) {
+      movieList.addMovies(movies);
+    }
+  }
+
+  /**
+   * add all pending new movies to the movie list
+   */
+  private void flushNewMovies() {
+    List<Movie> movies;
+    synchronized (newMovies) {
+      movies = new ArrayList<Movie>(newMovies);
+      newMovies.clear();
+    }
+    movieList.addMovies(movies);
+  }
+
   /**
    * ThreadpoolWorker to work off ONE possible movie from root datasource directory
    * 
@@ -451,7 +484,7 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
     movie.findActorImages(); // TODO: find as MediaFiles
     LOGGER.debug("| store movie into DB as: " + movie.getTitle());
 
-    movieList.addMovie(movie);
+    addNewMovie(movie);
 
     if (movie.getMovieSet() != null) {
       LOGGER.debug("| movie is part of a movieset");
@@ -597,7 +630,7 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
         movie.setNewlyAdded(true);
         movie.setPath(mf.getPath());
 
-        movieList.addMovie(movie);
+        addNewMovie(movie);
         movies.add(movie); // add to our cached copy
       }
 
@@ -755,16 +788,13 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
 
     LOGGER.info("removing orphaned movies/files...");
     List<Movie> moviesToRemove = new ArrayList<Movie>();
-    for (int i = movieList.getMovies().size() - 1; i >= 0; i--) {
+    // check only movies matching datasource
+    List<Movie> moviesInDatasource = movieList.getMoviesByDataSource(datasource);
+    for (int i = moviesInDatasource.size() - 1; i >= 0; i--) {
       if (cancel) {
         break;
       }
-      Movie movie = movieList.getMovies().get(i);
-
-      // check only movies matching datasource
-      if (!new File(datasource).equals(new File(movie.getDataSource()))) {
-        continue;
-      }
+      Movie movie = moviesInDatasource.get(i);
 
       Path movieDir = Paths.get(movie.getPath());
       if (!filesFound.contains(movieDir)) {
@@ -812,19 +842,16 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
     setTaskName(BUNDLE.getString("update.mediainfo"));
     publishState();
 
-    initThreadPool(1, "mediainfo");
+    initThreadPool(1, "mediainfo", TmmResource.forPath(datasource));
 
     LOGGER.info("getting Mediainfo...");
-    for (int i = movieList.getMovies().size() - 1; i >= 0; i--) {
+    // check only movies matching datasource
+    List<Movie> moviesInDatasource = movieList.getMoviesByDataSource(datasource);
+    for (int i = moviesInDatasource.size() - 1; i >= 0; i--) {
       if (cancel) {
         break;
       }
-      Movie movie = movieList.getMovies().get(i);
-
-      // check only movies matching datasource
-      if (!new File(datasource).equals(new File(movie.getDataSource()))) {
-        continue;
-      }
+      Movie movie = moviesInDatasource.get(i);
 
       ArrayList<MediaFile> ungatheredMediaFiles = new ArrayList<MediaFile>();
       for (MediaFile mf : new ArrayList<MediaFile>(movie.getMediaFiles())) {
@@ -839,6 +866,11 @@ public class MovieUpdateDatasourceTask2 extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.dataSources(TmmLock.MOVIES, dataSources);
+  }
+
   @Override
   public void callback(Object obj) {
     // do not publish task description here, because with different workers the text is never right
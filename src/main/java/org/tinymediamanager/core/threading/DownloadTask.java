@@ -101,6 +101,11 @@ public class DownloadTask extends TmmTask {
     this.userAgent = userAgent;
   }
 
+  @Override
+  public TmmResource getResource() {
+    return TmmResource.forUrl(url);
+  }
+
   @Override
   protected void doInBackground() {
     try {
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The class ExecutorStatistics. Reports the queue depth, the active threads and the rejected work of an executor. It is the rejection handler of
+ * the executor too, to count the rejected tasks (they are rejected like with the default policy).
+ *
+ * @author Manuel Laggner
+ */
+public class ExecutorStatistics implements ExecutorStatisticsMBean, RejectedExecutionHandler {
+  private final String             name;
+  private final ThreadPoolExecutor executor;
+  private final AtomicLong         rejected = new AtomicLong();
+
+  ExecutorStatistics(String name, ThreadPoolExecutor executor) {
+    this.name = name;
+    this.executor = executor;
+    executor.setRejectedExecutionHandler(this);
+  }
+
+  @Override
+  public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+    rejected.incrementAndGet();
+    throw new RejectedExecutionException("task rejected by " + name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public int getActiveThreads() {
+    return executor.getActiveCount();
+  }
+
+  @Override
+  public int getPoolSize() {
+    return executor.getPoolSize();
+  }
+
+  @Override
+  public int getMaxPoolSize() {
+    return executor.getMaximumPoolSize();
+  }
+
+  @Override
+  public long getCompletedTasks() {
+    return executor.getCompletedTaskCount();
+  }
+
+  @Override
+  public long getRejectedTasks() {
+    return rejected.get();
+  }
+
+  /**
+   * a human readable summary of the metrics
+   *
+   * @return the statistics as string
+   */
+  @Override
+  public String getStatistics() {
+    return name + ": queue depth " + getQueueDepth() + ", active threads " + getActiveThreads() + ", pool size " + getPoolSize() + ", completed "
+        + getCompletedTasks() + ", rejected " + getRejectedTasks();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class TaskStatistics. Collects the metrics of all runs of one task type: run time, time waiting in the queue, processed work units, errors
+ * and cancellations. All times are in ms.
+ *
+ * @author Manuel Laggner
+ */
+public class TaskStatistics implements TaskStatisticsMBean {
+  private final String name;
+
+  private long         executions;
+  private long         cancellations;
+  private long         errors;
+  private long         totalRunTime;
+  private long         maxRunTime;
+  private long         totalQueueWait;
+  private long         workUnits;
+
+  TaskStatistics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * record a finished run of the task
+   *
+   * @param queueWait
+   *          the time the task has been waiting to be executed (ns)
+   * @param runTime
+   *          the run time of the task (ns)
+   * @param workUnits
+   *          the processed work units
+   * @param errors
+   *          the amount of errors
+   * @param cancelled
+   *          has the task been cancelled
+   */
+  synchronized void record(long queueWait, long runTime, long workUnits, long errors, boolean cancelled) {
+    this.executions++;
+    this.totalQueueWait += queueWait;
+    this.totalRunTime += runTime;
+    if (runTime > maxRunTime) {
+      this.maxRunTime = runTime;
+    }
+    this.workUnits += workUnits;
+    this.errors += errors;
+    if (cancelled) {
+      this.cancellations++;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public synchronized long getExecutions() {
+    return executions;
+  }
+
+  @Override
+  public synchronized long getCancellations() {
+    return cancellations;
+  }
+
+  @Override
+  public synchronized long getErrors() {
+    return errors;
+  }
+
+  @Override
+  public synchronized long getTotalRunTime() {
+    return TimeUnit.NANOSECONDS.toMillis(totalRunTime);
+  }
+
+  @Override
+  public synchronized long getAverageRunTime() {
+    return executions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunTime / executions);
+  }
+
+  @Override
+  public synchronized long getMaxRunTime() {
+    return TimeUnit.NANOSECONDS.toMillis(maxRunTime);
+  }
+
+  @Override
+  public synchronized long getAverageQueueWait() {
+    return executions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueWait / executions);
+  }
+
+  @Override
+  public synchronized long getWorkUnits() {
+    return workUnits;
+  }
+
+  @Override
+  public synchronized double getWorkUnitsPerSecond() {
+    return totalRunTime == 0 ? 0 : workUnits * 1e9 / totalRunTime;
+  }
+
+  /**
+   * a human readable summary of the metrics
+   *
+   * @return the statistics as string
+   */
+  @Override
+  public synchronized String getStatistics() {
+    return name + ": runs " + executions + ", cancelled " + cancellations + ", errors " + errors + ", run time avg " + getAverageRunTime()
+        + " ms (max " + getMaxRunTime() + " ms), queue wait avg " + getAverageQueueWait() + " ms, work units " + workUnits + " ("
+        + String.format(Locale.ROOT, "%.1f", getWorkUnitsPerSecond()) + "/s)";
+  }
+}
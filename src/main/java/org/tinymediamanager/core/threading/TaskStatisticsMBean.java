@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+/**
+ * The interface TaskStatisticsMBean. The JMX view of the metrics of one task type.
+ *
+ * @author Manuel Laggner
+ */
+public interface TaskStatisticsMBean {
+  public long getExecutions();
+
+  public long getCancellations();
+
+  public long getErrors();
+
+  public long getTotalRunTime();
+
+  public long getAverageRunTime();
+
+  public long getMaxRunTime();
+
+  public long getAverageQueueWait();
+
+  public long getWorkUnits();
+
+  public double getWorkUnitsPerSecond();
+
+  public String getStatistics();
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.tvshow.entities.TvShow;
+import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
+
+/**
+ * The class TmmLock. Describes what a main task is working on: a single data source of a module, a whole module (movies/TV shows) or everything.
+ * Main tasks with conflicting locks are run one after another, all other main tasks may run at the same time.
+ *
+ * @author Manuel Laggner
+ */
+public final class TmmLock {
+  public static final String  MOVIES   = "movies";
+  public static final String  TV_SHOWS = "tvShows";
+
+  /** the lock of tasks which do not declare what they are working on */
+  public static final TmmLock GLOBAL   = new TmmLock(null, null);
+
+  private final String        module;
+  private final String        dataSource;
+
+  private TmmLock(String module, String dataSource) {
+    this.module = module;
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * the lock for the whole module
+   *
+   * @param module
+   *          the module (MOVIES or TV_SHOWS)
+   * @return the lock
+   */
+  public static TmmLock module(String module) {
+    return new TmmLock(module, null);
+  }
+
+  /**
+   * the lock for a single data source of the module
+   *
+   * @param module
+   *          the module (MOVIES or TV_SHOWS)
+   * @param dataSource
+   *          the data source
+   * @return the lock
+   */
+  public static TmmLock dataSource(String module, String dataSource) {
+    if (StringUtils.isBlank(dataSource)) {
+      return module(module);
+    }
+    return new TmmLock(module, new File(dataSource).getAbsolutePath());
+  }
+
+  /**
+   * the locks for the given data sources of the module
+   *
+   * @param module
+   *          the module (MOVIES or TV_SHOWS)
+   * @param dataSources
+   *          the data sources
+   * @return the locks
+   */
+  public static List<TmmLock> dataSources(String module, Collection<String> dataSources) {
+    List<TmmLock> locks = new ArrayList<TmmLock>(dataSources.size());
+    for (String dataSource : dataSources) {
+      locks.add(dataSource(module, dataSource));
+    }
+    return locks;
+  }
+
+  /**
+   * the locks for the data sources of the given entities (movies, TV shows or episodes)
+   *
+   * @param module
+   *          the module (MOVIES or TV_SHOWS)
+   * @param entities
+   *          the entities the task is working on
+   * @return the locks
+   */
+  public static List<TmmLock> forEntities(String module, Collection<? extends MediaEntity> entities) {
+    Set<String> dataSources = new LinkedHashSet<String>();
+    for (MediaEntity entity : entities) {
+      if (entity instanceof Movie) {
+        dataSources.add(((Movie) entity).getDataSource());
+      }
+      else if (entity instanceof TvShow) {
+        dataSources.add(((TvShow) entity).getDataSource());
+      }
+      else if (entity instanceof TvShowEpisode && ((TvShowEpisode) entity).getTvShow() != null) {
+        dataSources.add(((TvShowEpisode) entity).getTvShow().getDataSource());
+      }
+    }
+    return dataSources(module, dataSources);
+  }
+
+  /**
+   * do both locks cover the same data?
+   *
+   * @param other
+   *          the other lock
+   * @return true if the tasks holding these locks must not run at the same time
+   */
+  public boolean conflictsWith(TmmLock other) {
+    if (module == null || other.module == null) {
+      return true;
+    }
+    if (!module.equals(other.module)) {
+      return false;
+    }
+    if (dataSource == null || other.dataSource == null) {
+      return true;
+    }
+    return dataSource.equals(other.dataSource);
+  }
+
+  @Override
+  public String toString() {
+    if (module == null) {
+      return "global";
+    }
+    return dataSource == null ? module : module + ":" + dataSource;
+  }
+}
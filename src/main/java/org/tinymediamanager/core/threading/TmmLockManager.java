@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class TmmLockManager. Serializes the main tasks with conflicting locks: a task may start if its locks do not conflict with the locks of the
+ * running tasks and of the tasks which have been waiting before (so conflicting tasks are run in the order they have been queued).
+ *
+ * @author Manuel Laggner
+ */
+public class TmmLockManager {
+  private static final Logger LOGGER  = LoggerFactory.getLogger(TmmLockManager.class);
+
+  private final List<Ticket>  holders = new ArrayList<Ticket>();
+  private final List<Ticket>  waiting = new ArrayList<Ticket>();
+
+  /**
+   * wait until the given locks can be acquired
+   *
+   * @param owner
+   *          the owner of the locks (the task)
+   * @param locks
+   *          the locks
+   * @throws InterruptedException
+   *           if the thread is interrupted while waiting
+   */
+  public synchronized void acquire(Object owner, List<TmmLock> locks) throws InterruptedException {
+    Ticket ticket = new Ticket(owner, locks);
+    waiting.add(ticket);
+    try {
+      while (!canRun(ticket)) {
+        LOGGER.debug("waiting for locks " + locks);
+        wait();
+      }
+    }
+    finally {
+      waiting.remove(ticket);
+      // the order of the waiting tasks changed
+      notifyAll();
+    }
+    holders.add(ticket);
+  }
+
+  /**
+   * release the locks of the given owner
+   *
+   * @param owner
+   *          the owner of the locks (the task)
+   */
+  public synchronized void release(Object owner) {
+    for (int i = holders.size() - 1; i >= 0; i--) {
+      if (holders.get(i).owner == owner) {
+        holders.remove(i);
+      }
+    }
+    notifyAll();
+  }
+
+  /**
+   * are there tasks holding or waiting for locks?
+   *
+   * @return true if there are tasks holding or waiting for locks
+   */
+  public synchronized boolean isBusy() {
+    return !holders.isEmpty() || !waiting.isEmpty();
+  }
+
+  private boolean canRun(Ticket ticket) {
+    for (Ticket holder : holders) {
+      if (holder.conflictsWith(ticket)) {
+        return false;
+      }
+    }
+    for (Ticket other : waiting) {
+      if (other == ticket) {
+        break;
+      }
+      if (other.conflictsWith(ticket)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Ticket {
+    private final Object        owner;
+    private final List<TmmLock> locks;
+
+    private Ticket(Object owner, List<TmmLock> locks) {
+      this.owner = owner;
+      this.locks = locks;
+    }
+
+    private boolean conflictsWith(Ticket other) {
+      for (TmmLock lock : locks) {
+        for (TmmLock otherLock : other.locks) {
+          if (lock.conflictsWith(otherLock)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+}
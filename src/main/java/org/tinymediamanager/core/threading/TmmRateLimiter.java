@@ -0,0 +1,405 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.threading.TmmResource.ResourceType;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * The class TmmRateLimiter. Governs the outgoing HTTP traffic per host: every request needs a token of the token bucket of its host (the rate) and
+ * a free slot (the max. parallel requests). The slot is held until the body of the response has been read completely or closed, so also the
+ * downloads of artwork and trailers are limited. If a host answers with 429 (too many requests) or 503 (service unavailable), the rate of this host is
+ * halved and the host is paused (for the time given in Retry-After or an increasing backoff); GET/HEAD requests are retried afterwards. Every
+ * successful request raises the rate again, up to the configured one.<br>
+ * The limiter is hooked into the shared HTTP client as interceptor, so all requests (scrapers, artwork, trailers) pass it.
+ *
+ * @author Manuel Laggner
+ */
+public class TmmRateLimiter {
+  private static final Logger            LOGGER      = LoggerFactory.getLogger(TmmRateLimiter.class);
+  private static final TmmRateLimiter    instance    = new TmmRateLimiter();
+
+  private static final int               MAX_RETRIES = 2;
+  private static final long              MAX_BACKOFF = TimeUnit.SECONDS.toMillis(60);
+  private static final double            MIN_RATE    = 0.5;
+
+  private final Map<String, HostLimiter> hosts       = new HashMap<String, HostLimiter>();
+  private final Map<String, double[]>    limits      = new HashMap<String, double[]>();
+  private final Interceptor              interceptor = new RateLimitInterceptor();
+
+  private TmmRateLimiter() {
+    // the published limits of the providers (requests per second, burst)
+    setLimits("api.themoviedb.org", 4, 40, 0);
+    setLimits("image.tmdb.org", 20, 20, 0);
+  }
+
+  public static TmmRateLimiter getInstance() {
+    return instance;
+  }
+
+  /**
+   * hook the limiter into the given HTTP client (if not already done)
+   *
+   * @param client
+   *          the HTTP client
+   */
+  public void install(OkHttpClient client) {
+    if (client != null && !client.interceptors().contains(interceptor)) {
+      client.interceptors().add(interceptor);
+    }
+  }
+
+  /**
+   * set the limits for the given host
+   *
+   * @param host
+   *          the host name
+   * @param rate
+   *          the requests per second
+   * @param burst
+   *          the amount of requests which may be done at once (after a pause)
+   * @param maxConcurrent
+   *          the max. amount of parallel requests (0 = the HTTP limit of the scheduler)
+   */
+  public synchronized void setLimits(String host, double rate, double burst, int maxConcurrent) {
+    String key = host.toLowerCase(Locale.ROOT);
+    limits.put(key, new double[] { rate, burst, maxConcurrent });
+    hosts.remove(key);
+  }
+
+  /**
+   * get the limiter for the given host
+   *
+   * @param host
+   *          the host name
+   * @return the limiter of this host
+   */
+  synchronized HostLimiter getHostLimiter(String host) {
+    String key = StringUtils.defaultString(host).toLowerCase(Locale.ROOT);
+    HostLimiter limiter = hosts.get(key);
+    if (limiter == null) {
+      double[] limit = limits.get(key);
+      if (limit == null) {
+        // default: 10 requests per second
+        limit = new double[] { 10, 10, 0 };
+      }
+      int maxConcurrent = (int) limit[2];
+      if (maxConcurrent <= 0) {
+        maxConcurrent = TmmScheduler.getInstance().getLimit(ResourceType.HTTP);
+      }
+      limiter = new HostLimiter(key, limit[0], limit[1], maxConcurrent);
+      hosts.put(key, limiter);
+    }
+    return limiter;
+  }
+
+  /**
+   * get the live statistics of all hosts
+   *
+   * @return one line per host
+   */
+  public synchronized List<String> getStatistics() {
+    List<String> statistics = new ArrayList<String>();
+    for (HostLimiter limiter : new TreeMap<String, HostLimiter>(hosts).values()) {
+      statistics.add(limiter.toString());
+    }
+    return statistics;
+  }
+
+  /**
+   * the interceptor for the HTTP client
+   */
+  private class RateLimitInterceptor implements Interceptor {
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+      Request request = chain.request();
+      HostLimiter limiter = getHostLimiter(request.url().getHost());
+
+      for (int retry = 0;; retry++) {
+        try {
+          limiter.acquire();
+        }
+        catch (InterruptedException e) {
+          throw new IOException("interrupted while waiting for " + limiter.host);
+        }
+
+        Response response;
+        try {
+          response = chain.proceed(request);
+        }
+        catch (IOException e) {
+          limiter.release();
+          throw e;
+        }
+        catch (RuntimeException e) {
+          limiter.release();
+          throw e;
+        }
+
+        // the slot is released when the body has been consumed/closed
+        ResponseBody body = response.body();
+        if (body == null) {
+          limiter.release();
+        }
+        else {
+          response = response.newBuilder().body(new SlotResponseBody(body, limiter)).build();
+        }
+
+        int code = response.code();
+        limiter.onResponse(code, response.header("Retry-After"));
+        if ((code != 429 && code != 503) || retry >= MAX_RETRIES || !isIdempotent(request)) {
+          return response;
+        }
+
+        // retry after the backoff
+        response.body().close();
+      }
+    }
+  }
+
+  /**
+   * the body of a response which holds the slot of its host until it has been read completely or closed
+   */
+  private static class SlotResponseBody extends ResponseBody {
+    private final ResponseBody  body;
+    private final HostLimiter   limiter;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+    private BufferedSource      source;
+
+    private SlotResponseBody(ResponseBody body, HostLimiter limiter) {
+      this.body = body;
+      this.limiter = limiter;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return body.contentType();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+      return body.contentLength();
+    }
+
+    @Override
+    public synchronized BufferedSource source() throws IOException {
+      if (source == null) {
+        source = Okio.buffer(new ForwardingSource(body.source()) {
+          @Override
+          public long read(Buffer sink, long byteCount) throws IOException {
+            long read;
+            try {
+              read = super.read(sink, byteCount);
+            }
+            catch (IOException e) {
+              release();
+              throw e;
+            }
+            if (read == -1) {
+              // exhausted
+              release();
+            }
+            return read;
+          }
+
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            }
+            finally {
+              release();
+            }
+          }
+        });
+      }
+      return source;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        body.close();
+      }
+      finally {
+        release();
+      }
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        limiter.release();
+      }
+    }
+  }
+
+  /**
+   * only requests without side effects may be resent transparently
+   */
+  private static boolean isIdempotent(Request request) {
+    return "GET".equals(request.method()) || "HEAD".equals(request.method());
+  }
+
+  /**
+   * the token bucket and the parallel requests of a single host
+   */
+  static class HostLimiter {
+    private final String    host;
+    private final double    maxRate;
+    private final double    burst;
+    private final Semaphore slots;
+    private final int       maxConcurrent;
+
+    private double          rate;
+    private double          tokens;
+    private long            lastRefill;
+    private long            pausedUntil;
+    private int             backoffs;
+
+    // statistics
+    private long            requests;
+    private long            throttled;
+    private long            rejected;
+    private long            windowStart;
+    private long            windowRequests;
+    private double          throughput;
+
+    HostLimiter(String host, double rate, double burst, int maxConcurrent) {
+      this.host = host;
+      this.maxRate = rate;
+      this.rate = rate;
+      this.burst = Math.max(1, burst);
+      this.tokens = this.burst;
+      this.maxConcurrent = maxConcurrent;
+      this.slots = new Semaphore(maxConcurrent, true);
+      this.lastRefill = System.nanoTime();
+      this.windowStart = lastRefill;
+    }
+
+    void acquire() throws InterruptedException {
+      // take the token first: a paused host must not block its slots while waiting
+      long waitNanos = reserve();
+      if (waitNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+      slots.acquire();
+    }
+
+    void release() {
+      slots.release();
+    }
+
+    /**
+     * take a token of the bucket
+     *
+     * @return the time to wait for the token (in ns)
+     */
+    private synchronized long reserve() {
+      long now = System.nanoTime();
+      tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1e9);
+      lastRefill = now;
+
+      // a missing token is taken on credit: the request has to wait until it has been refilled
+      tokens -= 1;
+      long waitNanos = tokens < 0 ? (long) (-tokens / rate * 1e9) : 0;
+      if (pausedUntil - now > waitNanos) {
+        waitNanos = pausedUntil - now;
+      }
+
+      requests++;
+      windowRequests++;
+      if (now - windowStart >= TimeUnit.SECONDS.toNanos(10)) {
+        throughput = windowRequests * 1e9 / (now - windowStart);
+        windowStart = now;
+        windowRequests = 0;
+      }
+      if (waitNanos > 0) {
+        throttled++;
+      }
+      return waitNanos;
+    }
+
+    synchronized void onResponse(int code, String retryAfter) {
+      if (code == 429 || code == 503) {
+        rejected++;
+        backoffs++;
+        rate = Math.max(MIN_RATE, rate / 2);
+
+        long pause = Math.min(MAX_BACKOFF, 1000L << Math.min(backoffs - 1, 6));
+        if (StringUtils.isNumeric(retryAfter)) {
+          pause = Math.min(MAX_BACKOFF, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)));
+        }
+        pausedUntil = Math.max(pausedUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pause));
+        LOGGER.info(host + " answered with " + code + " - reducing rate to " + String.format(Locale.ROOT, "%.1f", rate) + "/s and pausing for "
+            + pause + "ms");
+      }
+      else if (code < 400) {
+        backoffs = 0;
+        // additive increase up to the configured rate
+        rate = Math.min(maxRate, rate + maxRate / 20);
+      }
+    }
+
+    synchronized double getRate() {
+      return rate;
+    }
+
+    /**
+     * get the requests per second (of the last 10 seconds)
+     *
+     * @return the throughput
+     */
+    synchronized double getThroughput() {
+      long elapsed = System.nanoTime() - windowStart;
+      if (elapsed >= TimeUnit.SECONDS.toNanos(1) && (throughput == 0 || elapsed >= TimeUnit.SECONDS.toNanos(10))) {
+        // the current window is more recent
+        return windowRequests * 1e9 / elapsed;
+      }
+      return throughput;
+    }
+
+    @Override
+    public synchronized String toString() {
+      return String.format(Locale.ROOT, "%s: %d requests, %.1f/s (limit %.1f/s, %d parallel), %d throttled, %d rejected (429/503)", host, requests,
+          getThroughput(), rate, maxConcurrent, throttled, rejected);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class TmmResource. Describes the resource a task is mainly working on: the CPU, the local disks, a mount of a network share or a HTTP host.
+ * The TmmScheduler runs the tasks of every resource in a lane of its own, so that e.g. a slow NAS does not block the scraping and many scrape
+ * threads do not overwhelm a single API host.
+ *
+ * @author Manuel Laggner
+ */
+public final class TmmResource {
+  private static final Logger                 LOGGER     = LoggerFactory.getLogger(TmmResource.class);
+  private static final List<String>           NETWORK_FS = Arrays.asList("nfs", "nfs4", "cifs", "smb", "smbfs", "smb2", "afpfs", "webdav",
+      "davfs", "fuse.sshfs", "9p");
+  private static final Map<Path, TmmResource> PATH_CACHE = new HashMap<Path, TmmResource>();
+
+  public static final TmmResource             CPU        = new TmmResource(ResourceType.CPU, "");
+  public static final TmmResource             LOCAL_IO   = new TmmResource(ResourceType.LOCAL_IO, "");
+
+  public enum ResourceType {
+    CPU,
+    LOCAL_IO,
+    NETWORK_IO,
+    HTTP;
+  }
+
+  private final ResourceType type;
+  private final String       name;
+
+  private TmmResource(ResourceType type, String name) {
+    this.type = type;
+    this.name = name == null ? "" : name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * the resource for the given mount of a network share
+   *
+   * @param mount
+   *          the name of the mount (e.g. the name of the file store or the root of an UNC path)
+   * @return the resource
+   */
+  public static TmmResource networkIo(String mount) {
+    return new TmmResource(ResourceType.NETWORK_IO, mount);
+  }
+
+  /**
+   * the resource for the given HTTP host
+   *
+   * @param host
+   *          the host name (or for scrapers their id)
+   * @return the resource
+   */
+  public static TmmResource http(String host) {
+    return new TmmResource(ResourceType.HTTP, host);
+  }
+
+  /**
+   * the HTTP resource for the host of the given URL
+   *
+   * @param url
+   *          the url
+   * @return the resource
+   */
+  public static TmmResource forUrl(String url) {
+    String host = "";
+    try {
+      host = StringUtils.defaultString(new URI(url).getHost());
+    }
+    catch (Exception e) {
+      LOGGER.trace("could not parse host of " + url);
+    }
+    return http(host);
+  }
+
+  /**
+   * the IO resource of the given path: a network mount if the file store is a network file system (or an UNC path), the local disks otherwise
+   *
+   * @param path
+   *          the path (e.g. a data source)
+   * @return the resource
+   */
+  public static TmmResource forPath(String path) {
+    if (StringUtils.isBlank(path)) {
+      return LOCAL_IO;
+    }
+    try {
+      return forPath(Paths.get(path));
+    }
+    catch (InvalidPathException e) {
+      return LOCAL_IO;
+    }
+  }
+
+  /**
+   * the IO resource of the given path: a network mount if the file store is a network file system (or an UNC path), the local disks otherwise
+   *
+   * @param path
+   *          the path (e.g. a data source)
+   * @return the resource
+   */
+  public static TmmResource forPath(Path path) {
+    Path key = path.toAbsolutePath();
+    synchronized (PATH_CACHE) {
+      TmmResource resource = PATH_CACHE.get(key);
+      if (resource == null) {
+        resource = detectResource(key);
+        if (resource == null) {
+          // not available (yet) - do not cache
+          return LOCAL_IO;
+        }
+        PATH_CACHE.put(key, resource);
+      }
+      return resource;
+    }
+  }
+
+  private static TmmResource detectResource(Path path) {
+    // UNC path
+    Path root = path.getRoot();
+    if (root != null && root.toString().startsWith("\\\\")) {
+      return networkIo(root.toString());
+    }
+
+    try {
+      FileStore store = Files.getFileStore(path);
+      if (NETWORK_FS.contains(store.type().toLowerCase(Locale.ROOT))) {
+        return networkIo(store.name());
+      }
+    }
+    catch (IOException e) {
+      LOGGER.debug("could not detect the file store of " + path + ": " + e.getMessage());
+      return null;
+    }
+    return LOCAL_IO;
+  }
+
+  public ResourceType getType() {
+    return type;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TmmResource)) {
+      return false;
+    }
+    TmmResource other = (TmmResource) obj;
+    return type == other.type && name.equals(other.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return type.hashCode() * 31 + name.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    if (name.isEmpty()) {
+      return type.name().toLowerCase(Locale.ROOT);
+    }
+    return type.name().toLowerCase(Locale.ROOT) + "-" + name;
+  }
+}
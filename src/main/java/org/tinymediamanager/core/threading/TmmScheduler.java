@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.threading.TmmResource.ResourceType;
+import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
+
+/**
+ * The class TmmScheduler. The central scheduler for the work of all tasks: every resource (CPU, local disks, every mount of a network share, every
+ * HTTP host) has a lane (executor) of its own, whose size is given by the resource type. The limits are taken from the settings; a limit of 0 means
+ * auto sized:
+ * <ul>
+ * <li>CPU: one thread per core</li>
+ * <li>local IO: up to 4 threads (more parallel reads only cause seeks)</li>
+ * <li>network IO: 8 threads per mount (the access is latency bound, so parallel requests are needed to saturate a NAS)</li>
+ * <li>HTTP: 3 threads per host (the rate of the requests is governed by the TmmRateLimiter)</li>
+ * </ul>
+ *
+ * @author Manuel Laggner
+ */
+public class TmmScheduler {
+  private static final Logger                        LOGGER   = LoggerFactory.getLogger(TmmScheduler.class);
+  private static final TmmScheduler                  instance = new TmmScheduler();
+
+  private final Map<TmmResource, ThreadPoolExecutor> lanes    = new HashMap<TmmResource, ThreadPoolExecutor>();
+  private final Map<ResourceType, Integer>           limits   = new HashMap<ResourceType, Integer>();
+
+  private TmmScheduler() {
+    readLimits();
+
+    Settings settings = Settings.getInstance();
+    if (settings != null) {
+      settings.addSynchronousPropertyChangeListener(new PropertyChangeListener() {
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+          String property = evt.getPropertyName();
+          if ("cpuThreads".equals(property) || "localIoThreads".equals(property) || "networkIoThreads".equals(property)
+              || "httpThreads".equals(property)) {
+            readLimits();
+          }
+        }
+      });
+    }
+  }
+
+  public static TmmScheduler getInstance() {
+    return instance;
+  }
+
+  /**
+   * get the lane (executor) for the given resource
+   *
+   * @param resource
+   *          the resource the tasks are working on
+   * @return the executor of this resource
+   */
+  public synchronized ExecutorService getExecutor(TmmResource resource) {
+    ThreadPoolExecutor executor = lanes.get(resource);
+    if (executor == null || executor.isShutdown()) {
+      int threads = getLimit(resource.getType());
+      executor = new ThreadPoolExecutor(threads, threads, // max threads
+          2, TimeUnit.SECONDS, // time to wait before closing idle workers
+          new LinkedBlockingQueue<Runnable>(), // our queue
+          new TmmThreadFactory(resource.toString()));
+      executor.allowCoreThreadTimeOut(true);
+      TmmTaskMetrics.getInstance().registerExecutor("lane " + resource, executor);
+      lanes.put(resource, executor);
+      LOGGER.debug("created lane " + resource + " with " + threads + " threads");
+    }
+    return executor;
+  }
+
+  /**
+   * get the amount of threads which may work on the given resource at the same time
+   *
+   * @param resource
+   *          the resource
+   * @return the limit for this resource
+   */
+  public int getLimit(TmmResource resource) {
+    return getLimit(resource.getType());
+  }
+
+  /**
+   * get the amount of threads which may work on one resource of the given type at the same time
+   *
+   * @param type
+   *          the resource type
+   * @return the limit for this type
+   */
+  public synchronized int getLimit(ResourceType type) {
+    Integer limit = limits.get(type);
+    return limit == null ? 1 : limit;
+  }
+
+  /**
+   * get the max. amount of sub tasks a thread pool may queue up (submitting more blocks the producer until some sub tasks have finished)
+   *
+   * @return the queue size
+   */
+  public int getQueueSize() {
+    Settings settings = Settings.getInstance();
+    return limit(settings == null ? 0 : settings.getTaskQueueSize(), 1000);
+  }
+
+  /**
+   * (re)read the limits from the settings and resize the existing lanes
+   */
+  private synchronized void readLimits() {
+    Settings settings = Settings.getInstance();
+    int cpus = Runtime.getRuntime().availableProcessors();
+
+    limits.put(ResourceType.CPU, limit(settings == null ? 0 : settings.getCpuThreads(), cpus));
+    limits.put(ResourceType.LOCAL_IO, limit(settings == null ? 0 : settings.getLocalIoThreads(), Math.min(4, cpus)));
+    limits.put(ResourceType.NETWORK_IO, limit(settings == null ? 0 : settings.getNetworkIoThreads(), 8));
+    limits.put(ResourceType.HTTP, limit(settings == null ? 0 : settings.getHttpThreads(), 3));
+
+    for (Map.Entry<TmmResource, ThreadPoolExecutor> entry : lanes.entrySet()) {
+      resize(entry.getValue(), getLimit(entry.getKey().getType()));
+    }
+  }
+
+  private int limit(int configured, int auto) {
+    return configured > 0 ? configured : Math.max(1, auto);
+  }
+
+  private void resize(ThreadPoolExecutor executor, int threads) {
+    // the core size must never exceed the max size
+    if (threads > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(threads);
+      executor.setCorePoolSize(threads);
+    }
+    else {
+      executor.setCorePoolSize(threads);
+      executor.setMaximumPoolSize(threads);
+    }
+  }
+
+  /**
+   * shut down all lanes (running tasks are finished)
+   */
+  public synchronized void shutdown() {
+    for (ThreadPoolExecutor executor : lanes.values()) {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * hard shutdown of all lanes
+   */
+  public synchronized void shutdownNow() {
+    for (ThreadPoolExecutor executor : lanes.values()) {
+      if (!executor.isTerminated()) {
+        executor.shutdownNow();
+      }
+    }
+  }
+}
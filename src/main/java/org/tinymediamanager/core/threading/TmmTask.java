@@ -17,6 +17,7 @@ package org.tinymediamanager.core.threading;
 
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The class TmmTask. The main class representing tasks in tmm
@@ -34,6 +35,10 @@ public abstract class TmmTask implements Runnable, TmmTaskHandle {
   protected int                      progressDone;
   protected boolean                  cancel;
 
+  // metrics
+  private long                       queuedTime;
+  private final AtomicInteger        errors    = new AtomicInteger();
+
   protected TmmTask(String taskName, int workUnits, TaskType type) {
     this.taskName = taskName;
     this.workUnits = workUnits;
@@ -67,6 +72,15 @@ public abstract class TmmTask implements Runnable, TmmTaskHandle {
     return state;
   }
 
+  /**
+   * the resource this task is mainly working on; the task is executed in the lane of this resource
+   * 
+   * @return the resource
+   */
+  public TmmResource getResource() {
+    return TmmResource.CPU;
+  }
+
   protected void setTaskName(String taskName) {
     this.taskName = taskName;
   }
@@ -88,10 +102,20 @@ public abstract class TmmTask implements Runnable, TmmTaskHandle {
   }
 
   void setState(TaskState newState) {
+    if (newState == TaskState.QUEUED) {
+      queuedTime = System.nanoTime();
+    }
     this.state = newState;
     informListeners();
   }
 
+  /**
+   * count an error of this task (for the metrics)
+   */
+  protected void addError() {
+    errors.incrementAndGet();
+  }
+
   public final void removeListener(final TmmTaskListener listener) {
     listeners.remove(listener);
   }
@@ -109,12 +133,19 @@ public abstract class TmmTask implements Runnable, TmmTaskHandle {
       return;
     }
 
+    long startTime = System.nanoTime();
     start();
     try {
       doInBackground();
     }
+    catch (RuntimeException e) {
+      addError();
+      throw e;
+    }
     finally {
       finish();
+      TmmTaskMetrics.getInstance().taskFinished(this, queuedTime == 0 ? 0 : startTime - queuedTime, System.nanoTime() - startTime,
+          errors.get());
     }
   }
 
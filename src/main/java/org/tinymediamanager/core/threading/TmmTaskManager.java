@@ -15,15 +15,23 @@
  */
 package org.tinymediamanager.core.threading;
 
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Queue;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.threading.TmmTaskHandle.TaskState;
 import org.tinymediamanager.core.threading.TmmTaskHandle.TaskType;
@@ -36,23 +44,26 @@ import org.tinymediamanager.ui.UTF8Control;
  * @author Manuel Laggner
  */
 public class TmmTaskManager implements TmmTaskListener {
+  private static final Logger            LOGGER           = LoggerFactory.getLogger(TmmTaskManager.class);
   private static final ResourceBundle    BUNDLE           = ResourceBundle.getBundle("messages", new UTF8Control()); //$NON-NLS-1$
   private final static TmmTaskManager    instance         = new TmmTaskManager();
   private final Set<TmmTaskListener>     taskListener     = new CopyOnWriteArraySet<TmmTaskListener>();
   private final Set<TmmTaskHandle>       runningTasks     = new CopyOnWriteArraySet<TmmTaskHandle>();
 
-  // we have some "named" queues, holding different types of tasks
+  // we have some "named" queues, holding different types of tasks; the tasks itself are executed in the lanes of the TmmScheduler
   // image download/subtitle download are rather small/fast tasks - we only queue them in a queue and provide to abort the complete queue
-  private ThreadPoolExecutor             imageDownloadExecutor;
+  private final TaskQueue                imageDownloadQueue;
 
   // this is a queue which holds "other" tasks
-  private ThreadPoolExecutor             unnamedTaskExecutor;
+  private final TaskQueue                unnamedTaskQueue;
 
-  // trailer download are rather big/long running tasks; only x at a time can be run and they are able to be cancelled individually
-  private ThreadPoolExecutor             downloadExecutor;
+  // trailer download are rather big/long running tasks; only one at a time can be run and they are able to be cancelled individually
+  private final TaskQueue                downloadQueue;
 
-  // main tasks (update datasource, scraping, renaming) are queueable tasks, but only one at a time can run; they can be cancelled individually
+  // main tasks (update datasource, scraping, renaming) are queueable tasks; only tasks with conflicting locks are run one after another
+  // they can be cancelled individually
   private final ThreadPoolExecutor       mainTaskExecutor = createMainTaskQueue();
+  private final TmmLockManager           lockManager      = new TmmLockManager();
 
   // fake task handles to manage queues
   private TmmTaskHandle                  imageQueueHandle;
@@ -64,6 +75,9 @@ public class TmmTaskManager implements TmmTaskListener {
   private TmmTaskManager() {
     imageQueueHandle = new ImageQueueTaskHandle();
     unnamedQueueHandle = new UnnamedQueueTaskHandle();
+    imageDownloadQueue = new TaskQueue(imageQueueHandle, 0);
+    unnamedTaskQueue = new TaskQueue(unnamedQueueHandle, 0);
+    downloadQueue = new TaskQueue(null, 1);
 
     // GA session keep-alive every 20 min
     scheduler.scheduleWithFixedDelay(new Runnable() {
@@ -72,6 +86,14 @@ public class TmmTaskManager implements TmmTaskListener {
         Utils.trackEvent("ping-pong");
       }
     }, 20, 20, TimeUnit.MINUTES);
+
+    // log the task metrics every 10 min
+    scheduler.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        TmmTaskMetrics.getInstance().logStatistics();
+      }
+    }, 10, 10, TimeUnit.MINUTES);
   }
 
   public static TmmTaskManager getInstance() {
@@ -86,50 +108,14 @@ public class TmmTaskManager implements TmmTaskListener {
     taskListener.remove(listener);
   }
 
-  private ThreadPoolExecutor createImageDownloadExecutor() {
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(3, 3, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-        new TmmThreadFactory("image-download-task")) {
-      @Override
-      protected void beforeExecute(Thread d, Runnable r) {
-        super.beforeExecute(d, r);
-        if (imageQueueHandle != null) {
-          processTaskEvent(imageQueueHandle);
-        }
-      }
-
-      @Override
-      protected void afterExecute(Runnable r, Throwable t) {
-        super.afterExecute(r, t);
-        if (imageQueueHandle != null) {
-          processTaskEvent(imageQueueHandle);
-        }
-      }
-    };
-    executor.allowCoreThreadTimeOut(true);
-    return executor;
-  }
-
-  private ThreadPoolExecutor createUnnamedTaskExecutor() {
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(3, 3, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-        new TmmThreadFactory("unnamed-task")) {
-      @Override
-      protected void beforeExecute(Thread d, Runnable r) {
-        super.beforeExecute(d, r);
-        if (unnamedQueueHandle != null) {
-          processTaskEvent(unnamedQueueHandle);
-        }
-      }
-
-      @Override
-      protected void afterExecute(Runnable r, Throwable t) {
-        super.afterExecute(r, t);
-        if (unnamedQueueHandle != null) {
-          processTaskEvent(unnamedQueueHandle);
-        }
-      }
-    };
-    executor.allowCoreThreadTimeOut(true);
-    return executor;
+  /**
+   * add a image download task to the queue
+   * 
+   * @param task
+   *          the task to be added
+   */
+  public void addImageDownloadTask(Runnable task) {
+    addImageDownloadTask(task, TmmResource.http(""));
   }
 
   /**
@@ -137,12 +123,11 @@ public class TmmTaskManager implements TmmTaskListener {
    * 
    * @param task
    *          the task to be added
+   * @param resource
+   *          the resource (host) the image is downloaded from
    */
-  public void addImageDownloadTask(Runnable task) {
-    if (imageDownloadExecutor == null || imageDownloadExecutor.isShutdown()) {
-      imageDownloadExecutor = createImageDownloadExecutor();
-    }
-    imageDownloadExecutor.execute(task);
+  public void addImageDownloadTask(Runnable task, TmmResource resource) {
+    imageDownloadQueue.execute(task, resource);
   }
 
   /**
@@ -152,9 +137,6 @@ public class TmmTaskManager implements TmmTaskListener {
    *          the task to be added
    */
   public void addUnnamedTask(Runnable task) {
-    if (unnamedTaskExecutor == null || unnamedTaskExecutor.isShutdown()) {
-      unnamedTaskExecutor = createUnnamedTaskExecutor();
-    }
     TmmTask t;
 
     if (task instanceof TmmTask) {
@@ -166,7 +148,7 @@ public class TmmTaskManager implements TmmTaskListener {
     t.addListener(this);
     t.setState(TaskState.QUEUED);
 
-    unnamedTaskExecutor.execute(task);
+    unnamedTaskQueue.execute(task, t.getResource());
   }
 
   /**
@@ -176,14 +158,9 @@ public class TmmTaskManager implements TmmTaskListener {
    *          the task to be added
    */
   public void addDownloadTask(TmmTask task) {
-    if (downloadExecutor == null) {
-      downloadExecutor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-          new TmmThreadFactory("download-task"));
-      downloadExecutor.allowCoreThreadTimeOut(true);
-    }
     task.addListener(this);
     task.setState(TaskState.QUEUED);
-    downloadExecutor.execute(task);
+    downloadQueue.execute(task, task.getResource());
   }
 
   /**
@@ -192,28 +169,30 @@ public class TmmTaskManager implements TmmTaskListener {
    * @return the count of all running and open unnamed tasks
    */
   public int getUnnamedOpenTaskCount() {
-    if (unnamedTaskExecutor == null) {
-      return 0;
-    }
-    return unnamedTaskExecutor.getQueue().size() + unnamedTaskExecutor.getActiveCount();
+    return unnamedTaskQueue.getOpenTasks();
+  }
+
+  /**
+   * get the count of all open and running image downloads
+   * 
+   * @return the count of all running and open image downloads
+   */
+  public int getImageDownloadOpenTaskCount() {
+    return imageDownloadQueue.getOpenTasks();
   }
 
   /**
    * cancel all open and running image downloads
    */
   public void cancelImageDownloads() {
-    if (imageDownloadExecutor != null) {
-      imageDownloadExecutor.shutdownNow();
-    }
+    imageDownloadQueue.cancel();
   }
 
   /**
    * cancel all open and running unnamed tasks
    */
   public void cancelUnnamedTasks() {
-    if (unnamedTaskExecutor != null) {
-      unnamedTaskExecutor.shutdownNow();
-    }
+    unnamedTaskQueue.cancel();
   }
 
   /**
@@ -223,20 +202,57 @@ public class TmmTaskManager implements TmmTaskListener {
    *          the task to be added
    * @return true if there is alreday a main task running
    */
-  public boolean addMainTask(TmmThreadPool newTask) {
+  public boolean addMainTask(final TmmThreadPool newTask) {
     boolean result = false;
     newTask.addListener(this);
     newTask.setState(TaskState.QUEUED);
-    mainTaskExecutor.execute(newTask);
+    mainTaskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        runMainTask(newTask);
+      }
+    });
     return result;
   }
 
+  /**
+   * run the main task in the current thread (blocking); waits until no conflicting main task is running
+   * 
+   * @param task
+   *          the task to be run
+   */
+  public void runMainTask(TmmThreadPool task) {
+    try {
+      lockManager.acquire(task, task.getLocks());
+    }
+    catch (InterruptedException e) {
+      LOGGER.warn("interrupted while waiting for " + task.getTaskName());
+      return;
+    }
+    try {
+      task.run();
+    }
+    finally {
+      lockManager.release(task);
+    }
+  }
+
+  /**
+   * is there a main task running or queued?
+   * 
+   * @return true if the main task queue is busy
+   */
+  public boolean isMainTaskRunning() {
+    return mainTaskExecutor.getActiveCount() > 0 || lockManager.isBusy();
+  }
+
   private ThreadPoolExecutor createMainTaskQueue() {
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, // max threads
+    // one thread per main task; the tasks are waiting for their locks in their threads
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, // max threads
         1, TimeUnit.SECONDS, // time to wait before closing idle workers
-        new LinkedBlockingQueue<Runnable>(), // our queue
+        new SynchronousQueue<Runnable>(), // our queue
         new TmmThreadFactory("main-task"));
-    executor.allowCoreThreadTimeOut(true);
+    TmmTaskMetrics.getInstance().registerExecutor("main-task", executor);
     return executor;
   }
 
@@ -244,15 +260,8 @@ public class TmmTaskManager implements TmmTaskListener {
    * shut down all threads
    */
   public void shutdown() {
-    if (imageDownloadExecutor != null) {
-      imageDownloadExecutor.shutdown();
-    }
-    if (unnamedTaskExecutor != null) {
-      unnamedTaskExecutor.shutdown();
-    }
-    if (downloadExecutor != null) {
-      downloadExecutor.shutdown();
-    }
+    TmmTaskMetrics.getInstance().logStatistics();
+    TmmScheduler.getInstance().shutdown();
     if (mainTaskExecutor != null) {
       mainTaskExecutor.shutdown();
     }
@@ -278,15 +287,7 @@ public class TmmTaskManager implements TmmTaskListener {
     }
 
     // check if all finished
-    if (imageDownloadExecutor != null && !imageDownloadExecutor.isTerminated()) {
-      imageDownloadExecutor.shutdownNow();
-    }
-    if (unnamedTaskExecutor != null && !unnamedTaskExecutor.isTerminated()) {
-      unnamedTaskExecutor.shutdownNow();
-    }
-    if (downloadExecutor != null && !downloadExecutor.isTerminated()) {
-      downloadExecutor.shutdownNow();
-    }
+    TmmScheduler.getInstance().shutdownNow();
     if (mainTaskExecutor != null && !mainTaskExecutor.isTerminated()) {
       mainTaskExecutor.shutdownNow();
     }
@@ -395,8 +396,8 @@ public class TmmTaskManager implements TmmTaskListener {
 
     private int getOpenTasks() {
       int openTasks = 0;
-      if (imageDownloadExecutor != null) {
-        openTasks = imageDownloadExecutor.getQueue().size() + imageDownloadExecutor.getActiveCount();
+      if (imageDownloadQueue != null) {
+        openTasks = imageDownloadQueue.getOpenTasks();
       }
       return openTasks;
     }
@@ -443,15 +444,15 @@ public class TmmTaskManager implements TmmTaskListener {
 
     private int getOpenTasks() {
       int openTasks = 0;
-      if (unnamedTaskExecutor != null) {
-        openTasks = unnamedTaskExecutor.getQueue().size() + unnamedTaskExecutor.getActiveCount();
+      if (unnamedTaskQueue != null) {
+        openTasks = unnamedTaskQueue.getOpenTasks();
       }
       return openTasks;
     }
 
     @Override
     public TaskState getState() {
-      if (unnamedTaskExecutor != null && getOpenTasks() > 0) {
+      if (unnamedTaskQueue != null && getOpenTasks() > 0) {
         return TaskState.STARTED;
       }
       return TaskState.FINISHED;
@@ -467,4 +468,101 @@ public class TmmTaskManager implements TmmTaskListener {
       cancelImageDownloads();
     }
   }
+
+  /**
+   * a (logical) queue of tasks: the tasks are executed in the lanes of the scheduler, but the queue keeps track of its open tasks to be able to
+   * report/cancel them. Optionally the queue limits how many of its tasks may run at the same time (over all lanes)
+   */
+  private class TaskQueue {
+    private final Set<QueuedTask>   openTasks = Collections.newSetFromMap(new ConcurrentHashMap<QueuedTask, Boolean>());
+    private final TmmTaskHandle     handle;
+    private final int               maxRunning; // 0 = no limit
+    private final Queue<QueuedTask> waiting   = new LinkedList<QueuedTask>();
+    private int                     running   = 0;
+
+    private TaskQueue(TmmTaskHandle handle, int maxRunning) {
+      this.handle = handle;
+      this.maxRunning = maxRunning;
+    }
+
+    private void execute(Runnable task, TmmResource resource) {
+      QueuedTask queuedTask = new QueuedTask(task, resource);
+      openTasks.add(queuedTask);
+      synchronized (this) {
+        if (maxRunning > 0 && running >= maxRunning) {
+          waiting.add(queuedTask);
+          return;
+        }
+        start(queuedTask);
+      }
+    }
+
+    private synchronized void start(QueuedTask queuedTask) {
+      running++;
+      queuedTask.started = true;
+      TmmScheduler.getInstance().getExecutor(queuedTask.resource).execute(queuedTask);
+    }
+
+    private synchronized void finished(QueuedTask queuedTask) {
+      if (!queuedTask.started) {
+        // cancelled while waiting
+        waiting.remove(queuedTask);
+        return;
+      }
+      running--;
+      QueuedTask next = waiting.poll();
+      if (next != null) {
+        start(next);
+      }
+    }
+
+    private int getOpenTasks() {
+      return openTasks.size();
+    }
+
+    private void cancel() {
+      for (QueuedTask task : openTasks) {
+        task.cancel(true);
+      }
+    }
+
+    private class QueuedTask extends FutureTask<Object> {
+      private final TmmResource resource;
+      private boolean           started = false;
+
+      private QueuedTask(Runnable task, TmmResource resource) {
+        super(task, null);
+        this.resource = resource;
+      }
+
+      @Override
+      public void run() {
+        if (handle != null) {
+          processTaskEvent(handle);
+        }
+        super.run();
+      }
+
+      @Override
+      protected void done() {
+        openTasks.remove(this);
+        finished(this);
+        if (handle != null) {
+          processTaskEvent(handle);
+        }
+
+        // log exceptions of the task, since the future swallows them
+        if (!isCancelled()) {
+          try {
+            get();
+          }
+          catch (ExecutionException e) {
+            LOGGER.error("error in task: " + e.getCause().getMessage(), e.getCause());
+          }
+          catch (InterruptedException e) {
+          }
+        }
+      }
+    }
+  }
 }
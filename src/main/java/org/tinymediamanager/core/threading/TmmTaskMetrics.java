@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class TmmTaskMetrics. Collects the metrics of all task types and executors of tmm. The metrics are available as JMX MBeans (domain
+ * org.tinymediamanager) and are logged periodically by the TmmTaskManager.
+ *
+ * @author Manuel Laggner
+ */
+public class TmmTaskMetrics {
+  private static final Logger                   LOGGER        = LoggerFactory.getLogger(TmmTaskMetrics.class);
+  private static final TmmTaskMetrics           instance      = new TmmTaskMetrics();
+  private static final String                   DOMAIN        = "org.tinymediamanager";
+
+  private final Map<String, TaskStatistics>     tasks         = new TreeMap<String, TaskStatistics>();
+  private final Map<String, ExecutorStatistics> executors     = new TreeMap<String, ExecutorStatistics>();
+  private long                                  lastLoggedRun = -1;
+
+  private TmmTaskMetrics() {
+  }
+
+  public static TmmTaskMetrics getInstance() {
+    return instance;
+  }
+
+  /**
+   * record a finished run of the given task
+   *
+   * @param task
+   *          the task
+   * @param queueWait
+   *          the time the task has been waiting to be executed (ns)
+   * @param runTime
+   *          the run time of the task (ns)
+   * @param errors
+   *          the amount of errors
+   */
+  void taskFinished(TmmTask task, long queueWait, long runTime, long errors) {
+    getTaskStatistics(getTaskType(task)).record(queueWait, runTime, task.getProgressDone(), errors, task.cancel);
+  }
+
+  /**
+   * get the metrics of the given task type
+   *
+   * @param name
+   *          the name of the task type (the simple class name)
+   * @return the metrics of this task type
+   */
+  public synchronized TaskStatistics getTaskStatistics(String name) {
+    TaskStatistics statistics = tasks.get(name);
+    if (statistics == null) {
+      statistics = new TaskStatistics(name);
+      tasks.put(name, statistics);
+      registerMBean("Task", name, statistics);
+    }
+    return statistics;
+  }
+
+  /**
+   * register the given executor to report its metrics (an already registered executor with the same name is replaced)
+   *
+   * @param name
+   *          the name of the executor
+   * @param executor
+   *          the executor
+   * @return the metrics of the executor
+   */
+  public synchronized ExecutorStatistics registerExecutor(String name, ThreadPoolExecutor executor) {
+    ExecutorStatistics statistics = new ExecutorStatistics(name, executor);
+    executors.put(name, statistics);
+    registerMBean("Executor", name, statistics);
+    return statistics;
+  }
+
+  private String getTaskType(TmmTask task) {
+    String name = task.getClass().getSimpleName();
+    if (name.isEmpty()) {
+      // anonymous class
+      name = task.getClass().getName();
+      name = name.substring(name.lastIndexOf('.') + 1);
+    }
+    return name;
+  }
+
+  private void registerMBean(String type, String name, Object mbean) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      server.registerMBean(mbean, objectName);
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not register MBean for " + name + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * get the metrics of all task types, executors and HTTP hosts
+   *
+   * @return one line per task type/executor/host
+   */
+  public synchronized List<String> getStatistics() {
+    List<String> statistics = new ArrayList<String>();
+    for (TaskStatistics task : tasks.values()) {
+      statistics.add("task " + task.getStatistics());
+    }
+    for (ExecutorStatistics executor : executors.values()) {
+      statistics.add("executor " + executor.getStatistics());
+    }
+    for (String host : TmmRateLimiter.getInstance().getStatistics()) {
+      statistics.add("HTTP " + host);
+    }
+    return statistics;
+  }
+
+  /**
+   * log the metrics; only if there have been task runs since the last time
+   */
+  public void logStatistics() {
+    long runs = 0;
+    synchronized (this) {
+      for (TaskStatistics task : tasks.values()) {
+        runs += task.getExecutions();
+      }
+      if (runs == lastLoggedRun) {
+        return;
+      }
+      lastLoggedRun = runs;
+    }
+    for (String line : getStatistics()) {
+      LOGGER.info(line);
+    }
+  }
+}
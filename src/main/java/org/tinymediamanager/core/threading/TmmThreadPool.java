@@ -15,39 +15,49 @@
  */
 package org.tinymediamanager.core.threading;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The Class TmmThreadPool.
+ * The Class TmmThreadPool. The sub tasks are executed in the lane of the TmmScheduler for the given resource; the amount of threads only limits how
+ * many sub tasks of this pool may run at the same time.<br>
+ * The amount of pending sub tasks is bounded: if the queue is full, submitTask blocks and handles the finished sub tasks until there is room again.
+ * So the memory stays flat, no matter how many sub tasks are produced.
  * 
  * @author Myron Boyle, Manuel Laggner
  */
 public abstract class TmmThreadPool extends TmmTask {
-  private static final Logger       LOGGER  = LoggerFactory.getLogger(TmmThreadPool.class);
+  private static final Logger LOGGER = LoggerFactory.getLogger(TmmThreadPool.class);
 
-  private ThreadPoolExecutor        pool    = null;
-  private CompletionService<Object> service = null;
+  private volatile TaskBatch  batch  = null;
 
-  protected String                  poolname;
+  protected String            poolname;
 
   protected TmmThreadPool(String taskName) {
     super(taskName, 0, TaskType.MAIN_TASK);
   }
 
   /**
-   * create new ThreadPool.
+   * create new ThreadPool (working on the CPU).
    * 
    * @param threads
    *          amount of threads
@@ -55,15 +65,46 @@ public abstract class TmmThreadPool extends TmmTask {
    *          a name for the logging
    */
   protected void initThreadPool(int threads, String name) {
+    initThreadPool(threads, name, TmmResource.CPU);
+  }
+
+  /**
+   * create new ThreadPool which uses all threads the scheduler offers for the given resource.
+   * 
+   * @param name
+   *          a name for the logging
+   * @param resource
+   *          the resource the sub tasks are working on
+   */
+  protected void initThreadPool(String name, TmmResource resource) {
+    initThreadPool(TmmScheduler.getInstance().getLimit(resource), name, resource);
+  }
+
+  /**
+   * create new ThreadPool.
+   * 
+   * @param threads
+   *          amount of threads
+   * @param name
+   *          a name for the logging
+   * @param resource
+   *          the resource the sub tasks are working on
+   */
+  protected void initThreadPool(int threads, String name, TmmResource resource) {
     this.cancel = false;
     this.poolname = name;
-    pool = new ThreadPoolExecutor(threads, threads, // max threads
-        2, TimeUnit.SECONDS, // time to wait before closing idle workers
-        new LinkedBlockingQueue<Runnable>(), // our queue
-        new TmmThreadFactory(name) // our thread settings
-    );
-    pool.allowCoreThreadTimeOut(true);
-    this.service = new ExecutorCompletionService<Object>(pool);
+    this.batch = new TaskBatch(TmmScheduler.getInstance().getExecutor(resource), threads, TmmScheduler.getInstance().getQueueSize());
+    LOGGER.debug("ThreadPool " + name + ": " + threads + " thread(s) on " + resource + ", queue size " + batch.queueSize);
+  }
+
+  /**
+   * the locks this task needs: main tasks with conflicting locks are not run at the same time. Without overriding this, the task does not run in
+   * parallel to any other main task.
+   * 
+   * @return the locks of this task
+   */
+  public List<TmmLock> getLocks() {
+    return Collections.singletonList(TmmLock.GLOBAL);
   }
 
   /**
@@ -73,9 +114,9 @@ public abstract class TmmThreadPool extends TmmTask {
    *          the callable
    */
   protected void submitTask(Callable<Object> task) {
-    if (!cancel) {
+    if (awaitCapacity()) {
       workUnits++;
-      service.submit(task);
+      batch.submit(new BatchTask(batch, task));
     }
   }
 
@@ -86,39 +127,60 @@ public abstract class TmmThreadPool extends TmmTask {
    *          the runnable
    */
   protected void submitTask(Runnable task) {
-    if (!cancel) {
+    if (awaitCapacity()) {
       workUnits++;
-      service.submit(task, "");
+      batch.submit(new BatchTask(batch, task));
     }
   }
 
+  /**
+   * blocks the producer while the pool is full (running + queued + finished but not yet handled sub tasks); the finished sub tasks are handled
+   * meanwhile.
+   * 
+   * @return true if there is room for another sub task, false if the task has been cancelled
+   */
+  private boolean awaitCapacity() {
+    if (!cancel && workUnits - progressDone >= batch.capacity) {
+      long start = System.nanoTime();
+      while (!cancel && workUnits - progressDone >= batch.capacity) {
+        try {
+          Future<Object> future = batch.completed.poll(1, TimeUnit.SECONDS);
+          if (future != null) {
+            handleCompleted(future);
+          }
+        }
+        catch (InterruptedException e) {
+          LOGGER.error("ThreadPool " + this.poolname + " interrupted!");
+        }
+      }
+      batch.blockedTime.addAndGet(System.nanoTime() - start);
+    }
+    return !cancel;
+  }
+
   /**
    * Wait for completion or cancel.
    */
   protected void waitForCompletionOrCancel() {
-    pool.shutdown();
-    while (!cancel && !pool.isTerminated() && progressDone < workUnits) {
+    while (!cancel && progressDone < workUnits) {
       try {
-        final Future<Object> future = service.take();
-        progressDone++;
-        callback(future.get());
+        handleCompleted(batch.completed.take());
       }
       catch (InterruptedException e) {
         LOGGER.error("ThreadPool " + this.poolname + " interrupted!");
       }
-      catch (ExecutionException e) {
-        LOGGER.error("ThreadPool " + this.poolname + ": Error getting result!", e);
-      }
+    }
+    if (batch != null) {
+      LOGGER.debug("ThreadPool " + this.poolname + ": " + progressDone + " tasks, max. queue depth " + getMaxQueueDepth() + ", avg. queue latency "
+          + getAverageQueueLatency() + "ms, producer blocked " + getBlockedTime() + "ms");
     }
     if (cancel) {
       try {
         LOGGER.info("Abort queue (discarding " + (workUnits - progressDone) + " tasks)");
-        pool.getQueue().clear();
-        pool.awaitTermination(3, TimeUnit.SECONDS);
+        batch.cancel();
 
-        // shutdown now can cause a inconsistency because it will call Thread.interrupt which can cause a (sub)thread to crash
-        // pool.shutdownNow();
-        pool.shutdown();
+        // do not interrupt the running tasks, since Thread.interrupt can cause a (sub)thread to crash
+        batch.awaitRunning(3, TimeUnit.SECONDS);
       }
       catch (InterruptedException e) {
         LOGGER.error("ThreadPool " + this.poolname + " interrupted in shutdown!", e);
@@ -126,6 +188,63 @@ public abstract class TmmThreadPool extends TmmTask {
     }
   }
 
+  private void handleCompleted(Future<Object> future) throws InterruptedException {
+    progressDone++;
+    try {
+      callback(future.get());
+    }
+    catch (ExecutionException e) {
+      LOGGER.error("ThreadPool " + this.poolname + ": Error getting result!", e);
+      addError();
+    }
+    catch (CancellationException e) {
+      // discarded on cancel
+    }
+  }
+
+  /**
+   * get the amount of sub tasks which are waiting for a free thread
+   * 
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    TaskBatch batch = this.batch;
+    return batch == null ? 0 : batch.getQueueDepth();
+  }
+
+  /**
+   * get the max. amount of sub tasks which have been waiting for a free thread at the same time
+   * 
+   * @return the max. queue depth
+   */
+  public int getMaxQueueDepth() {
+    TaskBatch batch = this.batch;
+    return batch == null ? 0 : batch.maxQueueDepth;
+  }
+
+  /**
+   * get the average time the sub tasks have been waiting for a free thread
+   * 
+   * @return the latency in ms
+   */
+  public long getAverageQueueLatency() {
+    TaskBatch batch = this.batch;
+    if (batch == null || batch.startedTasks.get() == 0) {
+      return 0;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(batch.queueLatency.get() / batch.startedTasks.get());
+  }
+
+  /**
+   * get the time the producer has been blocked because of a full queue
+   * 
+   * @return the time in ms
+   */
+  public long getBlockedTime() {
+    TaskBatch batch = this.batch;
+    return batch == null ? 0 : TimeUnit.NANOSECONDS.toMillis(batch.blockedTime.get());
+  }
+
   /**
    * callback for result.
    * 
@@ -134,6 +253,145 @@ public abstract class TmmThreadPool extends TmmTask {
    */
   public abstract void callback(Object obj);
 
+  /**
+   * the sub tasks of one run of the pool; only the given amount of them is handed over to the lane at the same time
+   */
+  private static class TaskBatch {
+    private final ExecutorService               executor;
+    private final int                           threads;
+    private final int                           queueSize;
+    private final int                           capacity;
+    private final BlockingQueue<Future<Object>> completed    = new LinkedBlockingQueue<Future<Object>>();
+    private final Queue<BatchTask>              waiting      = new LinkedList<BatchTask>();
+    private final List<BatchTask>               inLane       = new ArrayList<BatchTask>();
+
+    // metrics
+    private volatile int                        maxQueueDepth;
+    private final AtomicLong                    queueLatency = new AtomicLong();
+    private final AtomicInteger                 startedTasks = new AtomicInteger();
+    private final AtomicLong                    blockedTime  = new AtomicLong();
+
+    private TaskBatch(ExecutorService executor, int threads, int queueSize) {
+      this.executor = executor;
+      this.threads = Math.max(1, threads);
+      this.queueSize = Math.max(1, queueSize);
+      this.capacity = this.threads + this.queueSize;
+    }
+
+    private synchronized void submit(BatchTask task) {
+      if (inLane.size() < threads) {
+        inLane.add(task);
+        execute(task);
+      }
+      else {
+        waiting.add(task);
+        if (waiting.size() > maxQueueDepth) {
+          maxQueueDepth = waiting.size();
+        }
+      }
+    }
+
+    private synchronized int getQueueDepth() {
+      return waiting.size();
+    }
+
+    private void started(BatchTask task) {
+      queueLatency.addAndGet(System.nanoTime() - task.submitted);
+      startedTasks.incrementAndGet();
+    }
+
+    private synchronized void finished(BatchTask task) {
+      completed.add(task);
+      if (inLane.remove(task)) {
+        BatchTask next;
+        while ((next = waiting.poll()) != null) {
+          inLane.add(next);
+          if (execute(next)) {
+            break;
+          }
+        }
+        notifyAll();
+      }
+    }
+
+    /**
+     * hand the task over to the lane. If the lane does not accept tasks any more (shut down), the task is cancelled; it is reported as completed
+     * anyway, so nobody waits for it forever
+     *
+     * @param task
+     *          the task to execute
+     * @return true if the task has been accepted by the lane
+     */
+    private boolean execute(BatchTask task) {
+      try {
+        executor.execute(task);
+        return true;
+      }
+      catch (RejectedExecutionException e) {
+        LOGGER.debug("task rejected by the lane: " + e.getMessage());
+        inLane.remove(task);
+        task.cancel(false);
+        return false;
+      }
+    }
+
+    private void cancel() {
+      List<BatchTask> toCancel;
+      synchronized (this) {
+        toCancel = new ArrayList<BatchTask>(waiting);
+        waiting.clear();
+        for (BatchTask task : inLane) {
+          if (!task.started) {
+            toCancel.add(task);
+          }
+        }
+      }
+      for (BatchTask task : toCancel) {
+        task.cancel(false);
+      }
+    }
+
+    private synchronized void awaitRunning(long timeout, TimeUnit unit) throws InterruptedException {
+      long end = System.currentTimeMillis() + unit.toMillis(timeout);
+      long remaining = unit.toMillis(timeout);
+      while (!inLane.isEmpty() && remaining > 0) {
+        wait(remaining);
+        remaining = end - System.currentTimeMillis();
+      }
+    }
+  }
+
+  /**
+   * a sub task which reports its completion to its batch
+   */
+  private static class BatchTask extends FutureTask<Object> {
+    private final TaskBatch  batch;
+    private final long       submitted = System.nanoTime();
+    private volatile boolean started   = false;
+
+    private BatchTask(TaskBatch batch, Callable<Object> callable) {
+      super(callable);
+      this.batch = batch;
+    }
+
+    private BatchTask(TaskBatch batch, Runnable runnable) {
+      super(runnable, "");
+      this.batch = batch;
+    }
+
+    @Override
+    public void run() {
+      started = true;
+      batch.started(this);
+      super.run();
+    }
+
+    @Override
+    protected void done() {
+      batch.finished(this);
+    }
+  }
+
   /**
    * a copy of the default thread factory, just to set the pool name.
    */
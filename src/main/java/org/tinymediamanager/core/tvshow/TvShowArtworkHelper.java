@@ -33,6 +33,7 @@ import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowSeason;
@@ -81,7 +82,7 @@ public class TvShowArtworkHelper {
 
     // get image in thread
     MediaEntityImageFetcherTask task = new MediaEntityImageFetcherTask(show, url, MediaFileType.getMediaArtworkType(type), filename, true);
-    TmmTaskManager.getInstance().addImageDownloadTask(task);
+    TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(url));
   }
 
   public static void downloadMissingArtwork(TvShow show) {
@@ -116,7 +117,7 @@ public class TvShowArtworkHelper {
           continue;
         }
         MediaEntityImageFetcherTask task = new MediaEntityImageFetcherTask(show, url, MediaFileType.getMediaArtworkType(mft), filename, true);
-        TmmTaskManager.getInstance().addImageDownloadTask(task);
+        TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(url));
       }
 
     }
@@ -150,7 +151,7 @@ public class TvShowArtworkHelper {
       filename = show.getPath() + File.separator + "season-specials-poster." + FilenameUtils.getExtension(seasonPosterUrl);
     }
     SeasonPosterImageFetcher task = new SeasonPosterImageFetcher(show, filename, tvShowSeason, seasonPosterUrl);
-    TmmTaskManager.getInstance().addImageDownloadTask(task);
+    TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(seasonPosterUrl));
   }
 
   private class SeasonPosterImageFetcher implements Runnable {
@@ -21,11 +21,16 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
@@ -36,6 +41,9 @@ import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.AbstractModelObject;
 import org.tinymediamanager.core.Constants;
 import org.tinymediamanager.core.MediaFileType;
+import org.tinymediamanager.core.database.ParallelEntityLoader;
+import org.tinymediamanager.core.entities.MediaEntityAggregate;
+import org.tinymediamanager.core.entities.MediaEntityIndex;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaFileAudioStream;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
@@ -62,48 +70,359 @@ public class TvShowList extends AbstractModelObject {
   private static TvShowList      instance   = null;
 
   private List<TvShow>           tvShowList = ObservableCollections.observableList(Collections.synchronizedList(new ArrayList<TvShow>()));
-  private List<String>           tvShowTagsObservable;
-  private List<String>           episodeTagsObservable;
-  private List<String>           videoCodecsObservable;
-  private List<String>           audioCodecsObservable;
 
-  private PropertyChangeListener propertyChangeListener;
+  // counters over all TV shows/episodes; maintained on add/remove and on the count events of the TV shows
+  private final Set<TvShow>            showsWithNewEpisodes = new LinkedHashSet<TvShow>();
+  private int                          episodeCount         = 0;
+  private int                          newEpisodeCount      = 0;
+  private int                          unscrapedCount       = 0;
+  private int                          missingArtworkCount  = 0;
+  private final PropertyChangeListener counterListener;
+
+  // reference counted sets of the tags/codecs used in TV shows/episodes; maintained on add/remove and on changes of the TV shows/episodes
+  private final MediaEntityAggregate<String, TvShow>         tvShowTagAggregate;
+  private final MediaEntityAggregate<String, TvShowEpisode>  episodeTagAggregate;
+  private final MediaEntityAggregate<String, TvShowEpisode>  videoCodecAggregate;
+  private final MediaEntityAggregate<String, TvShowEpisode>  audioCodecAggregate;
+  private final List<MediaEntityAggregate<?, TvShowEpisode>> episodeAggregates;
+  private final PropertyChangeListener                       aggregateListener;
+
+  // hash indexes for the lookups; maintained on add/remove and on changes of the key properties
+  private final MediaEntityIndex<UUID, TvShow>    tvShowDbIdIndex;
+  private final MediaEntityIndex<File, TvShow>    tvShowPathIndex;
+  private final MediaEntityIndex<String, TvShow>  tvShowTvdbIndex;
+  private final MediaEntityIndex<String, TvShow>  tvShowImdbIndex;
+  private final MediaEntityIndex<File, TvShow>    tvShowDataSourceIndex;
+  private final List<MediaEntityIndex<?, TvShow>> tvShowIndexes;
+  private final PropertyChangeListener            indexListener;
 
   /**
    * Instantiates a new TvShowList.
    */
   private TvShowList() {
-    // create the lists
-    tvShowTagsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    episodeTagsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    videoCodecsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-    audioCodecsObservable = ObservableCollections.observableList(new CopyOnWriteArrayList<String>());
-
-    // the tag listener: its used to always have a full list of all tags used in tmm
-    propertyChangeListener = new PropertyChangeListener() {
+    // the counter listener: sum up the count changes of the TV shows (in the thread of the change)
+    counterListener = new PropertyChangeListener() {
       @Override
       public void propertyChange(PropertyChangeEvent evt) {
-        // listen to changes of tags
-        if ("tag".equals(evt.getPropertyName()) && evt.getSource() instanceof TvShow) {
-          TvShow tvShow = (TvShow) evt.getSource();
-          updateTvShowTags(tvShow);
+        if (!(evt.getSource() instanceof TvShow) || !(evt.getOldValue() instanceof Integer) || !(evt.getNewValue() instanceof Integer)) {
+          return;
         }
-        if ("tag".equals(evt.getPropertyName()) && evt.getSource() instanceof TvShowEpisode) {
-          TvShowEpisode episode = (TvShowEpisode) evt.getSource();
-          updateEpisodeTags(episode);
+        TvShow tvShow = (TvShow) evt.getSource();
+        int delta = (Integer) evt.getNewValue() - (Integer) evt.getOldValue();
+        if (EPISODE_COUNT.equals(evt.getPropertyName())) {
+          updateCounters(tvShow, delta, 0, 0, 0);
+        }
+        else if (NEW_EPISODE_COUNT.equals(evt.getPropertyName())) {
+          updateCounters(tvShow, 0, delta, 0, 0);
+        }
+        else if (UNSCRAPED_COUNT.equals(evt.getPropertyName())) {
+          updateCounters(tvShow, 0, 0, delta, 0);
         }
-        if ((MEDIA_FILES.equals(evt.getPropertyName()) || MEDIA_INFORMATION.equals(evt.getPropertyName()))
-            && evt.getSource() instanceof TvShowEpisode) {
+        else if (MISSING_ARTWORK_COUNT.equals(evt.getPropertyName())) {
+          updateCounters(tvShow, 0, 0, 0, delta);
+        }
+      }
+    };
+
+    // the aggregates: used to always have a full list of all tags/codecs used in tmm
+    tvShowTagAggregate = new MediaEntityAggregate<String, TvShow>(TAG) {
+      @Override
+      protected Collection<String> getValues(TvShow tvShow) {
+        return getNonBlankValues(tvShow.getTags());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return TAG.equals(propertyName);
+      }
+    };
+    episodeTagAggregate = new MediaEntityAggregate<String, TvShowEpisode>(TAG) {
+      @Override
+      protected Collection<String> getValues(TvShowEpisode episode) {
+        return getNonBlankValues(episode.getTags());
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return TAG.equals(propertyName);
+      }
+    };
+    videoCodecAggregate = new MediaEntityAggregate<String, TvShowEpisode>("videoCodec") {
+      @Override
+      protected Collection<String> getValues(TvShowEpisode episode) {
+        List<String> codecs = new ArrayList<String>();
+        for (MediaFile mf : episode.getMediaFiles(MediaFileType.VIDEO)) {
+          codecs.add(mf.getVideoCodec());
+        }
+        return getNonBlankValues(codecs);
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return MEDIA_FILES.equals(propertyName) || MEDIA_INFORMATION.equals(propertyName);
+      }
+    };
+    audioCodecAggregate = new MediaEntityAggregate<String, TvShowEpisode>("audioCodec") {
+      @Override
+      protected Collection<String> getValues(TvShowEpisode episode) {
+        List<String> codecs = new ArrayList<String>();
+        for (MediaFile mf : episode.getMediaFiles(MediaFileType.VIDEO)) {
+          for (MediaFileAudioStream audio : mf.getAudioStreams()) {
+            codecs.add(audio.getCodec());
+          }
+        }
+        return getNonBlankValues(codecs);
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return MEDIA_FILES.equals(propertyName) || MEDIA_INFORMATION.equals(propertyName);
+      }
+    };
+    episodeAggregates = new ArrayList<MediaEntityAggregate<?, TvShowEpisode>>();
+    episodeAggregates.add(episodeTagAggregate);
+    episodeAggregates.add(videoCodecAggregate);
+    episodeAggregates.add(audioCodecAggregate);
+
+    // the aggregate listener: re-count a TV show/episode as soon as one of the aggregated properties changes (in the thread of the change)
+    aggregateListener = new PropertyChangeListener() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getSource() instanceof TvShow) {
+          TvShow tvShow = (TvShow) evt.getSource();
+          if (ADDED_EPISODE.equals(evt.getPropertyName()) && evt.getNewValue() instanceof TvShowEpisode) {
+            addEpisodesToAggregates(Collections.singletonList((TvShowEpisode) evt.getNewValue()));
+          }
+          else if (ADDED_EPISODES.equals(evt.getPropertyName()) && evt.getNewValue() instanceof List) {
+            addEpisodesToAggregates((List<TvShowEpisode>) evt.getNewValue());
+          }
+          else if (REMOVED_EPISODE.equals(evt.getPropertyName()) && evt.getNewValue() instanceof TvShowEpisode) {
+            removeEpisodesFromAggregates(Collections.singletonList((TvShowEpisode) evt.getNewValue()));
+          }
+          else if (tvShowTagAggregate.isValueProperty(evt.getPropertyName()) && tvShowTagAggregate.update(tvShow)) {
+            fireAggregateChanged(tvShowTagAggregate);
+          }
+        }
+        else if (evt.getSource() instanceof TvShowEpisode) {
           TvShowEpisode episode = (TvShowEpisode) evt.getSource();
-          updateMediaInformationLists(episode);
+          for (MediaEntityAggregate<?, TvShowEpisode> aggregate : episodeAggregates) {
+            if (aggregate.isValueProperty(evt.getPropertyName()) && aggregate.update(episode)) {
+              fireAggregateChanged(aggregate);
+            }
+          }
         }
-        if (EPISODE_COUNT.equals(evt.getPropertyName())) {
-          firePropertyChange(EPISODE_COUNT, 0, 1);
+      }
+    };
+
+    // the indexes
+    tvShowDbIdIndex = new MediaEntityIndex<UUID, TvShow>() {
+      @Override
+      protected UUID getKey(TvShow tvShow) {
+        return tvShow.getDbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return false;
+      }
+    };
+    tvShowPathIndex = new MediaEntityIndex<File, TvShow>() {
+      @Override
+      protected File getKey(TvShow tvShow) {
+        return StringUtils.isBlank(tvShow.getPath()) ? null : new File(tvShow.getPath());
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return PATH.equals(propertyName);
+      }
+    };
+    tvShowTvdbIndex = new MediaEntityIndex<String, TvShow>() {
+      @Override
+      protected String getKey(TvShow tvShow) {
+        return StringUtils.isBlank(tvShow.getTvdbId()) ? null : tvShow.getTvdbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return TVDB.equals(propertyName) || "tvdbId".equals(propertyName);
+      }
+    };
+    tvShowImdbIndex = new MediaEntityIndex<String, TvShow>() {
+      @Override
+      protected String getKey(TvShow tvShow) {
+        return StringUtils.isBlank(tvShow.getImdbId()) ? null : tvShow.getImdbId();
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return IMDB.equals(propertyName) || "imdbId".equals(propertyName);
+      }
+    };
+    // the partition of the TV shows per data source
+    tvShowDataSourceIndex = new MediaEntityIndex<File, TvShow>() {
+      @Override
+      protected File getKey(TvShow tvShow) {
+        return StringUtils.isBlank(tvShow.getDataSource()) ? null : new File(tvShow.getDataSource());
+      }
+
+      @Override
+      public boolean isKeyProperty(String propertyName) {
+        return DATA_SOURCE.equals(propertyName);
+      }
+    };
+    tvShowIndexes = new ArrayList<MediaEntityIndex<?, TvShow>>();
+    tvShowIndexes.add(tvShowDbIdIndex);
+    tvShowIndexes.add(tvShowPathIndex);
+    tvShowIndexes.add(tvShowTvdbIndex);
+    tvShowIndexes.add(tvShowImdbIndex);
+    tvShowIndexes.add(tvShowDataSourceIndex);
+
+    // the index listener: re-index a TV show as soon as one of its key properties changes (in the thread of the change)
+    indexListener = new PropertyChangeListener() {
+      @Override
+      public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getSource() instanceof TvShow) {
+          TvShow tvShow = (TvShow) evt.getSource();
+          for (MediaEntityIndex<?, TvShow> index : tvShowIndexes) {
+            if (index.isKeyProperty(evt.getPropertyName())) {
+              index.update(tvShow);
+            }
+          }
         }
       }
     };
   }
 
+  private void addToCounters(TvShow tvShow) {
+    tvShow.addSynchronousPropertyChangeListener(counterListener);
+    updateCounters(tvShow, tvShow.getEpisodeCount(), tvShow.getNewEpisodeCount(), tvShow.getUnscrapedEpisodeCount(),
+        tvShow.getMissingArtworkEpisodeCount());
+  }
+
+  private void removeFromCounters(TvShow tvShow) {
+    tvShow.removeSynchronousPropertyChangeListener(counterListener);
+    updateCounters(tvShow, -tvShow.getEpisodeCount(), -tvShow.getNewEpisodeCount(), -tvShow.getUnscrapedEpisodeCount(),
+        -tvShow.getMissingArtworkEpisodeCount());
+    synchronized (showsWithNewEpisodes) {
+      showsWithNewEpisodes.remove(tvShow);
+    }
+  }
+
+  /**
+   * apply the given changes of the counters of a TV show to the overall counters and fire the change events
+   */
+  private void updateCounters(TvShow tvShow, int episodes, int newEpisodes, int unscraped, int missingArtwork) {
+    int oldEpisodes, oldNewEpisodes, oldUnscraped, oldMissingArtwork;
+    int newEpisodesValue, newNewEpisodes, newUnscraped, newMissingArtwork;
+    synchronized (showsWithNewEpisodes) {
+      oldEpisodes = episodeCount;
+      oldNewEpisodes = newEpisodeCount;
+      oldUnscraped = unscrapedCount;
+      oldMissingArtwork = missingArtworkCount;
+      episodeCount += episodes;
+      newEpisodeCount += newEpisodes;
+      unscrapedCount += unscraped;
+      missingArtworkCount += missingArtwork;
+      newEpisodesValue = episodeCount;
+      newNewEpisodes = newEpisodeCount;
+      newUnscraped = unscrapedCount;
+      newMissingArtwork = missingArtworkCount;
+
+      if (tvShow.getNewEpisodeCount() > 0) {
+        showsWithNewEpisodes.add(tvShow);
+      }
+      else {
+        showsWithNewEpisodes.remove(tvShow);
+      }
+    }
+
+    firePropertyChange(EPISODE_COUNT, oldEpisodes, newEpisodesValue);
+    firePropertyChange(NEW_EPISODE_COUNT, oldNewEpisodes, newNewEpisodes);
+    firePropertyChange(UNSCRAPED_COUNT, oldUnscraped, newUnscraped);
+    firePropertyChange(MISSING_ARTWORK_COUNT, oldMissingArtwork, newMissingArtwork);
+  }
+
+  private void addToIndexes(TvShow tvShow) {
+    for (MediaEntityIndex<?, TvShow> index : tvShowIndexes) {
+      index.add(tvShow);
+    }
+    tvShow.addSynchronousPropertyChangeListener(indexListener);
+  }
+
+  private void removeFromIndexes(TvShow tvShow) {
+    tvShow.removeSynchronousPropertyChangeListener(indexListener);
+    for (MediaEntityIndex<?, TvShow> index : tvShowIndexes) {
+      index.remove(tvShow);
+    }
+  }
+
+  /**
+   * add the given TV shows (and their episodes) to all aggregates and fire one change event per changed aggregate
+   */
+  private void addTvShowsToAggregates(Collection<TvShow> tvShows) {
+    List<TvShowEpisode> episodes = new ArrayList<TvShowEpisode>();
+    for (TvShow tvShow : tvShows) {
+      episodes.addAll(tvShow.getEpisodes());
+    }
+    addEpisodesToAggregates(episodes);
+
+    if (tvShowTagAggregate.addAll(tvShows)) {
+      fireAggregateChanged(tvShowTagAggregate);
+    }
+    for (TvShow tvShow : tvShows) {
+      tvShow.addSynchronousPropertyChangeListener(aggregateListener);
+    }
+  }
+
+  /**
+   * remove the given TV show (and its episodes) from all aggregates and fire one change event per changed aggregate
+   */
+  private void removeTvShowFromAggregates(TvShow tvShow) {
+    tvShow.removeSynchronousPropertyChangeListener(aggregateListener);
+    if (tvShowTagAggregate.remove(tvShow)) {
+      fireAggregateChanged(tvShowTagAggregate);
+    }
+    removeEpisodesFromAggregates(tvShow.getEpisodes());
+  }
+
+  private void addEpisodesToAggregates(Collection<TvShowEpisode> episodes) {
+    for (MediaEntityAggregate<?, TvShowEpisode> aggregate : episodeAggregates) {
+      if (aggregate.addAll(episodes)) {
+        fireAggregateChanged(aggregate);
+      }
+    }
+    for (TvShowEpisode episode : episodes) {
+      episode.addSynchronousPropertyChangeListener(aggregateListener);
+    }
+  }
+
+  private void removeEpisodesFromAggregates(Collection<TvShowEpisode> episodes) {
+    for (TvShowEpisode episode : episodes) {
+      episode.removeSynchronousPropertyChangeListener(aggregateListener);
+    }
+    for (MediaEntityAggregate<?, TvShowEpisode> aggregate : episodeAggregates) {
+      if (aggregate.removeAll(episodes)) {
+        fireAggregateChanged(aggregate);
+      }
+    }
+  }
+
+  private void fireAggregateChanged(MediaEntityAggregate<?, ?> aggregate) {
+    firePropertyChange(aggregate.getName(), null, aggregate.getValues());
+  }
+
+  private static List<String> getNonBlankValues(Collection<String> values) {
+    List<String> nonBlankValues = new ArrayList<String>(values.size());
+    for (String value : values) {
+      if (StringUtils.isNotBlank(value)) {
+        nonBlankValues.add(value);
+      }
+    }
+    return nonBlankValues;
+  }
+
   /**
    * Gets the single instance of TvShowList.
    * 
@@ -133,12 +452,46 @@ public class TvShowList extends AbstractModelObject {
    *          the new value
    */
   public void addTvShow(TvShow newValue) {
-    int oldValue = tvShowList.size();
+    addTvShows(Collections.singletonList(newValue));
+  }
+
+  /**
+   * add the given TV shows in one bulk operation; the list is locked only once and all listeners get only one change event
+   * 
+   * @param tvShows
+   *          the TV shows to add
+   */
+  public void addTvShows(List<TvShow> tvShows) {
+    if (tvShows == null || tvShows.isEmpty()) {
+      return;
+    }
+
+    // filter out already known TV shows (and duplicates within the given list)
+    List<TvShow> newTvShows = new ArrayList<TvShow>(tvShows.size());
+    Set<TvShow> seen = Collections.newSetFromMap(new IdentityHashMap<TvShow, Boolean>());
+    for (TvShow tvShow : tvShows) {
+      if (tvShowDbIdIndex.getFirst(tvShow.getDbId()) != tvShow && seen.add(tvShow)) {
+        newTvShows.add(tvShow);
+      }
+    }
+    if (newTvShows.isEmpty()) {
+      return;
+    }
+
+    int oldValue;
+    synchronized (tvShowList) {
+      oldValue = tvShowList.size();
+      tvShowList.addAll(newTvShows);
+    }
+
+    for (TvShow tvShow : newTvShows) {
+      addToIndexes(tvShow);
+      addToCounters(tvShow);
+    }
+    addTvShowsToAggregates(newTvShows);
 
-    tvShowList.add(newValue);
-    newValue.addPropertyChangeListener(propertyChangeListener);
     firePropertyChange(TV_SHOWS, null, tvShowList);
-    firePropertyChange(ADDED_TV_SHOW, null, newValue);
+    firePropertyChange(ADDED_TV_SHOWS, null, newTvShows);
     firePropertyChange(TV_SHOW_COUNT, oldValue, tvShowList.size());
   }
 
@@ -153,12 +506,7 @@ public class TvShowList extends AbstractModelObject {
       return;
     }
 
-    for (int i = tvShowList.size() - 1; i >= 0; i--) {
-      TvShow tvShow = tvShowList.get(i);
-      if (new File(path).equals(new File(tvShow.getDataSource()))) {
-        removeTvShow(tvShow);
-      }
-    }
+    removeTvShows(getTvShowsByDataSource(path));
   }
 
   /**
@@ -168,19 +516,39 @@ public class TvShowList extends AbstractModelObject {
    *          the tvShow
    */
   public void removeTvShow(TvShow tvShow) {
-    int oldValue = tvShowList.size();
-    tvShow.removeAllEpisodes();
-    tvShowList.remove(tvShow);
+    removeTvShows(Collections.singletonList(tvShow));
+  }
 
-    try {
-      TvShowModuleManager.getInstance().removeTvShowFromDb(tvShow);
+  /**
+   * remove the given TV shows in one bulk operation; the list is locked only once and all listeners get only one change event
+   * 
+   * @param tvShows
+   *          the TV shows to remove
+   */
+  public void removeTvShows(List<TvShow> tvShows) {
+    if (tvShows == null || tvShows.isEmpty()) {
+      return;
     }
-    catch (Exception e) {
-      LOGGER.error("problem removing TV show from DB: " + e.getMessage());
+
+    for (TvShow tvShow : tvShows) {
+      removeTvShowFromAggregates(tvShow);
+      tvShow.removeAllEpisodes();
+    }
+    int oldValue = removeFromTvShowList(tvShows);
+
+    for (TvShow tvShow : tvShows) {
+      removeFromIndexes(tvShow);
+      removeFromCounters(tvShow);
+      try {
+        TvShowModuleManager.getInstance().removeTvShowFromDb(tvShow);
+      }
+      catch (Exception e) {
+        LOGGER.error("problem removing TV show from DB: " + e.getMessage());
+      }
     }
 
     firePropertyChange(TV_SHOWS, null, tvShowList);
-    firePropertyChange(REMOVED_TV_SHOW, null, tvShow);
+    firePropertyChange(REMOVED_TV_SHOWS, null, new ArrayList<TvShow>(tvShows));
     firePropertyChange(TV_SHOW_COUNT, oldValue, tvShowList.size());
   }
 
@@ -191,22 +559,24 @@ public class TvShowList extends AbstractModelObject {
    *          the tvShow
    */
   public void deleteTvShow(TvShow tvShow) {
-    int oldValue = tvShowList.size();
-
     tvShow.deleteFilesSafely();
-    tvShow.removeAllEpisodes();
-    tvShowList.remove(tvShow);
+    removeTvShow(tvShow);
+  }
 
-    try {
-      TvShowModuleManager.getInstance().removeTvShowFromDb(tvShow);
-    }
-    catch (Exception e) {
-      LOGGER.error("problem removing TV show from DB: " + e.getMessage());
+  /**
+   * remove the given TV shows from the list in one bulk operation (one list event instead of one per TV show)
+   * 
+   * @return the TV show count before the removal
+   */
+  private int removeFromTvShowList(List<TvShow> tvShows) {
+    Set<TvShow> tvShowsToRemove = Collections.newSetFromMap(new IdentityHashMap<TvShow, Boolean>());
+    tvShowsToRemove.addAll(tvShows);
+
+    synchronized (tvShowList) {
+      int oldValue = tvShowList.size();
+      tvShowList.removeAll(tvShowsToRemove);
+      return oldValue;
     }
-
-    firePropertyChange(TV_SHOWS, null, tvShowList);
-    firePropertyChange(REMOVED_TV_SHOW, null, tvShow);
-    firePropertyChange(TV_SHOW_COUNT, oldValue, tvShowList.size());
   }
 
   /**
@@ -224,81 +594,121 @@ public class TvShowList extends AbstractModelObject {
    * @return the episode count
    */
   public int getEpisodeCount() {
-    int count = 0;
-    for (int i = 0; i < tvShowList.size(); i++) {
-      TvShow tvShow = tvShowList.get(i);
-      count += tvShow.getEpisodeCount();
+    synchronized (showsWithNewEpisodes) {
+      return episodeCount;
     }
+  }
 
-    return count;
+  /**
+   * Gets the count of all newly added episodes.
+   * 
+   * @return the new episode count
+   */
+  public int getNewEpisodeCount() {
+    synchronized (showsWithNewEpisodes) {
+      return newEpisodeCount;
+    }
+  }
+
+  /**
+   * Gets the count of all unscraped episodes.
+   * 
+   * @return the unscraped episode count
+   */
+  public int getUnscrapedEpisodeCount() {
+    synchronized (showsWithNewEpisodes) {
+      return unscrapedCount;
+    }
+  }
+
+  /**
+   * Gets the count of all episodes without artwork.
+   * 
+   * @return the count of episodes without thumb
+   */
+  public int getMissingArtworkEpisodeCount() {
+    synchronized (showsWithNewEpisodes) {
+      return missingArtworkCount;
+    }
   }
 
   /**
    * Load tv shows from database.
    */
-  void loadTvShowsFromDatabase(MVMap<UUID, String> tvShowMap, ObjectMapper objectMapper) {
+  void loadTvShowsFromDatabase(MVMap<UUID, Object> tvShowMap, ObjectMapper objectMapper) {
     // load all TV shows from the database
     ObjectReader tvShowObjectReader = objectMapper.readerFor(TvShow.class);
 
-    for (UUID uuid : tvShowMap.keyList()) {
-      try {
-        TvShow tvShow = tvShowObjectReader.readValue(tvShowMap.get(uuid));
-        tvShow.setDbId(uuid);
-
-        // for performance reasons we add tv shows directly
-        tvShowList.add(tvShow);
-      }
-      catch (Exception e) {
-        LOGGER.warn("problem decoding TV show json string: ", e);
-      }
+    // decode in parallel and add all TV shows in one bulk operation
+    List<TvShow> tvShows = ParallelEntityLoader.load(tvShowMap, tvShowObjectReader);
+    tvShowList.addAll(tvShows);
+    for (TvShow tvShow : tvShows) {
+      addToIndexes(tvShow);
+      addToCounters(tvShow);
     }
+
     LOGGER.info("found " + tvShowList.size() + " TV shows in database");
   }
 
   /**
    * Load episodes from database.
    */
-  void loadEpisodesFromDatabase(MVMap<UUID, String> episodesMap, ObjectMapper objectMapper) {
+  void loadEpisodesFromDatabase(MVMap<UUID, Object> episodesMap, ObjectMapper objectMapper) {
     // load all episodes from the database
+    long start = System.currentTimeMillis();
     ObjectReader episodeObjectReader = objectMapper.readerFor(TvShowEpisode.class);
-    int episodeCount = 0;
 
-    for (UUID uuid : episodesMap.keyList()) {
-      try {
-        episodeCount++;
-        TvShowEpisode episode = episodeObjectReader.readValue(episodesMap.get(uuid));
-        episode.setDbId(uuid);
-
-        // and assign it the the right TV show
-        for (TvShow tvShow : tvShowList) {
-          if (tvShow.getDbId().equals(episode.getTvShowDbId())) {
-            episode.setTvShow(tvShow);
-            tvShow.addEpisode(episode);
-            break;
-          }
-        }
+    // decode in parallel
+    List<TvShowEpisode> episodes = ParallelEntityLoader.load(episodesMap, episodeObjectReader);
+    long decodeTime = System.currentTimeMillis() - start;
+
+    // and assign them to the right TV show: group the episodes per TV show
+    start = System.currentTimeMillis();
+    Map<TvShow, List<TvShowEpisode>> episodesPerTvShow = new HashMap<TvShow, List<TvShowEpisode>>(tvShowList.size());
+    int orphanedEpisodes = 0;
+    for (TvShowEpisode episode : episodes) {
+      TvShow tvShow = tvShowDbIdIndex.getFirst(episode.getTvShowDbId());
+      if (tvShow == null) {
+        orphanedEpisodes++;
+        continue;
       }
-      catch (Exception e) {
-        LOGGER.warn("problem decoding episode json string: ", e);
+      episode.setTvShow(tvShow);
+
+      List<TvShowEpisode> episodesOfTvShow = episodesPerTvShow.get(tvShow);
+      if (episodesOfTvShow == null) {
+        episodesOfTvShow = new ArrayList<TvShowEpisode>();
+        episodesPerTvShow.put(tvShow, episodesOfTvShow);
+      }
+      episodesOfTvShow.add(episode);
+    }
+
+    for (Map.Entry<TvShow, List<TvShowEpisode>> entry : episodesPerTvShow.entrySet()) {
+      entry.getKey().addEpisodes(entry.getValue());
+
+      // just loaded from the database: the assignment is no change to persist
+      entry.getKey().clearDirty();
+      for (TvShowEpisode episode : entry.getValue()) {
+        episode.clearDirty();
       }
     }
-    LOGGER.info("found " + episodeCount + " episodes in database");
+    long assignTime = System.currentTimeMillis() - start;
+
+    LOGGER.info("found " + episodes.size() + " episodes in database (decoding: " + decodeTime + " ms, assigning to TV shows: " + assignTime + " ms)");
+    if (orphanedEpisodes > 0) {
+      LOGGER.warn("found " + orphanedEpisodes + " episodes without TV show in database");
+    }
   }
 
   void initDataAfterLoading() {
     // init everything after loading
     for (TvShow tvShow : tvShowList) {
       tvShow.initializeAfterLoading();
-      updateTvShowTags(tvShow);
 
       for (TvShowEpisode episode : tvShow.getEpisodes()) {
         episode.initializeAfterLoading();
-        updateEpisodeTags(episode);
-        updateMediaInformationLists(episode);
       }
-
-      tvShow.addPropertyChangeListener(propertyChangeListener);
     }
+    addTvShowsToAggregates(tvShowList);
   }
 
   public void persistTvShow(TvShow tvShow) {
@@ -470,158 +880,100 @@ public class TvShowList extends AbstractModelObject {
     return searchResult;
   }
 
-  private void updateTvShowTags(TvShow tvShow) {
-    for (String tagInTvShow : new ArrayList<>(tvShow.getTags())) {
-      boolean tagFound = false;
-      for (String tag : tvShowTagsObservable) {
-        if (tagInTvShow.equals(tag)) {
-          tagFound = true;
-          break;
-        }
-      }
-      if (!tagFound) {
-        addTvShowTag(tagInTvShow);
-      }
-    }
-  }
-
-  private void addTvShowTag(String newTag) {
-    for (String tag : tvShowTagsObservable) {
-      if (tag.equals(newTag)) {
-        return;
-      }
-    }
-
-    tvShowTagsObservable.add(newTag);
-    firePropertyChange("tag", null, tvShowTagsObservable);
-  }
-
   public List<String> getTagsInTvShows() {
-    return tvShowTagsObservable;
+    return tvShowTagAggregate.getView();
   }
 
-  private void updateEpisodeTags(TvShowEpisode episode) {
-    for (String tagEpisode : new ArrayList<>(episode.getTags())) {
-      boolean tagFound = false;
-      for (String tag : episodeTagsObservable) {
-        if (tagEpisode.equals(tag)) {
-          tagFound = true;
-          break;
-        }
-      }
-      if (!tagFound) {
-        addEpisodeTag(tagEpisode);
-      }
-    }
+  public List<String> getTagsInEpisodes() {
+    return episodeTagAggregate.getView();
   }
 
-  private void addEpisodeTag(String newTag) {
-    for (String tag : episodeTagsObservable) {
-      if (tag.equals(newTag)) {
-        return;
-      }
-    }
-
-    episodeTagsObservable.add(newTag);
-    firePropertyChange("tag", null, episodeTagsObservable);
+  public List<String> getVideoCodecsInEpisodes() {
+    return videoCodecAggregate.getView();
   }
 
-  public List<String> getTagsInEpisodes() {
-    return episodeTagsObservable;
+  public List<String> getAudioCodecsInEpisodes() {
+    return audioCodecAggregate.getView();
   }
 
-  private void updateMediaInformationLists(TvShowEpisode episode) {
-    // video codec
-    for (MediaFile mf : episode.getMediaFiles(MediaFileType.VIDEO)) {
-      String codec = mf.getVideoCodec();
-      boolean codecFound = false;
-
-      for (String mfCodec : videoCodecsObservable) {
-        if (mfCodec.equals(codec)) {
-          codecFound = true;
-          break;
-        }
-      }
-
-      if (!codecFound) {
-        addVideoCodec(codec);
-      }
-    }
-
-    // audio codec
-    for (MediaFile mf : episode.getMediaFiles(MediaFileType.VIDEO)) {
-      for (MediaFileAudioStream audio : mf.getAudioStreams()) {
-        String codec = audio.getCodec();
-        boolean codecFound = false;
-        for (String mfCodec : audioCodecsObservable) {
-          if (mfCodec.equals(codec)) {
-            codecFound = true;
-            break;
-          }
-        }
-
-        if (!codecFound) {
-          addAudioCodec(codec);
-        }
-      }
+  /**
+   * Gets all TV shows of the given data source. Only the partition of this data source is touched, not the whole library.
+   * 
+   * @param dataSource
+   *          the data source
+   * @return a list of all TV shows in this data source (never null)
+   */
+  public List<TvShow> getTvShowsByDataSource(String dataSource) {
+    if (StringUtils.isBlank(dataSource)) {
+      return new ArrayList<TvShow>(0);
     }
+    return tvShowDataSourceIndex.get(new File(dataSource));
   }
 
-  private void addVideoCodec(String newCodec) {
-    if (StringUtils.isBlank(newCodec)) {
-      return;
-    }
-
-    for (String codec : videoCodecsObservable) {
-      if (codec.equals(newCodec)) {
-        return;
-      }
-    }
-
-    videoCodecsObservable.add(newCodec);
-    firePropertyChange("videoCodec", null, videoCodecsObservable);
+  /**
+   * Gets the TV show by path.
+   * 
+   * @param path
+   *          the path
+   * @return the TV show by path
+   */
+  public TvShow getTvShowByPath(File path) {
+    return tvShowPathIndex.getFirst(path);
   }
 
-  private void addAudioCodec(String newCodec) {
-    if (StringUtils.isBlank(newCodec)) {
-      return;
-    }
-
-    for (String codec : audioCodecsObservable) {
-      if (codec.equals(newCodec)) {
-        return;
-      }
-    }
-
-    audioCodecsObservable.add(newCodec);
-    firePropertyChange("audioCodec", null, audioCodecsObservable);
+  /**
+   * Gets the TV show by its internal id.
+   * 
+   * @param uuid
+   *          the database id
+   * @return the TV show or null
+   */
+  public TvShow lookupTvShow(UUID uuid) {
+    return tvShowDbIdIndex.getFirst(uuid);
   }
 
-  public List<String> getVideoCodecsInEpisodes() {
-    return videoCodecsObservable;
+  /**
+   * Gets the TV shows with the given TVDB id
+   * 
+   * @param tvdbId
+   *          the TVDB id
+   * @return the TV shows with this id (empty list if there is none)
+   */
+  public List<TvShow> getTvShowsByTvdbId(String tvdbId) {
+    return tvShowTvdbIndex.get(tvdbId);
   }
 
-  public List<String> getAudioCodecsInEpisodes() {
-    return audioCodecsObservable;
+  /**
+   * Gets the TV shows with the given IMDB id
+   * 
+   * @param imdbId
+   *          the IMDB id
+   * @return the TV shows with this id (empty list if there is none)
+   */
+  public List<TvShow> getTvShowsByImdbId(String imdbId) {
+    return tvShowImdbIndex.get(imdbId);
   }
 
   /**
-   * Gets the TV show by path.
+   * checks whether there is another TV show with the same TVDB or IMDB id (the duplicate state is maintained by the id indexes)
    * 
-   * @param path
-   *          the path
-   * @return the TV show by path
+   * @param tvShow
+   *          the TV show
+   * @return true if the TV show is a duplicate
    */
-  public TvShow getTvShowByPath(File path) {
-    ArrayList<TvShow> tvShows = new ArrayList<TvShow>(tvShowList);
-    // iterate over all tv shows and check whether this path is being owned by one
-    for (TvShow tvShow : tvShows) {
-      if (new File(tvShow.getPath()).compareTo(path) == 0) {
-        return tvShow;
-      }
-    }
+  public boolean isDuplicate(TvShow tvShow) {
+    return tvShowTvdbIndex.hasDuplicates(tvShow) || tvShowImdbIndex.hasDuplicates(tvShow);
+  }
 
-    return null;
+  /**
+   * get all TV shows which share their TVDB or IMDB id with another TV show
+   * 
+   * @return the duplicates (empty list if there are none)
+   */
+  public List<TvShow> getDuplicateTvShows() {
+    Set<TvShow> duplicates = new LinkedHashSet<TvShow>(tvShowTvdbIndex.getDuplicates());
+    duplicates.addAll(tvShowImdbIndex.getDuplicates());
+    return new ArrayList<TvShow>(duplicates);
   }
 
   /**
@@ -632,30 +984,13 @@ public class TvShowList extends AbstractModelObject {
    * @return the tv episodes by file
    */
   public List<TvShowEpisode> getTvEpisodesByFile(TvShow tvShow, File file) {
-    List<TvShowEpisode> episodes = new ArrayList<TvShowEpisode>(1);
     // validy check
     if (file == null) {
-      return episodes;
+      return new ArrayList<TvShowEpisode>(1);
     }
 
-    // check if that file is in this tv show/episode (iterating thread safe)
-    for (TvShowEpisode episode : new ArrayList<TvShowEpisode>(tvShow.getEpisodes())) {
-      for (MediaFile mediaFile : new ArrayList<MediaFile>(episode.getMediaFiles())) {
-        if (file.equals(mediaFile.getFile())) {
-          episodes.add(episode);
-        }
-      }
-    }
-    // for (int j = 0; j < tvShow.getEpisodes().size(); j++) {
-    // TvShowEpisode episode = tvShow.getEpisodes().get(j);
-    // for (int k = 0; k < episode.getMediaFiles().size(); k++) {
-    // MediaFile mediaFile = episode.getMediaFiles().get(k);
-    // if (file.equals(mediaFile.getFile())) {
-    // episodes.add(episode);
-    // }
-    // }
-    // }
-    return episodes;
+    // the TV show maintains an index of its episodes by file
+    return tvShow.getEpisodesByFile(file);
   }
 
   /**
@@ -673,13 +1008,9 @@ public class TvShowList extends AbstractModelObject {
    * @return the new TvShows
    */
   public List<TvShow> getNewTvShows() {
-    List<TvShow> newShows = new ArrayList<TvShow>();
-    for (TvShow show : tvShowList) {
-      if (show.isNewlyAdded()) {
-        newShows.add(show);
-      }
+    synchronized (showsWithNewEpisodes) {
+      return new ArrayList<TvShow>(showsWithNewEpisodes);
     }
-    return newShows;
   }
 
   /**
@@ -689,12 +1020,8 @@ public class TvShowList extends AbstractModelObject {
    */
   public List<TvShowEpisode> getNewEpisodes() {
     List<TvShowEpisode> newEp = new ArrayList<TvShowEpisode>();
-    for (TvShow show : tvShowList) {
-      for (TvShowEpisode ep : show.getEpisodes()) {
-        if (ep.isNewlyAdded()) {
-          newEp.add(ep);
-        }
-      }
+    for (TvShow show : getNewTvShows()) {
+      newEp.addAll(show.getNewEpisodes());
     }
     return newEp;
   }
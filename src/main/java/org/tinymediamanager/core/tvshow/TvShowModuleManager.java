@@ -18,9 +18,9 @@ package org.tinymediamanager.core.tvshow;
 import java.io.File;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.json.JSONArray;
@@ -31,7 +31,10 @@ import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.Constants;
 import org.tinymediamanager.core.ITmmModule;
 import org.tinymediamanager.core.Settings;
-import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.database.DatabaseBackup;
+import org.tinymediamanager.core.database.DatabaseCompactor;
+import org.tinymediamanager.core.database.EntityCodec;
+import org.tinymediamanager.core.database.WriteBehindQueue;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
 
@@ -47,11 +50,15 @@ import com.fasterxml.jackson.databind.ObjectWriter;
  * @author Manuel Laggner
  */
 public class TvShowModuleManager implements ITmmModule {
-  public static final TvShowSettings TV_SHOW_SETTINGS = Globals.settings.getTvShowSettings();
+  public static final TvShowSettings TV_SHOW_SETTINGS  = Globals.settings.getTvShowSettings();
 
-  private static final String        MODULE_TITLE     = "TV show management";
-  private static final String        TV_SHOW_DB       = "tvshows.db";
-  private static final Logger        LOGGER           = LoggerFactory.getLogger(TvShowModuleManager.class);
+  private static final String        MODULE_TITLE      = "TV show management";
+  private static final String        TV_SHOW_DB        = "tvshows.db";
+  private static final long          WRITE_DELAY       = 500;
+  private static final long          BACKUP_DELAY      = 30; // seconds
+  private static final long          COMPACT_INTERVAL  = 300; // seconds
+  private static final int           CODEC_SAMPLE_SIZE = 200; // entities for the codec comparison (-Dtmm.codecbenchmark=true)
+  private static final Logger        LOGGER            = LoggerFactory.getLogger(TvShowModuleManager.class);
   private static TvShowModuleManager instance;
 
   private boolean                    enabled;
@@ -59,9 +66,13 @@ public class TvShowModuleManager implements ITmmModule {
   private ObjectMapper               objectMapper;
   private ObjectWriter               tvShowObjectWriter;
   private ObjectWriter               episodeObjectWriter;
+  private EntityCodec                entityCodec;
+  private DatabaseBackup             databaseBackup;
+  private DatabaseCompactor          databaseCompactor;
+  private WriteBehindQueue           writeBehindQueue;
 
-  private MVMap<UUID, String>        tvShowMap;
-  private MVMap<UUID, String>        episodeMap;
+  private MVMap<UUID, Object>        tvShowMap;
+  private MVMap<UUID, Object>        episodeMap;
 
   private TvShowModuleManager() {
     enabled = false;
@@ -81,13 +92,9 @@ public class TvShowModuleManager implements ITmmModule {
 
   @Override
   public void startUp() throws Exception {
-    // do a DB backup, and keep last 15 copies
-    File db = new File(Settings.getInstance().getSettingsFolder(), TV_SHOW_DB);
-    Utils.createBackupFile(db);
-    Utils.deleteOldBackupFile(db, 15);
-
     // configure database
-    mvStore = new MVStore.Builder().fileName(Settings.getInstance().getSettingsFolder() + File.separatorChar + TV_SHOW_DB).compressHigh().open();
+    File db = new File(Settings.getInstance().getSettingsFolder(), TV_SHOW_DB);
+    mvStore = new MVStore.Builder().fileName(db.getAbsolutePath()).compressHigh().open();
     mvStore.setAutoCommitDelay(2000); // 2 sec
     mvStore.setRetentionTime(0);
     mvStore.setReuseSpace(true);
@@ -107,15 +114,48 @@ public class TvShowModuleManager implements ITmmModule {
     tvShowMap = mvStore.openMap("tvshows");
     episodeMap = mvStore.openMap("episodes");
 
+    // all writes are done in batches by the write behind queue
+    writeBehindQueue = new WriteBehindQueue(TV_SHOW_DB, mvStore, WRITE_DELAY);
+
+    // one time migration if the db has been written with another codec
+    entityCodec = Globals.settings.getDatabaseCodec();
+    if (entityCodec != EntityCodec.getStoreCodec(mvStore)) {
+      long start = System.currentTimeMillis();
+      int migrated = entityCodec.migrate(tvShowMap, objectMapper.readerFor(TvShow.class), tvShowObjectWriter);
+      migrated += entityCodec.migrate(episodeMap, objectMapper.readerFor(TvShowEpisode.class), episodeObjectWriter);
+      entityCodec.setStoreCodec(mvStore);
+      mvStore.commit();
+      LOGGER.info("migrated " + migrated + " entries in " + TV_SHOW_DB + " to " + entityCodec + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    long start = System.currentTimeMillis();
     TvShowList.getInstance().loadTvShowsFromDatabase(tvShowMap, objectMapper);
     TvShowList.getInstance().loadEpisodesFromDatabase(episodeMap, objectMapper);
+    LOGGER.info("loaded " + TV_SHOW_DB + " (" + entityCodec + ") in " + (System.currentTimeMillis() - start) + " ms");
+    if (EntityCodec.isBenchmarkEnabled()) {
+      LOGGER.info(TV_SHOW_DB + ": "
+          + EntityCodec.compare(episodeMap, objectMapper.readerFor(TvShowEpisode.class), episodeObjectWriter, CODEC_SAMPLE_SIZE));
+    }
     TvShowList.getInstance().initDataAfterLoading();
     enabled = true;
+
+    // do a DB backup in the background (if there are changes since the last one); old copies are removed by the retention policy
+    databaseBackup = new DatabaseBackup(mvStore, db);
+    databaseBackup.scheduleBackup(BACKUP_DELAY);
+
+    // compact the db in small steps while we are idle
+    databaseCompactor = new DatabaseCompactor(TV_SHOW_DB, mvStore, databaseBackup, 1000);
+    databaseCompactor.schedule(COMPACT_INTERVAL, COMPACT_INTERVAL);
   }
 
   @Override
   public void shutDown() throws Exception {
-    mvStore.compactMoveChunks();
+    // abort a running backup/compaction
+    databaseCompactor.close();
+    databaseBackup.close();
+
+    // write all pending changes
+    writeBehindQueue.shutdown();
     mvStore.close();
 
     enabled = false;
@@ -154,31 +194,92 @@ public class TvShowModuleManager implements ITmmModule {
     }
   }
 
-  void persistTvShow(TvShow tvShow) throws Exception {
-    String newValue = tvShowObjectWriter.writeValueAsString(tvShow);
-    String oldValue = tvShowMap.get(tvShow.getDbId());
+  void persistTvShow(final TvShow tvShow) throws Exception {
+    // nothing changed since the last write
+    if (!tvShow.isDirty()) {
+      return;
+    }
+    writeBehindQueue.enqueue(tvShow.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        writeTvShow(tvShow);
+        return null;
+      }
+    });
+  }
+
+  void removeTvShowFromDb(final TvShow tvShow) throws Exception {
+    // a re-added entity has to be written again
+    tvShow.markDirty();
+    writeBehindQueue.enqueue(tvShow.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        tvShowMap.remove(tvShow.getDbId());
+        return null;
+      }
+    });
+  }
+
+  private void writeTvShow(TvShow tvShow) throws Exception {
+    // clear before encoding; changes while encoding will mark it dirty again
+    tvShow.clearDirty();
+    Object newValue;
+    try {
+      newValue = entityCodec.encode(tvShowObjectWriter, tvShow);
+    }
+    catch (Exception e) {
+      tvShow.markDirty();
+      throw e;
+    }
+    Object oldValue = tvShowMap.get(tvShow.getDbId());
 
-    if (!StringUtils.equals(newValue, oldValue)) {
+    if (!EntityCodec.isEqual(newValue, oldValue)) {
       // write to DB
       tvShowMap.put(tvShow.getDbId(), newValue);
     }
   }
 
-  void removeTvShowFromDb(TvShow tvShow) throws Exception {
-    tvShowMap.remove(tvShow.getDbId());
+  void persistEpisode(final TvShowEpisode episode) throws Exception {
+    // nothing changed since the last write
+    if (!episode.isDirty()) {
+      return;
+    }
+    writeBehindQueue.enqueue(episode.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        writeEpisode(episode);
+        return null;
+      }
+    });
   }
 
-  void persistEpisode(TvShowEpisode episode) throws Exception {
-    String newValue = episodeObjectWriter.writeValueAsString(episode);
-    String oldValue = episodeMap.get(episode.getDbId());
+  void removeEpisodeFromDb(final TvShowEpisode episode) throws Exception {
+    // a re-added entity has to be written again
+    episode.markDirty();
+    writeBehindQueue.enqueue(episode.getDbId(), new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        episodeMap.remove(episode.getDbId());
+        return null;
+      }
+    });
+  }
 
-    if (!StringUtils.equals(newValue, oldValue)) {
-      episodeMap.put(episode.getDbId(), newValue);
+  private void writeEpisode(TvShowEpisode episode) throws Exception {
+    episode.clearDirty();
+    Object newValue;
+    try {
+      newValue = entityCodec.encode(episodeObjectWriter, episode);
     }
-  }
+    catch (Exception e) {
+      episode.markDirty();
+      throw e;
+    }
+    Object oldValue = episodeMap.get(episode.getDbId());
 
-  void removeEpisodeFromDb(TvShowEpisode episode) throws Exception {
-    episodeMap.remove(episode.getDbId());
+    if (!EntityCodec.isEqual(newValue, oldValue)) {
+      episodeMap.put(episode.getDbId(), newValue);
+    }
   }
 
   @Override
@@ -386,70 +386,76 @@ public class TvShowEpisodeToXbmcNfoConnector {
       }
 
       TvShowEpisode episode = new TvShowEpisode();
-      episode.setTitle(xbmc.getTitle());
-      episode.setPlot(xbmc.getPlot());
-      episode.setRating(xbmc.getRating());
-
+      episode.beginUpdate();
       try {
-        episode.setEpisode(Integer.parseInt(xbmc.getEpisode()));
-        episode.setSeason(Integer.parseInt(xbmc.getSeason()));
-      }
-      catch (NumberFormatException e) {
-      }
+        episode.setTitle(xbmc.getTitle());
+        episode.setPlot(xbmc.getPlot());
+        episode.setRating(xbmc.getRating());
 
-      try {
-        episode.setDisplayEpisode(Integer.parseInt(xbmc.getDisplayepisode()));
-        episode.setDisplaySeason(Integer.parseInt(xbmc.getDisplayseason()));
-      }
-      catch (NumberFormatException e) {
-      }
+        try {
+          episode.setEpisode(Integer.parseInt(xbmc.getEpisode()));
+          episode.setSeason(Integer.parseInt(xbmc.getSeason()));
+        }
+        catch (NumberFormatException e) {
+        }
 
-      episode.setVotes(xbmc.getVotes());
-      episode.setWatched(xbmc.watched);
-      if (xbmc.playcount > 0) {
-        episode.setWatched(true);
-      }
+        try {
+          episode.setDisplayEpisode(Integer.parseInt(xbmc.getDisplayepisode()));
+          episode.setDisplaySeason(Integer.parseInt(xbmc.getDisplayseason()));
+        }
+        catch (NumberFormatException e) {
+        }
 
-      // convert director to internal format
-      String director = "";
-      for (String dir : xbmc.getDirector()) {
-        if (!StringUtils.isEmpty(director)) {
-          director += ", ";
+        episode.setVotes(xbmc.getVotes());
+        episode.setWatched(xbmc.watched);
+        if (xbmc.playcount > 0) {
+          episode.setWatched(true);
         }
-        director += dir;
-      }
-      episode.setDirector(director);
 
-      // convert writer to internal format
-      String writer = "";
-      for (String wri : xbmc.getCredits()) {
-        if (StringUtils.isNotEmpty(writer)) {
-          writer += ", ";
+        // convert director to internal format
+        String director = "";
+        for (String dir : xbmc.getDirector()) {
+          if (!StringUtils.isEmpty(director)) {
+            director += ", ";
+          }
+          director += dir;
         }
-        writer += wri;
-      }
-      episode.setWriter(writer);
+        episode.setDirector(director);
 
-      try {
-        episode.setFirstAired(xbmc.getAired());
-      }
-      catch (ParseException e) {
-      }
+        // convert writer to internal format
+        String writer = "";
+        for (String wri : xbmc.getCredits()) {
+          if (StringUtils.isNotEmpty(writer)) {
+            writer += ", ";
+          }
+          writer += wri;
+        }
+        episode.setWriter(writer);
 
-      // now there is the complicated part: tv show actors should be on the tv show level
-      // episode "guests" should be on the episode level
-      // BUT: at this moment there is no information about the tv show, so we parse them all into the episode
-      for (Actor actor : xbmc.getActors()) {
-        TvShowActor cast = new TvShowActor(actor.getName(), actor.getRole());
-        cast.setThumb(actor.getThumb());
-        episode.addActor(cast);
-      }
+        try {
+          episode.setFirstAired(xbmc.getAired());
+        }
+        catch (ParseException e) {
+        }
 
-      for (String tag : xbmc.tags) {
-        episode.addToTags(tag);
-      }
+        // now there is the complicated part: tv show actors should be on the tv show level
+        // episode "guests" should be on the episode level
+        // BUT: at this moment there is no information about the tv show, so we parse them all into the episode
+        for (Actor actor : xbmc.getActors()) {
+          TvShowActor cast = new TvShowActor(actor.getName(), actor.getRole());
+          cast.setThumb(actor.getThumb());
+          episode.addActor(cast);
+        }
 
-      episode.addToMediaFiles(new MediaFile(nfo, MediaFileType.NFO));
+        for (String tag : xbmc.tags) {
+          episode.addToTags(tag);
+        }
+
+        episode.addToMediaFiles(new MediaFile(nfo, MediaFileType.NFO));
+      }
+      finally {
+        episode.endUpdate();
+      }
       episodes.add(episode);
     }
 
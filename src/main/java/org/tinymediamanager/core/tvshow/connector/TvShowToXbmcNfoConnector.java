@@ -240,6 +240,7 @@ public class TvShowToXbmcNfoConnector {
     try {
       TvShowToXbmcNfoConnector xbmc = parseNFO(nfo);
       tvShow = new TvShow();
+      tvShow.beginUpdate();
       if (StringUtils.isNotBlank(xbmc.getId())) {
         tvShow.setTvdbId(xbmc.getId());
       }
@@ -286,6 +287,11 @@ public class TvShowToXbmcNfoConnector {
       // MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, nfoFilename, "message.nfo.readerror"));
       return null;
     }
+    finally {
+      if (tvShow != null) {
+        tvShow.endUpdate();
+      }
+    }
 
     // only return if a movie name has been found
     if (StringUtils.isEmpty(tvShow.getTitle())) {
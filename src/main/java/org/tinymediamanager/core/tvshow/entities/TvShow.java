@@ -30,9 +30,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -108,12 +112,27 @@ public class TvShow extends MediaEntity {
   private List<TvShowEpisode>                episodes              = new ArrayList<TvShowEpisode>();
   private HashMap<Integer, MediaFile>        seasonPosters         = new HashMap<Integer, MediaFile>(0);
   private List<TvShowSeason>                 seasons               = new ArrayList<TvShowSeason>(1);
+  private Map<Integer, TvShowSeason>         seasonMap             = new ConcurrentHashMap<Integer, TvShowSeason>(4);
   private List<MediaGenres>                  genresForAccess       = new ArrayList<MediaGenres>(1);
   private String                             titleSortable         = "";
   private Date                               lastWatched           = null;
 
   private PropertyChangeListener             propertyChangeListener;
 
+  // index of the episodes by their media files; maintained synchronously on every change of the episodes/their media files
+  private Map<File, List<TvShowEpisode>>     episodesByFile        = new HashMap<File, List<TvShowEpisode>>();
+  private Map<TvShowEpisode, List<File>>     filesOfEpisode        = new IdentityHashMap<TvShowEpisode, List<File>>();
+  private PropertyChangeListener             episodeListener;
+
+  // the counters of new/unscraped episodes and of episodes without artwork; the state (flags) of every episode is needed to update them
+  private static final int                   STATE_NEW             = 1;
+  private static final int                   STATE_UNSCRAPED       = 2;
+  private static final int                   STATE_NO_ARTWORK      = 4;
+  private Map<TvShowEpisode, Integer>        episodeStates         = new IdentityHashMap<TvShowEpisode, Integer>();
+  private int                                newEpisodeCount       = 0;
+  private int                                unscrapedCount        = 0;
+  private int                                missingArtworkCount   = 0;
+
   /**
    * Instantiates a tv show. To initialize the propertychangesupport after loading
    */
@@ -130,6 +149,21 @@ public class TvShow extends MediaEntity {
         }
       }
     };
+
+    // re-index the episode if its media files have been changed and keep the counters up to date (in the thread of the change)
+    episodeListener = new PropertyChangeListener() {
+      @Override
+      public void propertyChange(PropertyChangeEvent evt) {
+        if (!(evt.getSource() instanceof TvShowEpisode)) {
+          return;
+        }
+        TvShowEpisode episode = (TvShowEpisode) evt.getSource();
+        if (MEDIA_FILES.equals(evt.getPropertyName())) {
+          indexEpisode(episode);
+        }
+        updateEpisodeState(episode, false);
+      }
+    };
   }
 
   @Override
@@ -174,7 +208,7 @@ public class TvShow extends MediaEntity {
     }
 
     for (TvShowEpisode episode : episodes) {
-      episode.addPropertyChangeListener(propertyChangeListener);
+      episode.addSynchronousPropertyChangeListener(propertyChangeListener);
     }
   }
 
@@ -233,7 +267,10 @@ public class TvShow extends MediaEntity {
   public void addEpisode(TvShowEpisode episode) {
     int oldValue = episodes.size();
     episodes.add(episode);
-    episode.addPropertyChangeListener(propertyChangeListener);
+    episode.addSynchronousPropertyChangeListener(propertyChangeListener);
+    episode.addSynchronousPropertyChangeListener(episodeListener);
+    indexEpisode(episode);
+    updateEpisodeState(episode, false);
     addToSeason(episode);
 
     Collections.sort(episodes);
@@ -242,6 +279,112 @@ public class TvShow extends MediaEntity {
     firePropertyChange(EPISODE_COUNT, oldValue, episodes.size());
   }
 
+  /**
+   * Adds the given episodes in one batch (the episodes and seasons are only sorted once and the listeners get only one change event).
+   * 
+   * @param newEpisodes
+   *          the episodes to add
+   */
+  public void addEpisodes(List<TvShowEpisode> newEpisodes) {
+    if (newEpisodes.isEmpty()) {
+      return;
+    }
+
+    int oldValue = episodes.size();
+    Map<Integer, List<TvShowEpisode>> episodesPerSeason = new LinkedHashMap<Integer, List<TvShowEpisode>>();
+    // one event per changed counter for the whole batch
+    beginUpdate();
+    try {
+      for (TvShowEpisode episode : newEpisodes) {
+        episodes.add(episode);
+        episode.addSynchronousPropertyChangeListener(propertyChangeListener);
+        episode.addSynchronousPropertyChangeListener(episodeListener);
+        indexEpisode(episode);
+        updateEpisodeState(episode, false);
+
+        List<TvShowEpisode> seasonEpisodes = episodesPerSeason.get(episode.getSeason());
+        if (seasonEpisodes == null) {
+          seasonEpisodes = new ArrayList<TvShowEpisode>();
+          episodesPerSeason.put(episode.getSeason(), seasonEpisodes);
+        }
+        seasonEpisodes.add(episode);
+      }
+    }
+    finally {
+      endUpdate();
+    }
+
+    for (List<TvShowEpisode> seasonEpisodes : episodesPerSeason.values()) {
+      TvShowSeason season = getSeasonForEpisode(seasonEpisodes.get(0));
+      season.addEpisodes(seasonEpisodes);
+    }
+
+    Collections.sort(episodes);
+
+    firePropertyChange(ADDED_EPISODES, null, new ArrayList<TvShowEpisode>(newEpisodes));
+    firePropertyChange(EPISODE_COUNT, oldValue, episodes.size());
+  }
+
+  /**
+   * get all episodes which contain the given file (via the media file index; no need to iterate over all episodes)
+   * 
+   * @param file
+   *          the file
+   * @return a list of all episodes containing this file (a new list; never null)
+   */
+  public List<TvShowEpisode> getEpisodesByFile(File file) {
+    synchronized (episodesByFile) {
+      List<TvShowEpisode> episodes = episodesByFile.get(file);
+      if (episodes == null) {
+        return new ArrayList<TvShowEpisode>(1);
+      }
+      return new ArrayList<TvShowEpisode>(episodes);
+    }
+  }
+
+  /**
+   * (re)build the index entries for the given episode
+   */
+  private void indexEpisode(TvShowEpisode episode) {
+    List<File> files = new ArrayList<File>();
+    for (MediaFile mediaFile : new ArrayList<MediaFile>(episode.getMediaFiles())) {
+      files.add(mediaFile.getFile());
+    }
+
+    synchronized (episodesByFile) {
+      unindexEpisode(episode);
+      filesOfEpisode.put(episode, files);
+      for (File file : files) {
+        List<TvShowEpisode> episodes = episodesByFile.get(file);
+        if (episodes == null) {
+          episodes = new ArrayList<TvShowEpisode>(1);
+          episodesByFile.put(file, episodes);
+        }
+        if (!episodes.contains(episode)) {
+          episodes.add(episode);
+        }
+      }
+    }
+  }
+
+  private void unindexEpisode(TvShowEpisode episode) {
+    synchronized (episodesByFile) {
+      List<File> files = filesOfEpisode.remove(episode);
+      if (files == null) {
+        return;
+      }
+      for (File file : files) {
+        List<TvShowEpisode> episodes = episodesByFile.get(file);
+        if (episodes != null) {
+          episodes.remove(episode);
+          if (episodes.isEmpty()) {
+            episodesByFile.remove(file);
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Gets the episode count.
    * 
@@ -251,6 +394,119 @@ public class TvShow extends MediaEntity {
     return episodes.size();
   }
 
+  /**
+   * get the amount of newly added episodes (maintained counter)
+   * 
+   * @return the amount of new episodes
+   */
+  public int getNewEpisodeCount() {
+    synchronized (episodeStates) {
+      return newEpisodeCount;
+    }
+  }
+
+  /**
+   * get the amount of not scraped episodes (maintained counter)
+   * 
+   * @return the amount of unscraped episodes
+   */
+  public int getUnscrapedEpisodeCount() {
+    synchronized (episodeStates) {
+      return unscrapedCount;
+    }
+  }
+
+  /**
+   * get the amount of episodes without artwork (maintained counter)
+   * 
+   * @return the amount of episodes without thumb
+   */
+  public int getMissingArtworkEpisodeCount() {
+    synchronized (episodeStates) {
+      return missingArtworkCount;
+    }
+  }
+
+  /**
+   * get all newly added episodes of this TV show
+   * 
+   * @return a list of the new episodes (empty if there is none)
+   */
+  public List<TvShowEpisode> getNewEpisodes() {
+    List<TvShowEpisode> newEpisodes = new ArrayList<TvShowEpisode>();
+    synchronized (episodeStates) {
+      if (newEpisodeCount == 0) {
+        return newEpisodes;
+      }
+      for (Entry<TvShowEpisode, Integer> entry : episodeStates.entrySet()) {
+        if ((entry.getValue() & STATE_NEW) != 0) {
+          newEpisodes.add(entry.getKey());
+        }
+      }
+    }
+    return newEpisodes;
+  }
+
+  /**
+   * update the state of the given episode and the counters of this TV show
+   * 
+   * @param episode
+   *          the episode
+   * @param removed
+   *          true if the episode has been removed from this TV show
+   */
+  private void updateEpisodeState(TvShowEpisode episode, boolean removed) {
+    int newState = removed ? 0 : getEpisodeState(episode);
+    int oldNew, oldUnscraped, oldMissingArtwork;
+    int newNew, newUnscraped, newMissingArtwork;
+
+    synchronized (episodeStates) {
+      Integer oldState = removed ? episodeStates.remove(episode) : episodeStates.put(episode, newState);
+      if (oldState == null) {
+        if (removed) {
+          return;
+        }
+        oldState = 0;
+      }
+      if (oldState == newState) {
+        return;
+      }
+
+      oldNew = newEpisodeCount;
+      oldUnscraped = unscrapedCount;
+      oldMissingArtwork = missingArtworkCount;
+      newEpisodeCount += countDelta(oldState, newState, STATE_NEW);
+      unscrapedCount += countDelta(oldState, newState, STATE_UNSCRAPED);
+      missingArtworkCount += countDelta(oldState, newState, STATE_NO_ARTWORK);
+      newNew = newEpisodeCount;
+      newUnscraped = unscrapedCount;
+      newMissingArtwork = missingArtworkCount;
+    }
+
+    // the counters are derived from the episodes: nothing to persist
+    fireDerivedPropertyChange(NEW_EPISODE_COUNT, oldNew, newNew);
+    fireDerivedPropertyChange(UNSCRAPED_COUNT, oldUnscraped, newUnscraped);
+    fireDerivedPropertyChange(MISSING_ARTWORK_COUNT, oldMissingArtwork, newMissingArtwork);
+  }
+
+  private static int getEpisodeState(TvShowEpisode episode) {
+    int state = 0;
+    if (episode.isNewlyAdded()) {
+      state |= STATE_NEW;
+    }
+    if (!episode.isScraped()) {
+      state |= STATE_UNSCRAPED;
+    }
+    if (!episode.getHasImages()) {
+      state |= STATE_NO_ARTWORK;
+    }
+    return state;
+  }
+
+  private static int countDelta(int oldState, int newState, int flag) {
+    return ((newState & flag) != 0 ? 1 : 0) - ((oldState & flag) != 0 ? 1 : 0);
+  }
+
   /**
    * Adds the to season.
    * 
@@ -274,24 +530,24 @@ public class TvShow extends MediaEntity {
    *          the episode
    * @return the season for episode
    */
-  public synchronized TvShowSeason getSeasonForEpisode(TvShowEpisode episode) {
-    TvShowSeason season = null;
-
+  public TvShowSeason getSeasonForEpisode(TvShowEpisode episode) {
     // search for an existing season
-    for (TvShowSeason s : seasons) {
-      if (s.getSeason() == episode.getSeason()) {
-        season = s;
-        break;
-      }
+    TvShowSeason season = seasonMap.get(episode.getSeason());
+    if (season != null) {
+      return season;
     }
 
-    // no one found - create one
-    if (season == null) {
-      int oldValue = seasons.size();
-      season = new TvShowSeason(episode.getSeason(), this);
-      seasons.add(season);
-      firePropertyChange(ADDED_SEASON, null, season);
-      firePropertyChange(SEASON_COUNT, oldValue, seasons.size());
+    synchronized (this) {
+      // no one found - create one
+      season = seasonMap.get(episode.getSeason());
+      if (season == null) {
+        int oldValue = seasons.size();
+        season = new TvShowSeason(episode.getSeason(), this);
+        seasons.add(season);
+        seasonMap.put(episode.getSeason(), season);
+        firePropertyChange(ADDED_SEASON, null, season);
+        firePropertyChange(SEASON_COUNT, oldValue, seasons.size());
+      }
     }
 
     return season;
@@ -331,7 +587,10 @@ public class TvShow extends MediaEntity {
       for (int i = episodes.size() - 1; i >= 0; i--) {
         TvShowEpisode episode = episodes.get(i);
         episodes.remove(episode);
-        episode.removePropertyChangeListener(propertyChangeListener);
+        episode.removeSynchronousPropertyChangeListener(propertyChangeListener);
+        episode.removeSynchronousPropertyChangeListener(episodeListener);
+        unindexEpisode(episode);
+        updateEpisodeState(episode, true);
         TvShowList.getInstance().removeEpisodeFromDb(episode);
       }
     }
@@ -349,7 +608,10 @@ public class TvShow extends MediaEntity {
     if (episodes.contains(episode)) {
       int oldValue = episodes.size();
       episodes.remove(episode);
-      episode.removePropertyChangeListener(propertyChangeListener);
+      episode.removeSynchronousPropertyChangeListener(propertyChangeListener);
+      episode.removeSynchronousPropertyChangeListener(episodeListener);
+      unindexEpisode(episode);
+      updateEpisodeState(episode, true);
       removeFromSeason(episode);
       TvShowList.getInstance().removeEpisodeFromDb(episode);
       saveToDb();
@@ -370,7 +632,10 @@ public class TvShow extends MediaEntity {
       int oldValue = episodes.size();
       episode.deleteFilesSafely();
       episodes.remove(episode);
-      episode.removePropertyChangeListener(propertyChangeListener);
+      episode.removeSynchronousPropertyChangeListener(propertyChangeListener);
+      episode.removeSynchronousPropertyChangeListener(episodeListener);
+      unindexEpisode(episode);
+      updateEpisodeState(episode, true);
       removeFromSeason(episode);
       TvShowList.getInstance().removeEpisodeFromDb(episode);
       saveToDb();
@@ -499,6 +764,21 @@ public class TvShow extends MediaEntity {
       return;
     }
 
+    // do not notify the listeners for every single value
+    beginUpdate();
+    try {
+      applyMetadata(metadata, config);
+    }
+    finally {
+      endUpdate();
+    }
+
+    // update DB
+    writeNFO();
+    saveToDb();
+  }
+
+  private void applyMetadata(MediaMetadata metadata, TvShowScraperMetadataConfig config) {
     // populate ids
     for (Entry<String, Object> entry : metadata.getIds().entrySet()) {
       setId((String) entry.getKey(), entry.getValue().toString());
@@ -586,10 +866,6 @@ public class TvShow extends MediaEntity {
 
     // set scraped
     setScraped(true);
-
-    // update DB
-    writeNFO();
-    saveToDb();
   }
 
   /**
@@ -601,6 +877,17 @@ public class TvShow extends MediaEntity {
    *          the config
    */
   public void setArtwork(List<MediaArtwork> artwork, TvShowScraperMetadataConfig config) {
+    // do not notify the listeners for every single artwork
+    beginUpdate();
+    try {
+      applyArtwork(artwork, config);
+    }
+    finally {
+      endUpdate();
+    }
+  }
+
+  private void applyArtwork(List<MediaArtwork> artwork, TvShowScraperMetadataConfig config) {
     if (config.isArtwork()) {
       // poster
       for (MediaArtwork art : artwork) {
@@ -1238,6 +1525,15 @@ public class TvShow extends MediaEntity {
     return episodes;
   }
 
+  /**
+   * Checks if there is another entry with the same TVDB/IMDB id in the library.
+   * 
+   * @return true, if is duplicate
+   */
+  public boolean isDuplicate() {
+    return TvShowList.getInstance().isDuplicate(this);
+  }
+
   /**
    * Checks if is watched.
    * 
@@ -1265,6 +1561,7 @@ public class TvShow extends MediaEntity {
 
   public void setLastWatched(Date lastWatched) {
     this.lastWatched = lastWatched;
+    markDirty();
   }
 
   /**
@@ -1347,6 +1644,7 @@ public class TvShow extends MediaEntity {
       seasonPosters.remove(season);
     }
     seasonPosters.put(season, mf);
+    markDirty();
   }
 
   void clearSeasonPoster(int season) {
@@ -1402,6 +1700,17 @@ public class TvShow extends MediaEntity {
   public synchronized void callbackForWrittenArtwork(MediaArtworkType type) {
   }
 
+  @Override
+  public boolean isDirty() {
+    return super.isDirty() || isAnyDirty(actors);
+  }
+
+  @Override
+  public void clearDirty() {
+    super.clearDirty();
+    clearDirty(actors);
+  }
+
   @Override
   public void saveToDb() {
     // update/insert this TV show to the database
@@ -1432,12 +1741,7 @@ public class TvShow extends MediaEntity {
    * @return true/false
    */
   public boolean isNewlyAdded() {
-    for (TvShowEpisode episode : new ArrayList<TvShowEpisode>(this.episodes)) {
-      if (episode.isNewlyAdded()) {
-        return true;
-      }
-    }
-    return false;
+    return getNewEpisodeCount() > 0;
   }
 
   /**
@@ -21,46 +21,47 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.entities.PersonRegistry;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * The Class TvShowActor.
+ * The Class TvShowActor. Only the role and the local thumb belong to this entry; the person is shared by all shows/episodes.
  * 
  * @author Manuel Laggner
  */
 public class TvShowActor extends AbstractModelObject {
   public static final String ACTOR_DIR = ".actors";
 
-  @JsonProperty
-  private String             name      = "";
+  private Person             person    = PersonRegistry.getInstance().getPerson("", "");
   @JsonProperty
   private String             character = "";
   @JsonProperty
-  private String             thumb     = "";
-  @JsonProperty
   private String             thumbPath = "";
 
   public TvShowActor() {
   }
 
   public TvShowActor(String name) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
   }
 
   public TvShowActor(String name, String character) {
-    this.name = name;
+    this.person = PersonRegistry.getInstance().getPerson(name, "");
     this.character = character;
   }
 
+  @JsonProperty
   public void setName(String newValue) {
-    String oldValue = name;
-    name = newValue;
+    String oldValue = person.getName();
+    person = PersonRegistry.getInstance().getPerson(newValue, person.getThumbUrl());
     firePropertyChange("name", oldValue, newValue);
   }
 
+  @JsonProperty
   public String getName() {
-    return name;
+    return person.getName();
   }
 
   public String getCharacter() {
@@ -73,16 +74,27 @@ public class TvShowActor extends AbstractModelObject {
     firePropertyChange("name", oldValue, newValue);
   }
 
+  @JsonProperty
   public String getThumb() {
-    return thumb;
+    return person.getThumbUrl();
   }
 
+  @JsonProperty
   public void setThumb(String newValue) {
-    String oldValue = this.thumb;
-    thumb = newValue;
+    String oldValue = person.getThumbUrl();
+    person = PersonRegistry.getInstance().getPerson(person.getName(), newValue);
     firePropertyChange("thumb", oldValue, newValue);
   }
 
+  /**
+   * get the shared person of this entry
+   * 
+   * @return the person
+   */
+  public Person getPerson() {
+    return person;
+  }
+
   public String getThumbPath() {
     return thumbPath;
   }
@@ -115,7 +127,7 @@ public class TvShowActor extends AbstractModelObject {
     TvShowActor cast = (TvShowActor) obj;
 
     // checks of equality
-    if (StringUtils.equals(name, cast.name) && StringUtils.equals(character, cast.character) && StringUtils.equals(thumb, cast.thumb)) {
+    if (person.equals(cast.person) && StringUtils.equals(character, cast.character)) {
       return true;
     }
 
@@ -124,6 +136,6 @@ public class TvShowActor extends AbstractModelObject {
 
   @Override
   public int hashCode() {
-    return new HashCodeBuilder().append(name).append(character).append(thumb).build();
+    return new HashCodeBuilder().append(person).append(character).build();
   }
 }
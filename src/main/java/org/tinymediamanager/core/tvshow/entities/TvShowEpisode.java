@@ -41,6 +41,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.tvshow.TvShowList;
 import org.tinymediamanager.core.tvshow.TvShowMediaFileComparator;
@@ -215,6 +216,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    */
   public void setDisc(boolean disc) {
     this.disc = disc;
+    markDirty();
   }
 
   /**
@@ -266,6 +268,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
         throw new ParseException("could not parse date from: " + aired, 0);
       }
     }
+    markDirty();
   }
 
   public TvShow getTvShow() {
@@ -401,7 +404,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
       // get image in thread
       MediaEntityImageFetcherTask task = new MediaEntityImageFetcherTask(this, thumbUrl, MediaArtworkType.THUMB, filename, firstImage);
-      TmmTaskManager.getInstance().addImageDownloadTask(task);
+      TmmTaskManager.getInstance().addImageDownloadTask(task, TmmResource.forUrl(thumbUrl));
     }
   }
 
@@ -420,6 +423,28 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
     boolean writeNewThumb = false;
 
+    // apply all values in one update scope
+    beginUpdate();
+    try {
+      writeNewThumb = applyMetadata(metadata);
+    }
+    finally {
+      endUpdate();
+    }
+
+    // update DB
+    writeNFO();
+    saveToDb();
+
+    // should we write a new thumb?
+    if (writeNewThumb) {
+      writeThumbImage();
+    }
+  }
+
+  private boolean applyMetadata(MediaMetadata metadata) {
+    boolean writeNewThumb = false;
+
     setTitle(metadata.getStringValue(MediaMetadata.TITLE));
     setPlot(metadata.getStringValue(MediaMetadata.PLOT));
     setIds(metadata.getIds());
@@ -475,15 +500,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
         break;
       }
     }
-
-    // update DB
-    writeNFO();
-    saveToDb();
-
-    // should we write a new thumb?
-    if (writeNewThumb) {
-      writeThumbImage();
-    }
+    return writeNewThumb;
   }
 
   /**
@@ -673,6 +690,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
   public void setLastWatched(Date lastWatched) {
     this.lastWatched = lastWatched;
+    markDirty();
   }
 
   /**
@@ -867,12 +885,24 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
   public void setSubtitles(boolean sub) {
     this.subtitles = sub;
+    markDirty();
   }
 
   @Override
   public synchronized void callbackForWrittenArtwork(MediaArtworkType type) {
   }
 
+  @Override
+  public boolean isDirty() {
+    return super.isDirty() || isAnyDirty(actors);
+  }
+
+  @Override
+  public void clearDirty() {
+    super.clearDirty();
+    clearDirty(actors);
+  }
+
   @Override
   public void saveToDb() {
     // update/insert this episode to the database
@@ -68,13 +68,22 @@ public class TvShowSeason extends AbstractModelObject {
   public void addEpisode(TvShowEpisode episode) {
     episodes.add(episode);
     Collections.sort(episodes);
-    episode.addPropertyChangeListener(listener);
+    episode.addSynchronousPropertyChangeListener(listener);
+    firePropertyChange(ADDED_EPISODE, null, episodes);
+  }
+
+  public void addEpisodes(List<TvShowEpisode> newEpisodes) {
+    episodes.addAll(newEpisodes);
+    Collections.sort(episodes);
+    for (TvShowEpisode episode : newEpisodes) {
+      episode.addSynchronousPropertyChangeListener(listener);
+    }
     firePropertyChange(ADDED_EPISODE, null, episodes);
   }
 
   public void removeEpisode(TvShowEpisode episode) {
     episodes.remove(episode);
-    episode.removePropertyChangeListener(listener);
+    episode.removeSynchronousPropertyChangeListener(listener);
     firePropertyChange(REMOVED_EPISODE, null, episodes);
   }
 
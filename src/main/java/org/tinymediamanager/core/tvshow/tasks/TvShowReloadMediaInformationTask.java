@@ -16,7 +16,10 @@
 package org.tinymediamanager.core.tvshow.tasks;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.ResourceBundle;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -26,6 +29,9 @@ import org.tinymediamanager.core.MediaFileInformationFetcherTask;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
@@ -67,31 +73,55 @@ public class TvShowReloadMediaInformationTask extends TmmThreadPool {
       // update MediaInfo
       start();
 
-      initThreadPool(1, "reloadMI");
+      // the files are read per data source - each in the lane of its file system
+      Map<String, List<MediaEntity>> entitiesPerDataSource = new LinkedHashMap<String, List<MediaEntity>>();
       for (TvShow show : tvShows) {
-        if (cancel) {
-          break;
-        }
-        submitTask(new MediaFileInformationFetcherTask(show.getMediaFiles(), show, true));
+        addToDataSource(entitiesPerDataSource, show.getDataSource(), show);
       }
-
       for (TvShowEpisode episode : episodes) {
+        addToDataSource(entitiesPerDataSource, episode.getTvShow().getDataSource(), episode);
+      }
+
+      for (Entry<String, List<MediaEntity>> entry : entitiesPerDataSource.entrySet()) {
+        initThreadPool(1, "reloadMI", TmmResource.forPath(entry.getKey()));
+        for (MediaEntity entity : entry.getValue()) {
+          if (cancel) {
+            break;
+          }
+          submitTask(new MediaFileInformationFetcherTask(entity.getMediaFiles(), entity, true));
+        }
+
+        waitForCompletionOrCancel();
         if (cancel) {
           break;
         }
-        submitTask(new MediaFileInformationFetcherTask(episode.getMediaFiles(), episode, true));
       }
-
-      waitForCompletionOrCancel();
       stopWatch.stop();
       LOGGER.info("Done getting MediaInfo - took " + stopWatch);
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "MediaInfo", "message.mediainfo.threadcrashed"));
     }
   }
 
+  private void addToDataSource(Map<String, List<MediaEntity>> entitiesPerDataSource, String dataSource, MediaEntity entity) {
+    List<MediaEntity> entities = entitiesPerDataSource.get(dataSource);
+    if (entities == null) {
+      entities = new ArrayList<MediaEntity>();
+      entitiesPerDataSource.put(dataSource, entities);
+    }
+    entities.add(entity);
+  }
+
+  @Override
+  public List<TmmLock> getLocks() {
+    List<MediaEntity> entities = new ArrayList<MediaEntity>(tvShows);
+    entities.addAll(episodes);
+    return TmmLock.forEntities(TmmLock.TV_SHOWS, entities);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
@@ -25,6 +25,9 @@ import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowRenamer;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
@@ -65,7 +68,7 @@ public class TvShowRenameTask extends TmmThreadPool {
   protected void doInBackground() {
     try {
       start();
-      initThreadPool(1, "rename");
+      initThreadPool(1, "rename", TmmResource.LOCAL_IO);
 
       // rename complete tv shows
       for (int i = 0; i < tvShowsToRename.size(); i++) {
@@ -115,6 +118,7 @@ public class TvShowRenameTask extends TmmThreadPool {
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "Settings.renamer", "message.renamer.threadcrashed"));
     }
     return;
@@ -138,6 +142,13 @@ public class TvShowRenameTask extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    List<MediaEntity> entities = new ArrayList<MediaEntity>(tvShowsToRename);
+    entities.addAll(episodesToRename);
+    return TmmLock.forEntities(TmmLock.TV_SHOWS, entities);
+  }
+
   @Override
   public void callback(Object obj) {
     publishState((String) obj, progressDone);
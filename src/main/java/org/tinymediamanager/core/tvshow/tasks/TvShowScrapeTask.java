@@ -26,6 +26,8 @@ import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
@@ -81,7 +83,7 @@ public class TvShowScrapeTask extends TmmThreadPool {
     LOGGER.debug("start scraping tv shows...");
     start();
 
-    initThreadPool(3, "scrape");
+    initThreadPool("scrape", TmmResource.http(options.getMetadataScraper().getId()));
     for (TvShow tvShow : tvShowsToScrape) {
       submitTask(new Worker(tvShow));
     }
@@ -197,6 +199,7 @@ public class TvShowScrapeTask extends TmmThreadPool {
 
       catch (Exception e) {
         LOGGER.error("Thread crashed", e);
+        addError();
         MessageManager.instance.pushMessage(
             new Message(MessageLevel.ERROR, "TvShowScraper", "message.scrape.threadcrashed", new String[] { ":", e.getLocalizedMessage() }));
       }
@@ -236,6 +239,11 @@ public class TvShowScrapeTask extends TmmThreadPool {
     }
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    return TmmLock.forEntities(TmmLock.TV_SHOWS, tvShowsToScrape);
+  }
+
   @Override
   public void callback(Object obj) {
     // do not publish task description here, because with different workers the text is never right
@@ -38,6 +38,8 @@ import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmLock;
+import org.tinymediamanager.core.threading.TmmResource;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
@@ -85,10 +87,12 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
   private static final Pattern        thumbPattern1         = Pattern.compile("(?i)thumb\\..{2,4}");
   private static final Pattern        thumbPattern2         = Pattern.compile("(?i).*(-|.)thumb\\..{2,4}");
   private static final Pattern        seasonPattern         = Pattern.compile("(?i)season([0-9]{0,2}|-specials)-poster\\..{2,4}");
+  private static final int            BATCH_SIZE            = 10;
 
   private List<String>                dataSources;
   private List<File>                  tvShowFolders         = new ArrayList<File>();
   private TvShowList                  tvShowList;
+  private final List<TvShow>          newTvShows            = new ArrayList<TvShow>();
 
   /**
    * Instantiates a new scrape task - to update all datasources
@@ -163,6 +167,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     }
     catch (Exception e) {
       LOGGER.error("Thread crashed", e);
+      addError();
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "update.datasource", "message.update.threadcrashed"));
     }
   }
@@ -185,7 +190,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       }
 
       // one thread here - more threads killed the UI
-      initThreadPool(1, "update");
+      initThreadPool(1, "update", TmmResource.forPath(path));
 
       for (File subdir : dirs) {
         if (cancel) {
@@ -218,6 +223,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       }
 
       waitForCompletionOrCancel();
+      flushNewTvShows();
       if (cancel) {
         break;
       }
@@ -229,41 +235,39 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       setWorkUnits(0);
       publishState();
       LOGGER.info("removing orphaned tv shows/files...");
-      for (int i = tvShowList.getTvShows().size() - 1; i >= 0; i--) {
+      List<TvShow> tvShowsToRemove = new ArrayList<TvShow>();
+      // check only Tv shows matching datasource
+      List<TvShow> tvShowsInDatasource = tvShowList.getTvShowsByDataSource(path);
+      for (int i = tvShowsInDatasource.size() - 1; i >= 0; i--) {
         if (cancel) {
           break;
         }
-        TvShow tvShow = tvShowList.getTvShows().get(i);
-        if (!new File(path).equals(new File(tvShow.getDataSource()))) {
-          // check only Tv shows matching datasource
-          continue;
-        }
+        TvShow tvShow = tvShowsInDatasource.get(i);
 
         File tvShowDir = new File(tvShow.getPath());
         if (!tvShowDir.exists()) {
-          tvShowList.removeTvShow(tvShow);
+          tvShowsToRemove.add(tvShow);
         }
         else {
           // do a cleanup
           cleanup(tvShow);
         }
       }
+      tvShowList.removeTvShows(tvShowsToRemove);
 
       // mediainfo
       setTaskName(BUNDLE.getString("update.mediainfo"));
       publishState();
 
-      initThreadPool(1, "mediainfo");
+      initThreadPool(1, "mediainfo", TmmResource.forPath(path));
       LOGGER.info("getting Mediainfo...");
-      for (int i = tvShowList.getTvShows().size() - 1; i >= 0; i--) {
+      // check only Tv shows matching datasource
+      tvShowsInDatasource = tvShowList.getTvShowsByDataSource(path);
+      for (int i = tvShowsInDatasource.size() - 1; i >= 0; i--) {
         if (cancel) {
           break;
         }
-        TvShow tvShow = tvShowList.getTvShows().get(i);
-        if (!new File(path).equals(new File(tvShow.getDataSource()))) {
-          // check only Tv shows matching datasource
-          continue;
-        }
+        TvShow tvShow = tvShowsInDatasource.get(i);
 
         gatherMediaInformationForUngatheredMediaFiles(tvShow);
       }
@@ -275,10 +279,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
 
       // build image cache on import
       if (Globals.settings.getTvShowSettings().isBuildImageCacheOnImport()) {
-        for (TvShow tvShow : new ArrayList<TvShow>(tvShowList.getTvShows())) {
-          if (!new File(path).equals(new File(tvShow.getDataSource()))) {
-            continue;
-          }
+        for (TvShow tvShow : tvShowList.getTvShowsByDataSource(path)) {
           for (MediaFile mf : new ArrayList<MediaFile>(tvShow.getMediaFiles())) {
             if (mf.isGraphic()) {
               imageFiles.add(mf.getFile());
@@ -310,12 +311,22 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     }
   }
 
+  /**
+   * the IO resource of the TV show folders to update (the folders are usually in the same data source)
+   */
+  private TmmResource getTvShowFolderResource() {
+    if (tvShowFolders.isEmpty()) {
+      return TmmResource.LOCAL_IO;
+    }
+    return TmmResource.forPath(tvShowFolders.get(0).getParent());
+  }
+
   /*
    * update a single TV show
    */
   private void updateTvShows() {
     // one thread here - more threads killed the UI
-    initThreadPool(1, "update");
+    initThreadPool(1, "update", getTvShowFolderResource());
 
     for (File tvShowFolder : tvShowFolders) {
       // check if the tv show dir is accessible
@@ -333,6 +344,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     }
 
     waitForCompletionOrCancel();
+    flushNewTvShows();
 
     // cleanup
     setTaskName(BUNDLE.getString("update.cleanup"));
@@ -361,7 +373,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     setTaskName(BUNDLE.getString("update.mediainfo"));
     publishState();
 
-    initThreadPool(1, "mediainfo");
+    initThreadPool(1, "mediainfo", getTvShowFolderResource());
     LOGGER.info("getting Mediainfo...");
     for (int i = tvShowList.getTvShows().size() - 1; i >= 0; i--) {
       if (cancel) {
@@ -537,7 +549,6 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         tvShow.setDataSource(datasource);
         // tvShow.saveToDb();
         tvShow.setNewlyAdded(true);
-        tvShowList.addTvShow(tvShow);
       }
     }
 
@@ -547,8 +558,43 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       findTvEpisodes(tvShow, dir);
       if (tvShow.isNewlyAdded()) {
         tvShow.saveToDb();
+        // a new TV show is added to the list with all its episodes at once
+        addNewTvShow(tvShow);
+      }
+    }
+  }
+
+  /**
+   * add a newly found TV show to the TV show list. The new TV shows are collected and added in batches, so the TV show list (and the UI) gets only
+   * one change event per batch
+   * 
+   * @param tvShow
+   *          the new TV show
+   */
+  private void addNewTvShow(TvShow tvShow) {
+    List<TvShow> tvShows = null;
+    synchronized (newTvShows) {
+      newTvShows.add(tvShow);
+      if (newTvShows.size() >= BATCH_SIZE) {
+        tvShows = new ArrayList<TvShow>(newTvShows);
+        newTvShows.clear();
       }
     }
+    if (tvShows != null) {
+      tvShowList.addTvShows(tvShows);
+    }
+  }
+
+  /**
+   * add all pending new TV shows to the TV show list
+   */
+  private void flushNewTvShows() {
+    List<TvShow> tvShows;
+    synchronized (newTvShows) {
+      tvShows = new ArrayList<TvShow>(newTvShows);
+      newTvShows.clear();
+    }
+    tvShowList.addTvShows(tvShows);
   }
 
   /**
@@ -1005,6 +1051,16 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     return newFileFound;
   }
 
+  @Override
+  public List<TmmLock> getLocks() {
+    List<TmmLock> locks = TmmLock.dataSources(TmmLock.TV_SHOWS, dataSources);
+    for (File tvShowFolder : tvShowFolders) {
+      // the parent of the TV show folder is the data source
+      locks.add(TmmLock.dataSource(TmmLock.TV_SHOWS, tvShowFolder.getParent()));
+    }
+    return locks;
+  }
+
   @Override
   public void callback(Object obj) {
     // do not publish task description here, because with different workers the text is never right
@@ -301,7 +301,7 @@ public class BugReportDialog extends TmmDialog {
       LOGGER.warn("error adding attachments", ex);
     }
     Request request = new Request.Builder().url(url).post(multipartBuilder.build()).build();
-    client.newCall(request).execute();
+    client.newCall(request).execute().body().close();
   }
 
   @Override
@@ -170,7 +170,7 @@ public class FeedbackDialog extends TmmDialog {
           multipartBuilder.addPart(Headers.of("Content-Disposition", "form-data; name=\"sender\""), RequestBody.create(null, tfEmail.getText()));
 
           Request request = new Request.Builder().url(url).post(multipartBuilder.build()).build();
-          client.newCall(request).execute();
+          client.newCall(request).execute().body().close();
         }
         catch (IOException e) {
           LOGGER.error("failed sending feedback: " + e.getMessage());
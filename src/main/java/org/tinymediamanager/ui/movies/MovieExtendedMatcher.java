@@ -16,14 +16,14 @@
 package org.tinymediamanager.ui.movies;
 
 import java.io.File;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
-import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
-import org.tinymediamanager.core.entities.MediaFileAudioStream;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.entities.PersonRegistry;
 import org.tinymediamanager.core.movie.MovieMediaSource;
 import org.tinymediamanager.core.movie.MovieSearchOptions;
 import org.tinymediamanager.core.movie.entities.Movie;
@@ -127,7 +127,7 @@ public class MovieExtendedMatcher implements Matcher<Movie> {
         }
       }
       else {
-        if (videoFormat != movie.getMediaInfoVideoFormat()) {
+        if (!videoFormat.equals(movie.getMediaInfoVideoFormat())) {
           return false;
         }
       }
@@ -205,36 +205,24 @@ public class MovieExtendedMatcher implements Matcher<Movie> {
   }
 
   private boolean isVideoHD(String videoFormat) {
-    if (videoFormat == MediaFile.VIDEO_FORMAT_720P) {
+    if (MediaFile.VIDEO_FORMAT_720P.equals(videoFormat)) {
       return true;
     }
-    if (videoFormat == MediaFile.VIDEO_FORMAT_1080P) {
+    if (MediaFile.VIDEO_FORMAT_1080P.equals(videoFormat)) {
       return true;
     }
-    if (videoFormat == MediaFile.VIDEO_FORMAT_4K) {
+    if (MediaFile.VIDEO_FORMAT_4K.equals(videoFormat)) {
       return true;
     }
-    if (videoFormat == MediaFile.VIDEO_FORMAT_8K) {
+    if (MediaFile.VIDEO_FORMAT_8K.equals(videoFormat)) {
       return true;
     }
     return false;
   }
 
   private boolean containsAudioCodec(Movie movie, String codec) {
-    List<MediaFile> videoFiles = movie.getMediaFiles(MediaFileType.VIDEO);
-
-    if (videoFiles.size() == 0) {
-      return false;
-    }
-
-    MediaFile mf = videoFiles.get(0);
-    for (MediaFileAudioStream stream : mf.getAudioStreams()) {
-      if (codec.equals(stream.getCodec())) {
-        return true;
-      }
-    }
-
-    return false;
+    // the codecs of all video files (like the values of the filter)
+    return movie.getMediaInfoAudioCodecs().contains(codec);
   }
 
   private boolean containsTag(Movie movie, String tag) {
@@ -268,23 +256,29 @@ public class MovieExtendedMatcher implements Matcher<Movie> {
         }
       }
 
-      // actors
-      for (MovieActor cast : movie.getActors()) {
-        if (StringUtils.isNotEmpty(cast.getName())) {
-          matcher = pattern.matcher(cast.getName());
-          if (matcher.find()) {
+      // actors and producers: only the names are known if the details have not been loaded
+      if (!movie.isFullyLoaded()) {
+        for (String castName : movie.getCastNames()) {
+          if (StringUtils.isNotEmpty(castName) && pattern.matcher(castName).find()) {
             return true;
           }
         }
+        return false;
       }
 
-      // producers
+      // actors and producers: the names are matched once in the person registry; here we just need to look up the persons
+      Set<Person> persons = PersonRegistry.getInstance().findByName(name);
+      if (persons.isEmpty()) {
+        return false;
+      }
+      for (MovieActor cast : movie.getActors()) {
+        if (persons.contains(cast.getPerson())) {
+          return true;
+        }
+      }
       for (MovieProducer producer : movie.getProducers()) {
-        if (StringUtils.isNotEmpty(producer.getName())) {
-          matcher = pattern.matcher(producer.getName());
-          if (matcher.find()) {
-            return true;
-          }
+        if (persons.contains(producer.getPerson())) {
+          return true;
         }
       }
     }
@@ -584,7 +584,6 @@ public class MovieExtendedSearchPanel extends RoundedPanel {
 
       // filter duplicates
       if (cbFilterDuplicates.isSelected()) {
-        movieList.searchDuplicates();
         searchOptions.put(MovieSearchOptions.DUPLICATES, true);
       }
 
@@ -113,6 +113,7 @@ public class MovieSelectionModel extends AbstractModelObject implements ListSele
       this.selectedMovie = initialMovie;
     }
     else {
+      loadDetails(movie);
       this.selectedMovie = movie;
     }
 
@@ -127,6 +128,17 @@ public class MovieSelectionModel extends AbstractModelObject implements ListSele
     firePropertyChange(SELECTED_MOVIE, oldValue, selectedMovie);
   }
 
+  /**
+   * the detail panels need the details of the movie; a failure has already been reported to the user, so the summary is shown then
+   */
+  private void loadDetails(Movie movie) {
+    try {
+      movie.ensureFullyLoaded();
+    }
+    catch (IllegalStateException ignored) {
+    }
+  }
+
   /**
    * Gets the matcher editor.
    * 
@@ -166,6 +178,7 @@ public class MovieSelectionModel extends AbstractModelObject implements ListSele
     if (selectedMovies.size() > 0 && selectedMovie != selectedMovies.get(0)) {
       Movie oldValue = selectedMovie;
       selectedMovie = selectedMovies.get(0);
+      loadDetails(selectedMovie);
 
       // unregister propertychangelistener
       if (oldValue != null && oldValue != initialMovie) {
@@ -420,6 +420,10 @@ public class MovieBatchEditorDialog extends TmmDialog {
     {
       setMovieSets();
       moviesToEdit = movies;
+      // genres, tags, ... are changed in the details of the movies
+      for (Movie movie : moviesToEdit) {
+        movie.ensureFullyLoaded();
+      }
 
       PropertyChangeListener listener = new PropertyChangeListener() {
         @Override
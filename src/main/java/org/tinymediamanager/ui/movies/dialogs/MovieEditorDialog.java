@@ -189,6 +189,7 @@ public class MovieEditorDialog extends TmmDialog {
     setBounds(5, 5, 950, 650);
 
     movieToEdit = movie;
+    movieToEdit.ensureFullyLoaded();
     ids = MediaIdTable.convertIdMapToEventList(movieToEdit.getIds());
     for (MediaFile mf : movie.getMediaFiles()) {
       mediaFiles.add(new MediaFile(mf));
@@ -22,12 +22,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.entities.PersonRegistry;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowActor;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
@@ -495,12 +498,15 @@ public class TvShowExtendedMatcher {
     }
 
     Pattern pattern = Pattern.compile("(?i)" + Pattern.quote(filterText));
+    // the names of the cast are matched only once per person (not for every guest appearance)
+    Set<Person> persons = PersonRegistry.getInstance().findByName(filterText);
 
     // first: filter on the base cast of the TV show
-    for (TvShowActor actor : tvShow.getActors()) {
-      Matcher matcher = pattern.matcher(actor.getName());
-      if (matcher.find()) {
-        return true;
+    if (!persons.isEmpty()) {
+      for (TvShowActor actor : tvShow.getActors()) {
+        if (persons.contains(actor.getPerson())) {
+          return true;
+        }
       }
     }
 
@@ -514,9 +520,11 @@ public class TvShowExtendedMatcher {
       if (matcher.find()) {
         return true;
       }
+      if (persons.isEmpty()) {
+        continue;
+      }
       for (TvShowActor actor : episode.getGuests()) {
-        matcher = pattern.matcher(actor.getName());
-        if (matcher.find()) {
+        if (persons.contains(actor.getPerson())) {
           return true;
         }
       }
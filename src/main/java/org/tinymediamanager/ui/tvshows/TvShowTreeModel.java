@@ -64,17 +64,20 @@ public class TvShowTreeModel implements TreeModel {
     // create the listener
     propertyChangeListener = new PropertyChangeListener() {
       @Override
+      @SuppressWarnings("unchecked")
       public void propertyChange(PropertyChangeEvent evt) {
-        // added a tv show
-        if (ADDED_TV_SHOW.equals(evt.getPropertyName()) && evt.getNewValue() instanceof TvShow) {
-          TvShow tvShow = (TvShow) evt.getNewValue();
-          addTvShow(tvShow);
+        // added tv shows
+        if (ADDED_TV_SHOWS.equals(evt.getPropertyName()) && evt.getNewValue() instanceof List) {
+          for (TvShow tvShow : (List<TvShow>) evt.getNewValue()) {
+            addTvShow(tvShow);
+          }
         }
 
-        // removed a tv show
-        if (REMOVED_TV_SHOW.equals(evt.getPropertyName()) && evt.getNewValue() instanceof TvShow) {
-          TvShow tvShow = (TvShow) evt.getNewValue();
-          removeTvShow(tvShow);
+        // removed tv shows
+        if (REMOVED_TV_SHOWS.equals(evt.getPropertyName()) && evt.getNewValue() instanceof List) {
+          for (TvShow tvShow : (List<TvShow>) evt.getNewValue()) {
+            removeTvShow(tvShow);
+          }
         }
 
         // added a season
@@ -92,6 +95,13 @@ public class TvShowTreeModel implements TreeModel {
           addTvShowEpisode(episode, episode.getTvShow().getSeasonForEpisode(episode));
         }
 
+        // added some episodes in one batch
+        if (ADDED_EPISODES.equals(evt.getPropertyName()) && evt.getNewValue() instanceof List) {
+          for (TvShowEpisode episode : (List<TvShowEpisode>) evt.getNewValue()) {
+            addTvShowEpisode(episode, episode.getTvShow().getSeasonForEpisode(episode));
+          }
+        }
+
         // removed an episode
         if (REMOVED_EPISODE.equals(evt.getPropertyName()) && evt.getNewValue() instanceof TvShowEpisode) {
           TvShowEpisode episode = (TvShowEpisode) evt.getNewValue();
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+/**
+ * checks the suppression of the property change events within an update scope
+ *
+ * @author Manuel Laggner
+ */
+public class UpdateScopeTest {
+
+  @Test
+  public void testUpdateScope() {
+    final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+    Movie movie = new Movie();
+    movie.setTitle("start");
+    movie.clearDirty();
+    movie.addSynchronousPropertyChangeListener(new PropertyChangeListener() {
+      @Override
+      public void propertyChange(PropertyChangeEvent evt) {
+        if (Constants.TITLE.equals(evt.getPropertyName()) || Constants.YEAR.equals(evt.getPropertyName())) {
+          events.add(evt);
+        }
+      }
+    });
+
+    movie.beginUpdate();
+    movie.setTitle("title 1");
+    // nested scope
+    movie.beginUpdate();
+    movie.setTitle("title 2");
+    movie.setYear("2000");
+    movie.endUpdate();
+    assertTrue(movie.isUpdating());
+    assertEquals(0, events.size());
+    movie.endUpdate();
+
+    // one event per property: first old value, last new value
+    assertFalse(movie.isUpdating());
+    assertTrue(movie.isDirty());
+    assertEquals(2, events.size());
+    System.out.println(events.get(0).getPropertyName() + ": " + events.get(0).getOldValue() + " -> " + events.get(0).getNewValue());
+    assertEquals(Constants.TITLE, events.get(0).getPropertyName());
+    assertEquals("start", events.get(0).getOldValue());
+    assertEquals("title 2", events.get(0).getNewValue());
+    assertEquals("2000", events.get(1).getNewValue());
+
+    // a value which has been changed back is no change
+    events.clear();
+    movie.beginUpdate();
+    movie.setTitle("other");
+    movie.setTitle("title 2");
+    movie.endUpdate();
+    assertEquals(0, events.size());
+  }
+}
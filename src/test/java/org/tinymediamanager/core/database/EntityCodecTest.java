@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.Test;
+import org.tinymediamanager.core.MediaFileType;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileAudioStream;
+import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.movie.entities.MovieActor;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * compares the different entity codecs on the same library. If there is a movies.db in the data folder, this will be used - otherwise a synthetic
+ * library will be generated. The benchmark only runs with -Dtmm.codecbenchmark=true
+ *
+ * @author Manuel Laggner
+ */
+public class EntityCodecTest {
+  private static final int MOVIE_COUNT = 5000;
+
+  @Test
+  public void testRoundtrip() throws Exception {
+    ObjectMapper objectMapper = createObjectMapper();
+    ObjectWriter writer = objectMapper.writerFor(Movie.class);
+    ObjectReader reader = objectMapper.readerFor(Movie.class);
+
+    Movie movie = createMovie(1);
+    for (EntityCodec codec : EntityCodec.values()) {
+      Object value = codec.encode(writer, movie);
+      for (EntityCodec other : EntityCodec.values()) {
+        // every stored value must be assignable to exactly one codec (needed for the migration)
+        assertEquals(codec == other, other.isEncoded(value));
+      }
+      Movie decoded = EntityCodec.decode(reader, value);
+      assertEquals(movie.getTitle(), decoded.getTitle());
+      assertEquals(movie.getImdbId(), decoded.getImdbId());
+      assertEquals(movie.getActors().size(), decoded.getActors().size());
+      assertEquals(movie.getMediaFiles().size(), decoded.getMediaFiles().size());
+
+      // re-encoding must produce the same value (needed for our change detection)
+      assertTrue(EntityCodec.isEqual(value, codec.encode(writer, decoded)));
+    }
+  }
+
+  @Test
+  public void benchmark() throws Exception {
+    // manual benchmark only: mvn test -Dtmm.codecbenchmark=true
+    assumeTrue(EntityCodec.isBenchmarkEnabled());
+
+    ObjectMapper objectMapper = createObjectMapper();
+    ObjectWriter writer = objectMapper.writerFor(Movie.class);
+    ObjectReader reader = objectMapper.readerFor(Movie.class);
+
+    // the library to test with
+    List<Movie> movies = new ArrayList<Movie>();
+    File db = new File("data", "movies.db");
+    if (db.exists()) {
+      File copy = new File("target/test-classes/codec-source.db");
+      FileUtils.copyFile(db, copy);
+      MVStore source = new MVStore.Builder().fileName(copy.getAbsolutePath()).compressHigh().readOnly().open();
+      MVMap<UUID, Object> sourceMap = source.openMap("movies");
+      for (UUID uuid : sourceMap.keyList()) {
+        Movie movie = EntityCodec.decode(reader, sourceMap.get(uuid));
+        movie.setDbId(uuid);
+        movies.add(movie);
+      }
+      source.close();
+      FileUtils.deleteQuietly(copy);
+    }
+    else {
+      for (int i = 0; i < MOVIE_COUNT; i++) {
+        movies.add(createMovie(i));
+      }
+    }
+
+    for (EntityCodec codec : EntityCodec.values()) {
+      File file = new File("target/test-classes/codec-" + codec.name().toLowerCase() + ".db");
+      FileUtils.deleteQuietly(file);
+
+      // write
+      long start = System.currentTimeMillis();
+      MVStore mvStore = new MVStore.Builder().fileName(file.getAbsolutePath()).compressHigh().open();
+      MVMap<UUID, Object> map = mvStore.openMap("movies");
+      for (Movie movie : movies) {
+        map.put(movie.getDbId(), codec.encode(writer, movie));
+      }
+      mvStore.close();
+      long writeTime = System.currentTimeMillis() - start;
+
+      // read (like on startup)
+      start = System.currentTimeMillis();
+      mvStore = new MVStore.Builder().fileName(file.getAbsolutePath()).compressHigh().open();
+      map = mvStore.openMap("movies");
+      int count = 0;
+      for (UUID uuid : map.keyList()) {
+        Movie movie = EntityCodec.decode(reader, map.get(uuid));
+        if (movie != null) {
+          count++;
+        }
+      }
+      mvStore.close();
+      long readTime = System.currentTimeMillis() - start;
+
+      assertEquals(movies.size(), count);
+      System.out.println(codec + ": " + count + " movies - write " + writeTime + " ms, read " + readTime + " ms, db size " + file.length() / 1024 + " kB");
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  private ObjectMapper createObjectMapper() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.configure(MapperFeature.AUTO_DETECT_GETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_SETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_FIELDS, false);
+    objectMapper.setTimeZone(TimeZone.getDefault());
+    objectMapper.setSerializationInclusion(Include.NON_DEFAULT);
+    return objectMapper;
+  }
+
+  private Movie createMovie(int i) {
+    Movie movie = new Movie();
+    movie.setTitle("Movie " + i);
+    movie.setOriginalTitle("Original Movie " + i);
+    movie.setYear(String.valueOf(1950 + i % 65));
+    movie.setPlot("This is the plot of the movie " + i + ". It is a bit longer to get a realistic size of the entity in the database.");
+    movie.setImdbId(String.format("tt%07d", i));
+    movie.setTmdbId(i);
+    movie.setPath("/media/movies/Movie " + i);
+
+    for (int j = 0; j < 15; j++) {
+      movie.addActor(new MovieActor("Actor " + (i + j) % 1000, "Role " + j));
+    }
+
+    MediaFile video = new MediaFile(new File(movie.getPath(), "Movie " + i + ".mkv"), MediaFileType.VIDEO);
+    video.setVideoCodec("h264");
+    video.setContainerFormat("Matroska");
+    video.setVideoWidth(1920);
+    video.setVideoHeight(1080);
+    video.setDuration(6000 + i);
+    List<MediaFileAudioStream> audioStreams = new ArrayList<MediaFileAudioStream>();
+    for (String language : new String[] { "eng", "deu" }) {
+      MediaFileAudioStream audio = new MediaFileAudioStream();
+      audio.setCodec("AC3");
+      audio.setChannels("6ch");
+      audio.setLanguage(language);
+      audioStreams.add(audio);
+    }
+    video.setAudioStreams(audioStreams);
+    movie.addToMediaFiles(video);
+    movie.addToMediaFiles(new MediaFile(new File(movie.getPath(), "poster.jpg"), MediaFileType.POSTER));
+    movie.addToMediaFiles(new MediaFile(new File(movie.getPath(), "fanart.jpg"), MediaFileType.FANART));
+
+    return movie;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+/**
+ * checks the reference counting of the MediaEntityAggregate
+ *
+ * @author Manuel Laggner
+ */
+public class MediaEntityAggregateTest {
+
+  @Test
+  public void testReferenceCounting() {
+    MediaEntityAggregate<String, Movie> tags = createTagAggregate();
+
+    Movie movie1 = new Movie();
+    movie1.addToTags("tag1");
+    movie1.addToTags("tag2");
+    Movie movie2 = new Movie();
+    movie2.addToTags("tag2");
+
+    List<Movie> movies = new ArrayList<Movie>();
+    movies.add(movie1);
+    movies.add(movie2);
+    assertTrue(tags.addAll(movies));
+    assertEquals(2, tags.size());
+    assertEquals(2, tags.getCount("tag2"));
+
+    // adding the same movie again must not count twice
+    assertFalse(tags.add(movie1));
+    assertEquals(1, tags.getCount("tag1"));
+
+    // a new tag on an existing value does not change the set
+    movie2.addToTags("tag1");
+    assertFalse(tags.update(movie2));
+    assertEquals(2, tags.getCount("tag1"));
+
+    // a new value changes the set
+    movie2.addToTags("tag3");
+    assertTrue(tags.update(movie2));
+    assertTrue(tags.contains("tag3"));
+
+    // the values disappear with the last movie using them
+    movie1.removeFromTags("tag2");
+    assertFalse(tags.update(movie1));
+    assertTrue(tags.remove(movie2));
+    assertEquals(1, tags.size());
+    assertFalse(tags.contains("tag2"));
+    assertTrue(tags.remove(movie1));
+    assertEquals(0, tags.size());
+    System.out.println("aggregate values: " + tags.getValues());
+  }
+
+  @Test
+  public void testSortedValues() {
+    MediaEntityAggregate<String, Movie> tags = createTagAggregate();
+    List<String> view = tags.getView();
+
+    Movie movie1 = new Movie();
+    movie1.addToTags("drama");
+    movie1.addToTags("Comedy");
+    Movie movie2 = new Movie();
+    movie2.addToTags("action");
+    movie2.addToTags("Western");
+
+    tags.add(movie1);
+    tags.add(movie2);
+    assertEquals(Arrays.asList("action", "Comedy", "drama", "Western"), tags.getValues());
+    assertEquals(tags.getValues(), view);
+
+    // the view follows the changes
+    movie1.addToTags("Biography");
+    tags.update(movie1);
+    assertEquals(Arrays.asList("action", "Biography", "Comedy", "drama", "Western"), view);
+    tags.remove(movie2);
+    assertEquals(Arrays.asList("Biography", "Comedy", "drama"), view);
+  }
+
+  private MediaEntityAggregate<String, Movie> createTagAggregate() {
+    return new MediaEntityAggregate<String, Movie>(Constants.TAG) {
+      @Override
+      protected Collection<String> getValues(Movie movie) {
+        return movie.getTags();
+      }
+
+      @Override
+      public boolean isValueProperty(String propertyName) {
+        return Constants.TAG.equals(propertyName);
+      }
+    };
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * tests for the compact media file representation: media files loaded like from the database share the pooled path and symbol instances
+ *
+ * @author Manuel Laggner
+ */
+public class MediaFileHeapTest {
+  private static final int      DIRS      = 2000;
+  private static final String[] CODECS    = { "h264", "xvid", "divx", "hevc", "mpeg2" };
+  private static final String[] AUDIO     = { "AC3", "DTS", "AAC", "MP3", "DTSHD-MA" };
+  private static final String[] LANGUAGES = { "eng", "deu", "fra", "spa", "ita" };
+
+  @Test
+  public void testStringPool() {
+    String path = new String("/media/movies/Alien");
+    String other = new String("/media/movies/Alien");
+    assertSame(StringPool.PATHS.get(path), StringPool.PATHS.get(other));
+
+    MediaFile mf1 = new MediaFile();
+    mf1.setVideoCodec(new String("h264"));
+    MediaFile mf2 = new MediaFile();
+    mf2.setVideoCodec(new String("h264"));
+    assertSame(mf1.getVideoCodec(), mf2.getVideoCodec());
+  }
+
+  @Test
+  public void testCompact() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.configure(MapperFeature.AUTO_DETECT_GETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_SETTERS, false);
+    objectMapper.configure(MapperFeature.AUTO_DETECT_FIELDS, false);
+    ObjectReader reader = objectMapper.readerFor(MediaFile.class);
+
+    // two files in the same directory with the same codecs (every JSON value is parsed into its own string)
+    MediaFile mf1 = reader.readValue(createJson(0));
+    MediaFile mf2 = reader.readValue(createJson(DIRS * CODECS.length));
+    mf1.compact();
+    mf2.compact();
+
+    assertEquals(mf1.getPath(), mf2.getPath());
+    assertSame(mf1.getPath(), mf2.getPath());
+    assertSame(StringPool.PATHS.get(new String(mf1.getPath())), mf1.getPath());
+    assertSame(mf1.getVideoCodec(), mf2.getVideoCodec());
+    assertSame(mf1.getContainerFormat(), mf2.getContainerFormat());
+    assertSame(mf1.getExactVideoFormat(), mf2.getExactVideoFormat());
+
+    assertEquals(2, mf1.getAudioStreams().size());
+    for (int i = 0; i < mf1.getAudioStreams().size(); i++) {
+      MediaFileAudioStream audio1 = mf1.getAudioStreams().get(i);
+      MediaFileAudioStream audio2 = mf2.getAudioStreams().get(i);
+      assertSame(audio1.getCodec(), audio2.getCodec());
+      assertSame(audio1.getChannels(), audio2.getChannels());
+      assertSame(audio1.getLanguage(), audio2.getLanguage());
+    }
+
+    assertEquals(1, mf1.getSubtitles().size());
+    assertSame(mf1.getSubtitles().get(0).getCodec(), mf2.getSubtitles().get(0).getCodec());
+    assertSame(mf1.getSubtitles().get(0).getLanguage(), mf2.getSubtitles().get(0).getLanguage());
+  }
+
+  private String createJson(int i) {
+    int n = i % CODECS.length;
+    StringBuilder sb = new StringBuilder("{");
+    sb.append("\"type\":\"VIDEO\",");
+    sb.append("\"path\":\"/media/library/movies/Movie directory number ").append(i % DIRS).append("\",");
+    sb.append("\"filename\":\"movie file ").append(i).append(".mkv\",");
+    sb.append("\"filesize\":").append(1000000000L + i).append(",");
+    sb.append("\"videoCodec\":\"").append(CODECS[n]).append("\",");
+    sb.append("\"containerFormat\":\"mkv\",");
+    sb.append("\"exactVideoFormat\":\"1080p\",");
+    sb.append("\"videoWidth\":1920,\"videoHeight\":1080,\"overallBitRate\":8000,\"durationInSecs\":").append(5400 + i % 1000).append(",");
+    sb.append("\"audioStreams\":[");
+    for (int j = 0; j < 2; j++) {
+      if (j > 0) {
+        sb.append(",");
+      }
+      sb.append("{\"codec\":\"").append(AUDIO[(n + j) % AUDIO.length]).append("\",\"channels\":\"6ch\",\"bitrate\":640,\"language\":\"")
+          .append(LANGUAGES[(n + j) % LANGUAGES.length]).append("\"}");
+    }
+    sb.append("],");
+    sb.append("\"subtitles\":[{\"codec\":\"srt\",\"language\":\"").append(LANGUAGES[n]).append("\"}]");
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.tinymediamanager.core.movie.entities.MovieActor;
+import org.tinymediamanager.core.tvshow.entities.TvShowActor;
+
+/**
+ * checks the sharing of the persons via the PersonRegistry
+ *
+ * @author Manuel Laggner
+ */
+public class PersonRegistryTest {
+
+  @Test
+  public void testSharedPersons() {
+    TvShowActor actor1 = new TvShowActor(new String("Bryan Cranston"), "Walter White");
+    actor1.setThumb("http://thumbs/cranston.jpg");
+    TvShowActor actor2 = new TvShowActor(new String("Bryan Cranston"), "Walter White");
+    actor2.setThumb(new String("http://thumbs/cranston.jpg"));
+    MovieActor actor3 = new MovieActor("Bryan Cranston", "Dalton Trumbo");
+    actor3.setThumbUrl("http://thumbs/cranston.jpg");
+
+    // one person for all entries
+    assertSame(actor1.getPerson(), actor2.getPerson());
+    assertSame(actor1.getPerson(), actor3.getPerson());
+    assertEquals(actor1, actor2);
+
+    // another thumb is another person
+    actor2.setThumb("http://thumbs/other.jpg");
+    assertFalse(actor1.getPerson() == actor2.getPerson());
+    assertEquals("Bryan Cranston", actor2.getName());
+
+    // search
+    Set<Person> persons = PersonRegistry.getInstance().findByName("cransTON");
+    System.out.println("found persons: " + persons);
+    assertTrue(persons.contains(actor1.getPerson()));
+    assertTrue(persons.contains(actor2.getPerson()));
+    assertFalse(PersonRegistry.getInstance().findByName("Aaron Paul").contains(actor1.getPerson()));
+  }
+}
@@ -15,12 +15,16 @@
  */
 package org.tinymediamanager.core.movie;
 
+import static org.junit.Assert.*;
+
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.movie.entities.MovieActor;
+import org.tinymediamanager.scraper.Certification;
 import org.tinymediamanager.scraper.util.ParserUtils;
 import org.tinymediamanager.scraper.util.StrgUtils;
 
@@ -52,6 +56,26 @@ public class MovieTest {
     System.out.println(Utils.cleanStackingMarkers("Movie Name (2013)-cd1.mkv"));
   }
 
+  @Test
+  public void testSummary() {
+    Movie movie = new Movie();
+    movie.setTitle("Abraham Lincoln - Vampire Hunter");
+    movie.addToTags("vampires");
+    movie.setCertification(Certification.US_G);
+    movie.setDirector("Timur Bekmambetov");
+    movie.addActor(new MovieActor("Benjamin Walker"));
+
+    // the summary holds everything the table, the filters and the filter values need
+    Movie summary = Movie.fromSummary(movie.toSummary());
+    assertFalse(summary.isFullyLoaded());
+    assertEquals("Abraham Lincoln - Vampire Hunter", summary.getTitle());
+    assertEquals(movie.getTags(), summary.getTags());
+    assertEquals(Certification.US_G, summary.getCertification());
+    assertEquals("Timur Bekmambetov", summary.getDirector());
+    assertEquals(movie.getCastNames(), summary.getCastNames());
+    assertTrue(summary.getActors().isEmpty());
+  }
+
   @Test
   public void renamerPattern() {
     m.setTitle(" Abraham Lincoln - Vapire Hunter");
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * checks the serialization of conflicting main tasks
+ *
+ * @author Manuel Laggner
+ */
+public class TmmLockManagerTest {
+
+  @Test
+  public void testConflicts() {
+    TmmLock movies1 = TmmLock.dataSource(TmmLock.MOVIES, "/media/movies1");
+    TmmLock movies2 = TmmLock.dataSource(TmmLock.MOVIES, "/media/movies2");
+    TmmLock tv1 = TmmLock.dataSource(TmmLock.TV_SHOWS, "/media/movies1");
+
+    assertTrue(movies1.conflictsWith(TmmLock.dataSource(TmmLock.MOVIES, "/media/movies1")));
+    assertFalse(movies1.conflictsWith(movies2));
+    assertFalse(movies1.conflictsWith(tv1));
+    assertTrue(movies1.conflictsWith(TmmLock.module(TmmLock.MOVIES)));
+    assertTrue(tv1.conflictsWith(TmmLock.GLOBAL));
+  }
+
+  @Test
+  public void testLockManager() throws Exception {
+    final TmmLockManager lockManager = new TmmLockManager();
+    Object update = new Object();
+    lockManager.acquire(update, Collections.singletonList(TmmLock.dataSource(TmmLock.MOVIES, "/media/movies1")));
+
+    // a task on another data source may run at the same time
+    CountDownLatch other = acquireInThread(lockManager, Collections.singletonList(TmmLock.dataSource(TmmLock.MOVIES, "/media/movies2")));
+    assertTrue(other.await(1, TimeUnit.SECONDS));
+
+    // a task on the same data source has to wait
+    CountDownLatch conflicting = acquireInThread(lockManager, Collections.singletonList(TmmLock.dataSource(TmmLock.MOVIES, "/media/movies1")));
+    assertFalse(conflicting.await(200, TimeUnit.MILLISECONDS));
+
+    lockManager.release(update);
+    assertTrue(conflicting.await(1, TimeUnit.SECONDS));
+  }
+
+  private CountDownLatch acquireInThread(final TmmLockManager lockManager, final List<TmmLock> locks) {
+    final CountDownLatch latch = new CountDownLatch(1);
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          lockManager.acquire(this, locks);
+          latch.countDown();
+        }
+        catch (InterruptedException e) {
+        }
+      }
+    }).start();
+    return latch;
+  }
+}
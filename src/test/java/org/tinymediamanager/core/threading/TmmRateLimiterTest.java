@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.tinymediamanager.core.threading.TmmRateLimiter.HostLimiter;
+
+/**
+ * checks the token bucket and the backoff of the HTTP rate limiter
+ *
+ * @author Manuel Laggner
+ */
+public class TmmRateLimiterTest {
+
+  @Test
+  public void testTokenBucket() throws Exception {
+    // 20 requests per second, burst of 5
+    HostLimiter limiter = new HostLimiter("test", 20, 5, 2);
+
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < 15; i++) {
+      limiter.acquire();
+      limiter.release();
+    }
+    long duration = System.currentTimeMillis() - start;
+
+    // 5 requests out of the burst, the other 10 with 20/s
+    System.out.println("15 requests took " + duration + "ms: " + limiter);
+    assertTrue(duration >= 450);
+  }
+
+  @Test
+  public void testBackoff() throws Exception {
+    HostLimiter limiter = new HostLimiter("test", 10, 10, 2);
+
+    limiter.onResponse(429, "1");
+    assertEquals(5, limiter.getRate(), 0.01);
+
+    // the host is paused for the time given in Retry-After
+    long start = System.currentTimeMillis();
+    limiter.acquire();
+    limiter.release();
+    assertTrue(System.currentTimeMillis() - start >= 900);
+
+    // successful requests raise the rate again
+    for (int i = 0; i < 20; i++) {
+      limiter.onResponse(200, null);
+    }
+    assertEquals(10, limiter.getRate(), 0.01);
+    System.out.println(limiter);
+  }
+}
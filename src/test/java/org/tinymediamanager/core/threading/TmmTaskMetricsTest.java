@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.tinymediamanager.core.threading.TmmTaskHandle.TaskType;
+
+/**
+ * checks the metrics of the tasks
+ *
+ * @author Manuel Laggner
+ */
+public class TmmTaskMetricsTest {
+
+  @Test
+  public void testTaskMetrics() throws Exception {
+    new MetricsTestTask(false).run();
+    new MetricsTestTask(true).run();
+
+    TaskStatistics statistics = TmmTaskMetrics.getInstance().getTaskStatistics("MetricsTestTask");
+    System.out.println(statistics.getStatistics());
+    assertEquals(2, statistics.getExecutions());
+    assertEquals(1, statistics.getErrors());
+    assertEquals(20, statistics.getWorkUnits());
+    assertTrue(statistics.getMaxRunTime() >= 10);
+
+    // available via JMX
+    ObjectName name = new ObjectName("org.tinymediamanager:type=Task,name=\"MetricsTestTask\"");
+    assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Executions"));
+
+    for (String line : TmmTaskMetrics.getInstance().getStatistics()) {
+      System.out.println(line);
+    }
+  }
+
+  private static class MetricsTestTask extends TmmTask {
+    private final boolean error;
+
+    private MetricsTestTask(boolean error) {
+      super("test", 10, TaskType.BACKGROUND_TASK);
+      this.error = error;
+    }
+
+    @Override
+    protected void doInBackground() {
+      try {
+        Thread.sleep(10);
+      }
+      catch (InterruptedException e) {
+      }
+      publishState(10);
+      if (error) {
+        addError();
+      }
+    }
+  }
+}
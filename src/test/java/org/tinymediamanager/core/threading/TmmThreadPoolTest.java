@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012 - 2015 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * checks the thread pools on the lanes of the scheduler
+ *
+ * @author Manuel Laggner
+ */
+public class TmmThreadPoolTest {
+
+  @Test
+  public void testResources() {
+    assertEquals(TmmResource.http("api.themoviedb.org"), TmmResource.forUrl("http://API.themoviedb.org/3/movie/550"));
+    assertEquals(TmmResource.LOCAL_IO, TmmResource.forPath(""));
+    System.out.println("lane of the working dir: " + TmmResource.forPath(System.getProperty("user.dir")));
+  }
+
+  @Test
+  public void testThreadLimit() {
+    TestPool pool = new TestPool(2, 20);
+    pool.run();
+
+    System.out.println("max parallel tasks: " + pool.maxParallel.get() + ", callbacks: " + pool.callbacks.get());
+    assertEquals(20, pool.callbacks.get());
+    assertTrue(pool.maxParallel.get() <= 2);
+  }
+
+  @Test
+  public void testBackpressure() {
+    int queueSize = TmmScheduler.getInstance().getQueueSize();
+    TestPool pool = new TestPool(2, queueSize * 2 + 500);
+    pool.run();
+
+    System.out.println("max queue depth: " + pool.getMaxQueueDepth() + ", avg queue latency: " + pool.getAverageQueueLatency()
+        + "ms, producer blocked: " + pool.getBlockedTime() + "ms");
+    assertEquals(queueSize * 2 + 500, pool.callbacks.get());
+    assertTrue(pool.getMaxQueueDepth() <= queueSize);
+    assertTrue(pool.getBlockedTime() > 0);
+  }
+
+  private static class TestPool extends TmmThreadPool {
+    private final int           threads;
+    private final int           tasks;
+    private final AtomicInteger running     = new AtomicInteger();
+    private final AtomicInteger maxParallel = new AtomicInteger();
+    private final AtomicInteger callbacks   = new AtomicInteger();
+
+    private TestPool(int threads, int tasks) {
+      super("test");
+      this.threads = threads;
+      this.tasks = tasks;
+    }
+
+    @Override
+    protected void doInBackground() {
+      initThreadPool(threads, "test", TmmResource.CPU);
+      for (int i = 0; i < tasks; i++) {
+        submitTask(new Runnable() {
+          @Override
+          public void run() {
+            int current = running.incrementAndGet();
+            synchronized (maxParallel) {
+              if (current > maxParallel.get()) {
+                maxParallel.set(current);
+              }
+            }
+            try {
+              Thread.sleep(tasks > 100 ? 1 : 10);
+            }
+            catch (InterruptedException e) {
+            }
+            running.decrementAndGet();
+          }
+        });
+      }
+      waitForCompletionOrCancel();
+    }
+
+    @Override
+    public void callback(Object obj) {
+      callbacks.incrementAndGet();
+    }
+  }
+}
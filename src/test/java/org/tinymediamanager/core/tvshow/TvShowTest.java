@@ -16,6 +16,8 @@
 package org.tinymediamanager.core.tvshow;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -105,6 +107,81 @@ public class TvShowTest {
     TmmModuleManager.getInstance().shutDown();
   }
 
+  /**
+   * Test the lookup of episodes by their files.
+   */
+  @Test
+  public void testEpisodesByFile() {
+    TvShow show = new TvShow();
+    MediaFile mf1 = new MediaFile(new File("/path/to/show", "S01E01E02.avi"));
+    MediaFile mf2 = new MediaFile(new File("/path/to/show", "S01E03.avi"));
+
+    TvShowEpisode ep1 = new TvShowEpisode();
+    ep1.setEpisode(1);
+    ep1.addToMediaFiles(mf1);
+    TvShowEpisode ep2 = new TvShowEpisode();
+    ep2.setEpisode(2);
+    ep2.addToMediaFiles(mf1);
+    show.addEpisode(ep1);
+    show.addEpisode(ep2);
+
+    // multi episode file
+    Assert.assertEquals(2, show.getEpisodesByFile(new File("/path/to/show", "S01E01E02.avi")).size());
+
+    // media file added after the episode
+    TvShowEpisode ep3 = new TvShowEpisode();
+    ep3.setEpisode(3);
+    show.addEpisode(ep3);
+    Assert.assertEquals(0, show.getEpisodesByFile(mf2.getFile()).size());
+    ep3.addToMediaFiles(mf2);
+    Assert.assertEquals(ep3, show.getEpisodesByFile(mf2.getFile()).get(0));
+
+    // removed media file
+    ep2.removeFromMediaFiles(mf1);
+    Assert.assertEquals(1, show.getEpisodesByFile(mf1.getFile()).size());
+
+    // renamed folder
+    ep1.updateMediaFilePath(new File("/path/to/show"), new File("/path/to/renamed"));
+    Assert.assertEquals(0, show.getEpisodesByFile(new File("/path/to/show", "S01E01E02.avi")).size());
+    Assert.assertEquals(ep1, show.getEpisodesByFile(new File("/path/to/renamed", "S01E01E02.avi")).get(0));
+  }
+
+  /**
+   * Test the maintained counters and the season lookup.
+   */
+  @Test
+  public void testCounters() {
+    TvShow show = new TvShow();
+    TvShowEpisode ep1 = new TvShowEpisode();
+    ep1.setSeason(1);
+    ep1.setEpisode(1);
+    ep1.setNewlyAdded(true);
+    TvShowEpisode ep2 = new TvShowEpisode();
+    ep2.setSeason(2);
+    ep2.setEpisode(1);
+    show.addEpisodes(Arrays.asList(ep1, ep2));
+
+    Assert.assertEquals(2, show.getEpisodeCount());
+    Assert.assertEquals(1, show.getNewEpisodeCount());
+    Assert.assertEquals(2, show.getUnscrapedEpisodeCount());
+    Assert.assertEquals(2, show.getMissingArtworkEpisodeCount());
+    Assert.assertTrue(show.isNewlyAdded());
+    Assert.assertSame(ep1, show.getNewEpisodes().get(0));
+    Assert.assertSame(show.getSeasonForEpisode(ep2), show.getSeasonForEpisode(ep2));
+    Assert.assertEquals(2, show.getSeasonCount());
+
+    // changes of the episodes are counted immediately (without dirtying the show)
+    show.clearDirty();
+    ep1.setNewlyAdded(false);
+    ep2.setPlot("plot");
+    ep2.setFirstAired(new Date());
+    Assert.assertEquals(0, show.getNewEpisodeCount());
+    Assert.assertEquals(1, show.getUnscrapedEpisodeCount());
+    Assert.assertFalse(show.isNewlyAdded());
+    Assert.assertEquals(2, show.getMissingArtworkEpisodeCount());
+    Assert.assertFalse(show.isDirty());
+  }
+
   /**
    * Test episode matching.
    */